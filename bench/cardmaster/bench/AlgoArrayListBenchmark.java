@@ -0,0 +1,92 @@
+package cardmaster.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cardmaster.collections.AlgoArrayList;
+import cardmaster.collections.Shuffle;
+
+/**
+ * {@link AlgoArrayList} mit {@code size} Einträgen. {@code sort} und {@code shuffle} arbeiten auf einer Kopie der
+ * unsortierten Vorlage, gemessen wird daher auch das Kopieren beim ersten Schreiben.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlgoArrayListBenchmark {
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    private AlgoArrayList<Integer> template;
+    private AlgoArrayList<Integer> list;
+    private SplittableRandom random;
+    private Integer item;
+
+    @Setup
+    public void setUp() {
+
+        this.random = new SplittableRandom(42);
+        this.template = new AlgoArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+
+            this.template.add(this.random.nextInt());
+        }
+
+        this.list = this.template.copy();
+        this.item = 7;
+    }
+
+    /**
+     * Hängt an eine leere Liste {@code size} Einträge an.
+     */
+    @Benchmark
+    public AlgoArrayList<Integer> addAll() {
+
+        AlgoArrayList<Integer> list = new AlgoArrayList<>();
+
+        for (int i = 0; i < this.size; i++) {
+
+            list.add(this.item);
+        }
+
+        return list;
+    }
+
+    /**
+     * Löscht den mittleren Eintrag und hängt einen neuen an, die Größe bleibt dabei konstant.
+     */
+    @Benchmark
+    public AlgoArrayList<Integer> deleteMiddle() {
+
+        this.list.delete(this.size / 2);
+        this.list.add(this.item);
+        return this.list;
+    }
+
+    @Benchmark
+    public AlgoArrayList<Integer> sort() {
+
+        AlgoArrayList<Integer> list = this.template.copy();
+        list.sort();
+        return list;
+    }
+
+    @Benchmark
+    public AlgoArrayList<Integer> shuffle() {
+
+        AlgoArrayList<Integer> list = this.template.copy();
+        Shuffle.shuffle(list, this.random);
+        return list;
+    }
+}
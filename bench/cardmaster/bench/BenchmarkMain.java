@@ -0,0 +1,53 @@
+package cardmaster.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet alle JMH-Benchmarks aus {@code cardmaster.bench} und schreibt die Ergebnisse als JSON nach
+ * {@code jmh-result.json}, damit sie von Release zu Release verglichen werden können. Alle JMH-Optionen werden
+ * durchgereicht, z.B. {@code -p entries=1000 -f 1 BestenlisteBenchmark} oder {@code -rf csv -rff result.csv}.
+ * <p>
+ * Übersetzen und Starten mit {@code jmh-core} und {@code jmh-generator-annprocess} (samt Abhängigkeiten) im
+ * Klassenpfad:
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out -cp "lib/*" $(find src/cardmaster bench -name '*.java')
+ * java -cp "out:lib/*" cardmaster.bench.BenchmarkMain
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getIncludes().isEmpty()) {
+
+            options.include(BenchmarkMain.class.getPackage().getName() + "\\..*Benchmark");
+        }
+
+        if (!commandLine.getResultFormat().hasValue()) {
+
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!commandLine.getResult().hasValue()) {
+
+            options.result(DEFAULT_RESULT);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package cardmaster.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cardmaster.ScoreBoard;
+import cardmaster.scoreboard.Bestenliste;
+
+/**
+ * {@link Bestenliste} mit {@code entries} Einträgen. Die Einträge werden per {@code load} aus einem erzeugten Stream
+ * gefüllt, da {@code add} pro Aufruf O(n) kostet.
+ * <p>
+ * Die Messungen laufen als {@link Mode#SingleShotTime} in Stapeln von {@value #BATCH} Aufrufen, ein Messwert umfasst
+ * also {@value #BATCH} Aufrufe. Vor jeder Iteration wird die Liste neu geladen, bei {@code add} wächst sie innerhalb
+ * eines Stapels um {@value #BATCH} Einträge.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, batchSize = BestenlisteBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = BestenlisteBenchmark.BATCH)
+public class BestenlisteBenchmark {
+
+    static final int BATCH = 10;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    int entries;
+
+    private final ScoreBoard scoreBoard = Bestenliste.getInstance();
+    private byte[] saved;
+    private ByteArrayOutputStream out;
+    private double score;
+
+    @Setup(Level.Trial)
+    public void createEntries() throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + 28 * this.entries);
+
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+
+            data.writeInt(this.entries);
+
+            for (int i = 0; i < this.entries; i++) {
+
+                data.writeDouble(this.entries - i);
+                data.writeInt(i + 1);
+                data.writeLong(1_700_000_000L + i);
+                data.writeLong(0);
+            }
+        }
+
+        this.saved = bytes.toByteArray();
+        this.out = new ByteArrayOutputStream(this.saved.length);
+    }
+
+    @Setup(Level.Iteration)
+    public void loadEntries() throws Exception {
+
+        this.scoreBoard.load(new ByteArrayInputStream(this.saved));
+        this.score = this.entries / 2 + 0.5;
+    }
+
+    /**
+     * Fügt einen Punktestand aus der Mitte der Liste hinzu.
+     */
+    @Benchmark
+    public int add() {
+
+        return this.scoreBoard.add(this.score);
+    }
+
+    @Benchmark
+    public int save() throws Exception {
+
+        this.out.reset();
+        this.scoreBoard.save(this.out);
+        return this.out.size();
+    }
+
+    @Benchmark
+    public int load() throws Exception {
+
+        this.scoreBoard.load(new ByteArrayInputStream(this.saved));
+        return this.scoreBoard.size();
+    }
+}
@@ -0,0 +1,84 @@
+package cardmaster.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cardmaster.DiscardPile;
+import cardmaster.Shape;
+import cardmaster.TableState;
+import cardmaster.cards.Card;
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+import cardmaster.cards.Kombi;
+
+/**
+ * {@code calcCredits} jeder Kartenart gegen drei belegte Stapel. {@code KOMBI_NESTED} ist eine Kombi-Karte, die
+ * {@code depth} Kombi-Karten tief verschachtelt ist.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardScoringBenchmark {
+
+    @Param({ "CHANCE", "PAAR", "TRIPEL", "QUADRUPEL", "KOMBI", "KOMBI_NESTED" })
+    String card;
+
+    @Param({ "8" })
+    int depth;
+
+    private Card scored;
+    private TableState table;
+    private DiscardPile[] piles;
+
+    @Setup
+    public void setUp() {
+
+        if (this.card.equals("KOMBI_NESTED")) {
+
+            Card nested = CardPool.get(CardType.PAAR, Shape.CIRCLE);
+
+            for (int i = 0; i < this.depth; i++) {
+
+                nested = new Kombi(nested, CardPool.get(CardType.TRIPEL, Shape.CIRCLE));
+            }
+
+            this.scored = nested;
+        } else if (this.card.equals("KOMBI")) {
+
+            this.scored = new Kombi(CardPool.get(CardType.PAAR, Shape.CIRCLE),
+                    CardPool.get(CardType.CHANCE, Shape.CIRCLE));
+        } else {
+
+            this.scored = CardPool.get(CardType.valueOf(this.card), Shape.CIRCLE);
+        }
+
+        this.piles = new DiscardPile[] { new DiscardPile(), new DiscardPile(), new DiscardPile() };
+        this.piles[0].addCard(CardPool.get(CardType.PAAR, Shape.CIRCLE));
+        this.piles[1].addCard(CardPool.get(CardType.PAAR, Shape.CIRCLE));
+        this.piles[2].addCard(CardPool.get(CardType.TRIPEL, Shape.SQUARE));
+        this.table = TableState.of(this.piles);
+    }
+
+    @Benchmark
+    public double calcCredits() {
+
+        return this.scored.calcCredits(this.table);
+    }
+
+    /**
+     * Der ältere Einstieg, der die {@link TableState} bei jedem Aufruf aus den Stapeln aufbaut.
+     */
+    @Benchmark
+    public double calcCreditsFromPiles() {
+
+        return this.scored.calcCredits(this.piles);
+    }
+}
@@ -0,0 +1,48 @@
+package cardmaster.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import cardmaster.CardFactory;
+import cardmaster.Game;
+import cardmaster.Shop;
+import cardmaster.random.RandomSource;
+
+/**
+ * Erzeugen eines {@link Game} und das Auffüllen eines {@link Shop} mit der {@link CardFactory#getDefaultFactory()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameBenchmark {
+
+    private final CardFactory factory = CardFactory.getDefaultFactory();
+    private final Shop shop = new Shop();
+    private final RandomSource random = RandomSource.seeded(1);
+    private long seed;
+
+    @Benchmark
+    public Game construct() {
+
+        return new Game(3, this.factory, this.seed++);
+    }
+
+    @Benchmark
+    public Shop refillShop() {
+
+        this.shop.clearShopItems();
+
+        for (int i = 0; i < this.shop.getSize(); i++) {
+
+            this.shop.addItem(this.factory.createRandom(this.random), 10, this.random);
+        }
+
+        return this.shop;
+    }
+}
@@ -0,0 +1,87 @@
+package cardmaster.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cardmaster.CardFactory;
+import cardmaster.Game;
+import cardmaster.GameSnapshot;
+import cardmaster.cards.Card;
+
+/**
+ * {@link Game#play(int, int)} über eine ganze Playing-Phase. Vorab werden {@code round - 1} Runden gespielt, in jeder
+ * Runde werden alle Karten des Shops gekauft. Je später die Runde, desto mehr Karten sind im Spiel.
+ * <p>
+ * Jeder Aufruf setzt das Spiel per {@link Game#restore(GameSnapshot)} auf den Beginn der Playing-Phase zurück und
+ * legt dann alle Karten reihum auf die Stapel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayRoundBenchmark {
+
+    @Param({ "1", "5", "20" })
+    int round;
+
+    private Game game;
+    private GameSnapshot playing;
+
+    @Setup
+    public void setUp() {
+
+        this.game = new Game(this.round, CardFactory.getDefaultFactory(), 42);
+        this.game.setRecordScore(false);
+        this.game.changeCredits(1_000_000);
+
+        for (int r = 1; r < this.round; r++) {
+
+            this.buyAllCards();
+            this.game.endShopping();
+            this.playAll();
+        }
+
+        this.buyAllCards();
+        this.game.endShopping();
+        this.playing = this.game.snapshot();
+    }
+
+    @Benchmark
+    public double playFullRound() {
+
+        this.game.restore(this.playing);
+        this.playAll();
+
+        return this.game.getCredits();
+    }
+
+    private void playAll() {
+
+        int stacks = this.game.getStacksCount();
+
+        for (int i = 0; this.game.getMode() == Game.Mode.PLAYING; i++) {
+
+            this.game.play(0, i % stacks);
+        }
+    }
+
+    private void buyAllCards() {
+
+        Object[] items = this.game.getAllShopItems();
+
+        for (int i = items.length - 1; i >= 0; i--) {
+
+            if (items[i] instanceof Card) {
+
+                this.game.buy(i);
+            }
+        }
+    }
+}
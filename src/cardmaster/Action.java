@@ -0,0 +1,122 @@
+package cardmaster;
+
+/**
+ * Eine einzelne Aktion für {@link Game#apply(Action[], double[])}. Aktionen
+ * sind unveränderlich und können in mehreren Stapeln wiederverwendet werden.
+ */
+public final class Action {
+
+	/**
+	 * Die Art einer Aktion, entspricht den Methoden {@link Game#buy(int)},
+	 * {@link Game#endShopping()} und {@link Game#play(int, int)}.
+	 */
+	public enum Type {
+		BUY, END_SHOPPING, PLAY
+	}
+
+	private static final Action END_SHOPPING = new Action(Type.END_SHOPPING, -1, -1);
+
+	private final Type type;
+	private final int first;
+	private final int second;
+
+	private Action(Type type, int first, int second) {
+
+		this.type = type;
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * @param shopItemIndex Der Index des zu kaufenden Gegenstands
+	 * @return Ein Kauf wie mit {@link Game#buy(int)}
+	 */
+	public static Action buy(int shopItemIndex) {
+
+		return new Action(Type.BUY, shopItemIndex, -1);
+	}
+
+	/**
+	 * @return Das Beenden des Einkaufens wie mit {@link Game#endShopping()}
+	 */
+	public static Action endShopping() {
+
+		return END_SHOPPING;
+	}
+
+	/**
+	 * @param handCardIndex Der Index der Handkarte
+	 * @param stackIndex    Der Index des Ablagestapels
+	 * @return Ein Zug wie mit {@link Game#play(int, int)}
+	 */
+	public static Action play(int handCardIndex, int stackIndex) {
+
+		return new Action(Type.PLAY, handCardIndex, stackIndex);
+	}
+
+	public Type getType() {
+
+		return this.type;
+	}
+
+	/**
+	 * @return Der Index des Gegenstands bei {@link Type#BUY}, sonst {@code -1}
+	 */
+	public int getShopItemIndex() {
+
+		return this.type == Type.BUY ? this.first : -1;
+	}
+
+	/**
+	 * @return Der Index der Handkarte bei {@link Type#PLAY}, sonst {@code -1}
+	 */
+	public int getHandCardIndex() {
+
+		return this.type == Type.PLAY ? this.first : -1;
+	}
+
+	/**
+	 * @return Der Index des Ablagestapels bei {@link Type#PLAY}, sonst {@code -1}
+	 */
+	public int getStackIndex() {
+
+		return this.second;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+
+			return true;
+		}
+
+		if (!(obj instanceof Action)) {
+
+			return false;
+		}
+
+		Action other = (Action) obj;
+		return this.type == other.type && this.first == other.first && this.second == other.second;
+	}
+
+	@Override
+	public int hashCode() {
+
+		return (this.type.ordinal() * 31 + this.first) * 31 + this.second;
+	}
+
+	@Override
+	public String toString() {
+
+		switch (this.type) {
+
+		case BUY:
+			return "BUY " + this.first;
+		case PLAY:
+			return "PLAY " + this.first + " " + this.second;
+		default:
+			return "END";
+		}
+	}
+}
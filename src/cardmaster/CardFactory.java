@@ -1,24 +1,79 @@
 package cardmaster;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import cardmaster.random.RandomSource;
 import cardmaster.cards.*;
 
 public class CardFactory {
 
+    // Der Zufallsgenerator des Spiels, das gerade seinen Shop füllt, sonst null
+    private RandomSource random;
+
     /**
-     * Erstellt eine random Karte, aber immer mit dem Namen: "Chance"
+     * Erstellt eine random Karte. {@link Game} ruft diese Methode beim Füllen des Shops auf. Sie zieht aus dem
+     * Zufallsgenerator des Spiels, siehe {@link #createRandom(RandomSource)}; außerhalb eines Spiels aus einem neuen,
+     * zufällig gestarteten Generator.
      * 
      * @return Card
      */
     public Card createRandom() {
 
-        Random random = new Random();
+        RandomSource bound = this.random;
+        return this.createRandom(bound != null ? bound : CardFactory.unseeded());
+    }
+
+    /**
+     * Erstellt eine random Karte, aber immer mit dem Namen: "Chance". Eigene Factories, die reproduzierbar sein
+     * sollen, überschreiben diese Methode und ziehen nur aus {@code random}.
+     * 
+     * @param random Der Zufallsgenerator, z.B. der des Spiels
+     * @return Card
+     */
+    public Card createRandom(RandomSource random) {
+
         Shape[] allCardShapes = Shape.values();
         Shape shape = allCardShapes[random.nextInt(allCardShapes.length)];
-        return this.create("Chance", shape);
+        return this.createByType(CardType.CHANCE, shape);
+    }
+
+    /**
+     * Setzt den Generator, aus dem {@link #createRandom()} zieht. {@link Game} hält dabei den Monitor der Factory,
+     * da eine Factory zwischen parallelen Spielen geteilt sein kann.
+     * 
+     * @param random Der Generator des Spiels oder {@code null}
+     */
+    void bindRandom(RandomSource random) {
+
+        this.random = random;
+    }
+
+    private static RandomSource unseeded() {
+
+        return RandomSource.seeded(ThreadLocalRandom.current().nextLong());
     }
 
-    private static CardFactory defaultFactory;
+    /**
+     * Hält die Default-Factory. Die JVM initialisiert die Klasse erst beim ersten Zugriff und genau einmal, sodass
+     * auch parallele Simulationen ohne Synchronisierung dieselbe Instanz bekommen.
+     */
+    private static final class DefaultFactoryHolder {
+
+        private static final CardFactory DEFAULT_FACTORY = new CardFactory() {
+
+            @Override
+            public Card createRandom(RandomSource random) {
+
+                CardType[] allCardTypes = CardType.values();
+                Shape[] allCardShapes = Shape.values();
+
+                CardType type = allCardTypes[random.nextInt(allCardTypes.length)];
+                Shape shape = allCardShapes[random.nextInt(allCardShapes.length)];
+
+                return this.createByType(type, shape, random);
+            }
+        };
+    }
 
     /**
      * Erschafft eine Instanz von CardFactory, welche in der Lage ist, alle Karten
@@ -28,71 +83,95 @@ public class CardFactory {
      */
     public static CardFactory getDefaultFactory() {
 
-        if (defaultFactory == null) {
+        return DefaultFactoryHolder.DEFAULT_FACTORY;
+    }
 
-            defaultFactory = new CardFactory() {
+    /**
+     * Bestimmt mit Hilfe der Parameter welche Karte erstellt werden soll.
+     * 
+     * @param type
+     * @param shape
+     * @return Card
+     */
+    public Card create(String type, Shape shape) {
 
-                @Override
-                public Card createRandom() {
+        if (shape != null && type != null) {
 
-                    Random random = new Random();
-                    String[] allCardTypes = { "Chance", "Paar", "Tripel", "Quadrupel", "Kombi" };
-                    Shape[] allCardShapes = Shape.values();
+            CardType cardType = CardType.fromName(type);
 
-                    String type = allCardTypes[random.nextInt(allCardTypes.length)];
-                    Shape shape = allCardShapes[random.nextInt(allCardShapes.length)];
+            if (cardType == null) {
+
+                throw new IllegalArgumentException("Invalid card type: " + type);
+            }
 
-                    return this.create(type, shape);
-                }
-            };
+            return this.createByType(cardType, shape);
         }
 
-        return defaultFactory;
+        throw new NullPointerException();
     }
 
     /**
-     * Bestimmt mit Hilfe der Parameter welche Karte erstellt werden soll.
+     * Erstellt eine Karte. Karten ohne Unterkarten werden nicht neu erzeugt, sondern als geteilte Instanz aus dem
+     * {@link CardPool} geliefert. Die Unterkarten einer Kombi-Karte werden mit einem neuen, zufällig gestarteten
+     * Generator bestimmt.
      * 
      * @param type
      * @param shape
      * @return Card
      */
-    public Card create(String type, Shape shape) {
+    public Card createByType(CardType type, Shape shape) {
 
-        if (shape != null && type != null) {
+        return this.createByType(type, shape, type == CardType.KOMBI ? CardFactory.unseeded() : null);
+    }
 
-            switch (type) {
-                case "Chance":
-                    return new Chance(shape);
-                case "Paar":
-                    return new Paar(shape);
-                case "Tripel":
-                    return new Tripel(shape);
-                case "Quadrupel":
-                    return new Quadrupel(shape);
-                case "Kombi":
-                    return new Kombi(shape);
-                default:
-                    throw new IllegalArgumentException("Invalid card type: " + type);
-            }
+    /**
+     * Erstellt eine Karte wie {@link #createByType(CardType, Shape)}, die Unterkarten einer Kombi-Karte kommen aus
+     * {@code random}.
+     * 
+     * @param type
+     * @param shape
+     * @param random Der Zufallsgenerator für Kombi-Karten
+     * @return Card
+     */
+    public Card createByType(CardType type, Shape shape, RandomSource random) {
+
+        if (shape == null || type == null) {
+
+            throw new NullPointerException();
         }
 
-        throw new NullPointerException();
+        if (type == CardType.KOMBI) {
+
+            return new Kombi(shape, random);
+        }
+
+        return CardPool.get(type, shape);
     }
 
     /**
-     * Erstellt eine random Shape und damit eine Karte
+     * Erstellt eine random Shape und damit eine Karte mit einem neuen, zufällig gestarteten Generator
      * 
      * @param shape
      * @return Card
      */
     public Card createRandomByShape(Shape shape) {
 
-        Random random = new Random();
-        String[] allCardTypes = { "Chance", "Paar", "Tripel", "Quadrupel", "Kombi" };
+        return this.createRandomByShape(shape, CardFactory.unseeded());
+    }
+
+    /**
+     * Erstellt eine random Shape und damit eine Karte
+     * 
+     * @param shape
+     * @param random Der Zufallsgenerator für den Kartentyp
+     * @return Card
+     */
+    public Card createRandomByShape(Shape shape, RandomSource random) {
+
+        CardType[] allCardTypes = CardType.values();
 
-        String type = allCardTypes[random.nextInt(allCardTypes.length)];
-        return this.create(type, shape);
+        CardType type = allCardTypes[random.nextInt(allCardTypes.length)];
+        return this.createByType(type, shape, random);
     }
 
     /**
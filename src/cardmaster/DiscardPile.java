@@ -20,6 +20,32 @@ public class DiscardPile {
 
         this.cardPile = new AlgoArrayList(DEFAULT_SIZE);
     }
+
+    private DiscardPile(AlgoArrayList cardPile) {
+
+        this.cardPile = cardPile;
+    }
+
+    /**
+     * Erstellt eine Kopie des Ablagestapels in O(1). Die Karten werden erst beim nächsten Ändern kopiert.
+     * 
+     * @return Die Kopie
+     */
+    public DiscardPile copy() {
+
+        return new DiscardPile(this.cardPile.copy());
+    }
+
+    /**
+     * Übernimmt die Karten von {@code other} in O(1) wie {@link #copy()}, ohne zu allokieren.
+     * 
+     * @param other Der zu übernehmende Ablagestapel
+     */
+    @SuppressWarnings("unchecked")
+    void set(DiscardPile other) {
+
+        this.cardPile.copyFrom(other.cardPile);
+    }
     
     /**
      * Fügt eine Karte zum Ablagestapel hinzu
@@ -39,6 +65,14 @@ public class DiscardPile {
         this.cardPile.clear();
     }
 
+    /**
+     * @return Die Anzahl der Karten auf dem Ablagestapel
+     */
+    public int size() {
+
+        return this.cardPile.size();
+    }
+
     /**
      * Schaut ob der jeweilige Ablagestapel leer ist.
      * 
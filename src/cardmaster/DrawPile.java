@@ -1,28 +1,99 @@
 package cardmaster;
 
 // java Import
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 import cardmaster.cards.Card;
-import cardmaster.collections.AlgoArrayList;
+import cardmaster.collections.AlgoArrayDeque;
 import cardmaster.collections.Shuffle;
+import cardmaster.jfr.ShuffleEvent;
+import cardmaster.metrics.EngineMetrics;
+import cardmaster.random.RandomSource;
 
 /**
  * @author g.ary, o.le
  * @since 13.03.2024
  */
 
-@SuppressWarnings("rawtypes")
 public class DrawPile {
 
     private static final int DEFAULT_SIZE = 10;
     
-    private AlgoArrayList cardPile;    
+    private AlgoArrayDeque<Card> cardPile;    
+    private final boolean lazyShuffle;
+    private final RandomGenerator random;
 
     /**
-     * Erstellt eine DrawPile
+     * Erstellt eine DrawPile, die beim Mischen sofort alle Karten mischt
      */
     public DrawPile() {
 
-        this.cardPile = new AlgoArrayList(DEFAULT_SIZE);
+        this(false);
+    }
+
+    /**
+     * Erstellt eine DrawPile. Im lazy-Modus wird beim Mischen nichts getan, stattdessen zieht
+     * {@link #getTopCard()} eine gleichverteilt zufällige der verbleibenden Karten. Die Reihenfolge der gezogenen
+     * Karten ist dabei genauso verteilt wie nach einem vollständigen Mischen.
+     * 
+     * @param lazyShuffle {@code true}, wenn erst beim Ziehen gemischt werden soll
+     */
+    public DrawPile(boolean lazyShuffle) {
+
+        this(lazyShuffle, RandomSource.seeded(ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * Erstellt eine DrawPile, die mit dem übergebenen Zufallsgenerator mischt und zieht, z.B. der
+     * {@link RandomSource} eines {@link Game}.
+     * 
+     * @param lazyShuffle {@code true}, wenn erst beim Ziehen gemischt werden soll
+     * @param random      Der Zufallsgenerator für Mischen und Ziehen
+     */
+    public DrawPile(boolean lazyShuffle, RandomGenerator random) {
+
+        this(new AlgoArrayDeque<>(DEFAULT_SIZE), lazyShuffle, random);
+    }
+
+    private DrawPile(AlgoArrayDeque<Card> cardPile, boolean lazyShuffle, RandomGenerator random) {
+
+        this.cardPile = cardPile;
+        this.lazyShuffle = lazyShuffle;
+        this.random = random;
+    }
+
+    /**
+     * Erstellt eine Kopie der DrawPile in O(1). Die Karten werden erst beim nächsten Ändern kopiert. Der
+     * Zufallsgenerator wird geteilt.
+     * 
+     * @return Die Kopie
+     */
+    public DrawPile copy() {
+
+        return this.copy(this.random);
+    }
+
+    /**
+     * Erstellt eine Kopie der DrawPile in O(1), die mit einem anderen Zufallsgenerator zieht.
+     * 
+     * @param random Der Zufallsgenerator der Kopie
+     * @return Die Kopie
+     */
+    public DrawPile copy(RandomGenerator random) {
+
+        return new DrawPile(this.cardPile.copy(), this.lazyShuffle, random);
+    }
+
+    /**
+     * Übernimmt die Karten von {@code other} in O(1) wie {@link #copy()}, ohne zu allokieren. Modus und
+     * Zufallsgenerator bleiben.
+     * 
+     * @param other Die zu übernehmende DrawPile
+     */
+    void set(DrawPile other) {
+
+        this.cardPile.copyFrom(other.cardPile);
     }
     
     /**
@@ -32,15 +103,31 @@ public class DrawPile {
      */
     public void addCard(Card newCard) {
 
-        this.cardPile.add(newCard);
+        this.cardPile.addLast(newCard);
     }
 
     /**
-     * Mischt die Drawpile
+     * Mischt die Drawpile. Im lazy-Modus passiert hier nichts, da erst beim Ziehen gemischt wird; es wird dann
+     * auch kein Mischen gezählt oder aufgezeichnet.
      */
     public void mischen() {
 
-        Shuffle.shuffle(this.cardPile);
+        if (this.lazyShuffle) {
+
+            return;
+        }
+
+        ShuffleEvent event = new ShuffleEvent();
+        event.begin();
+        EngineMetrics.get().countShuffle();
+
+        Shuffle.shuffle(this.cardPile, this.random);
+
+        if (event.shouldCommit()) {
+
+            event.setPile(this.cardPile.size());
+            event.commit();
+        }
     }
 
     /**
@@ -54,15 +141,19 @@ public class DrawPile {
     }
 
     /**
-     * Liefert die oberste Karte der DrawPile
+     * Liefert die oberste Karte der DrawPile. Im lazy-Modus wird eine zufällige Karte gezogen und die letzte Karte
+     * rückt an ihre Stelle, sodass das Ziehen O(1) bleibt.
      * 
      * @return Die Obereste Karte
      */
 	public Card getTopCard() {
 		
-		Card card = (Card) this.cardPile.getItemAtIndex(this.cardPile.size() - 1);
-        this.cardPile.delete(this.cardPile.size() - 1);
-        return card;
+        if (this.lazyShuffle) {
+
+            return this.cardPile.removeSwapped(this.random.nextInt(this.cardPile.size()));
+        }
+
+        return this.cardPile.removeLast();
 	}
 
     /**
@@ -74,7 +165,7 @@ public class DrawPile {
 
         for (Card c : cards) {
 
-            this.cardPile.add(c);
+            this.cardPile.addLast(c);
         }
 
         this.mischen();
@@ -90,13 +181,18 @@ public class DrawPile {
         return this.cardPile.size();
     }
 
+    /**
+     * Liefert alle Karten der DrawPile. Im lazy-Modus ist die Reihenfolge nicht die Ziehreihenfolge.
+     * 
+     * @return Die Karten als Array
+     */
     public Card[] getAllDrawCards() {
 
         Card[] cardsArray = new Card[this.cardPile.size()];
         
         for (int i = 0; i < cardsArray.length; i++) {
             
-            cardsArray[i] = (Card) this.cardPile.getItemAtIndex(i);
+            cardsArray[i] = this.cardPile.getItemAtIndex(i);
         }
         return cardsArray;
     }
@@ -1,9 +1,24 @@
 package cardmaster;
 
 // java import
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
 import cardmaster.cards.Card;
+import cardmaster.cards.CardType;
 import cardmaster.collections.AlgoArrayList;
+import cardmaster.collections.IntAlgoArrayList;
+import cardmaster.interfaces.GameListener;
 import cardmaster.interfaces.Item;
+import cardmaster.jfr.BuyEvent;
+import cardmaster.jfr.EndShoppingEvent;
+import cardmaster.jfr.PlayEvent;
+import cardmaster.jfr.ShopRefillEvent;
+import cardmaster.metrics.EngineMetrics;
+import cardmaster.random.RandomSource;
+import jdk.jfr.Event;
 
 import cardmaster.Upgrade.UpgradeDescriptions;
 
@@ -36,6 +51,25 @@ public class Game {
 	private int maxRounds;
 	private boolean boughtCardOnce;
 	private double credits;
+	private boolean recordScore = true;
+
+	private final long seed;
+	private final boolean hasSeed;
+	private final RandomSource random;
+	private GameListener listener;
+	private final TableState previewTable = new TableState();
+
+	// Zähler, die während apply als Code zurückgestellt werden: Art in den unteren zwei Bits, Argument darüber
+	private static final int COUNT_CARD_BUY = 0;
+	private static final int COUNT_UPGRADE_BUY = 1;
+	private static final int COUNT_ROUND_TRANSITION = 2;
+	private static final int COUNT_PLAY = 3;
+	private static final CardType[] CARD_TYPES = CardType.values();
+	private static final UpgradeDescriptions[] UPGRADES = UpgradeDescriptions.values();
+
+	// Zustand für apply, wird beim ersten Stapel angelegt und danach wiederverwendet
+	private Batch batch;
+	private boolean batching;
 
 	private Mode mode;
 	private Shop shop;
@@ -43,6 +77,7 @@ public class Game {
 
 	private DrawPile drawPile;
 	private DiscardPile[] discardPile;
+	private TableState table;
 
 	private CardFactory factory;
 
@@ -59,11 +94,98 @@ public class Game {
 
 	public Game(int maxRounds, CardFactory factory) {
 
+		this(maxRounds, factory, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Erzeugt ein neues Spiel, dessen Zufall vollständig aus {@code seed} folgt.
+	 * Zwei Spiele mit gleichem Seed, gleicher Factory und gleichen Aktionen
+	 * verlaufen gleich, sofern die Factory nur aus dem übergebenen Generator von
+	 * {@link CardFactory#createRandom(RandomSource)} zieht. {@link CardFactory#createRandom()}
+	 * leitet dorthin mit dem Generator des Spiels weiter.
+	 * 
+	 * @param maxRounds Anzahl der Runden. Muss mindestens {@code 1} sein.
+	 * @param factory   Die Factory für die Karten im Shop
+	 * @param seed      Der Startwert für {@link RandomSource#seeded(long)}
+	 */
+	public Game(int maxRounds, CardFactory factory, long seed) {
+
+		this(maxRounds, factory, RandomSource.seeded(seed), seed, true);
+	}
+
+	/**
+	 * Erzeugt ein neues Spiel, das allen Zufall aus {@code random} bezieht:
+	 * Nachziehstapel, Factory und Preise. So kann z.B. eine Simulation jedem
+	 * Spiel einen per {@link RandomSource#split()} abgeleiteten Strom geben.
+	 * Das Spiel hat keinen Seed und kann nicht aufgezeichnet werden.
+	 * 
+	 * @param maxRounds Anzahl der Runden. Muss mindestens {@code 1} sein.
+	 * @param factory   Die Factory für die Karten im Shop
+	 * @param random    Der Zufallsgenerator des Spiels
+	 */
+	public Game(int maxRounds, CardFactory factory, RandomSource random) {
+
+		this(maxRounds, factory, random, 0, false);
+	}
+
+	private Game(int maxRounds, CardFactory factory, RandomSource random, long seed, boolean hasSeed) {
+
+		if (random == null) {
+
+			throw new NullPointerException("Invalid argument: random must not be null");
+		}
+
+		this.seed = seed;
+		this.hasSeed = hasSeed;
+		this.random = random;
+
 		gameInit(maxRounds);
 		this.factory = factory;
 		refillShop();
 	}
 
+	/**
+	 * Erzeugt ein Spiel direkt aus einem Zwischenstand, ohne den Shop neu zu
+	 * füllen. Der Zufallsgenerator wird dabei nicht benutzt.
+	 */
+	Game(GameSnapshot snapshot, RandomSource random, long seed, boolean hasSeed) {
+
+		this.seed = seed;
+		this.hasSeed = hasSeed;
+		this.random = random;
+
+		restore(snapshot);
+	}
+
+	/**
+	 * Liest ein mit {@link #writeTo(OutputStream)} gespeichertes Spiel. Es
+	 * werden genau die Bytes dieses Spiels gelesen, sodass mehrere Spiele
+	 * hintereinander in einem Stream liegen können.
+	 * 
+	 * @param in Die Quelle
+	 * @return Das Spiel mit {@link CardFactory#getDefaultFactory()}
+	 * @throws IOException Wenn nicht gelesen werden kann oder die Daten ungültig
+	 *                     sind
+	 */
+	public static Game readFrom(InputStream in) throws IOException {
+
+		return readFrom(in, CardFactory.getDefaultFactory());
+	}
+
+	/**
+	 * Liest ein mit {@link #writeTo(OutputStream)} gespeichertes Spiel.
+	 * 
+	 * @param in      Die Quelle
+	 * @param factory Die Factory für Karten und den weiteren Shop des Spiels
+	 * @return Das Spiel
+	 * @throws IOException Wenn nicht gelesen werden kann oder die Daten ungültig
+	 *                     sind
+	 */
+	public static Game readFrom(InputStream in, CardFactory factory) throws IOException {
+
+		return GameCodec.read(in, factory);
+	}
+
 	/**
 	 * Initialisiert das Spiel mit allen nötigen Komponenten und Konfigurationen
 	 * 
@@ -86,8 +208,9 @@ public class Game {
 		this.shop = new Shop();
 
 		this.playerHand = new Hand();
-		this.drawPile = new DrawPile();
+		this.drawPile = new DrawPile(true, this.random);
 		this.discardPile = new DiscardPile[3];
+		this.table = new TableState();
 
 		this.additionalCardInShopPurchases = 0;
 		this.additionalPlayStackPurchases = 0;
@@ -167,7 +290,7 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("isShopEmpty", this.mode, Mode.SHOPPING);
 		}
 
 		return shop.isEmpty();
@@ -180,7 +303,7 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("getShopItemCount", this.mode, Mode.SHOPPING);
 		}
 
 		return shop.getItemCount();
@@ -197,7 +320,7 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("getShopItemDescription", this.mode, Mode.SHOPPING);
 		}
 
 		return shop.shopItemDescription(shopItemIndex);
@@ -213,7 +336,7 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("getShopItemPrice", this.mode, Mode.SHOPPING);
 		}
 
 		return shop.itemPrice(shopItemIndex);
@@ -236,27 +359,68 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("buy", this.mode, Mode.SHOPPING);
+		}
+
+		if (!this.shop.hasItem(shopItemIndex)) {
+
+			throw new IndexOutOfBoundsException("shopItemIndex: " + shopItemIndex);
+		}
+
+		return this.buyAt(shopItemIndex);
+	}
+
+	/**
+	 * Kauft einen Gegenstand. Der Index muss bereits geprüft sein.
+	 */
+	private boolean buyAt(int shopItemIndex) {
+
+		BuyEvent event = new BuyEvent();
+		event.begin();
+
+		// Der Gegenstand verlässt beim Kauf den Shop, die Beschreibung wird aber erst bei Bedarf erzeugt
+		Item item = this.shop.itemAt(shopItemIndex);
+		int price = this.shop.itemPrice(shopItemIndex);
+		boolean bought = this.buyItem(shopItemIndex);
+
+		if (event.shouldCommit()) {
+
+			event.setItem(shopItemIndex, item.toString(), price);
+			event.setGame(this.currentRound, this.credits);
+			event.setResult(bought, this.shop.getItemCount());
+			this.commit(event);
 		}
 
-		
+		return bought;
+	}
+
+	private boolean buyItem(int shopItemIndex) {
 
-		if (this.shop.shopItemDescription(shopItemIndex) != null && credits >= this.shop.itemPrice(shopItemIndex)) {
+		if (credits >= this.shop.itemPrice(shopItemIndex)) {
 
+			int price = this.shop.itemPrice(shopItemIndex);
 			Item item = this.shop.buy(shopItemIndex);
 			boughtCardOnce = true;
 
 			if (item instanceof Card ) { //&& this.playerHand.getMaxHandCards() > this.drawPile.size()
 
 				this.drawPile.addCard((Card) item);
+				this.count(COUNT_CARD_BUY, ((Card) item).getType().ordinal());
 			} else if (item instanceof Upgrade) {
 
 				handleUpgrade((Upgrade) item);
+				this.count(COUNT_UPGRADE_BUY, ((Upgrade) item).getDescription().ordinal());
 			} else {
 				return false;
 			}
 
-			this.credits -= item.getPrice();
+			this.credits -= price;
+
+			if (this.listener != null) {
+
+				this.listener.bought(this, shopItemIndex, -price);
+			}
+
 			return true;
 		}
 
@@ -301,7 +465,7 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("isDrawPileEmpty", this.mode, Mode.SHOPPING);
 		}
 
 		return this.drawPile.isEmpty();
@@ -315,14 +479,39 @@ public class Game {
 	 */
 	private void refillShop() {
 
+		ShopRefillEvent event = new ShopRefillEvent();
+		event.begin();
+		long start = this.startTimer();
 		this.shop.clearShopItems();
-		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_SHOP), additionalCardInShopPurchases);
-		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_STACK), additionalPlayStackPurchases);
-		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_HANDCARD), additionalHandCardPurchases);
+		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_SHOP), additionalCardInShopPurchases, this.random);
+		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_STACK), additionalPlayStackPurchases, this.random);
+		this.shop.addItem(new Upgrade(UpgradeDescriptions.ADD_HANDCARD), additionalHandCardPurchases, this.random);
+
+		// Factory und Preise ziehen aus dem Zufall dieses Spiels. Die Factory kann zwischen parallelen Spielen
+		// geteilt sein, daher wird sie für das Füllen gesperrt.
+		synchronized (this.factory) {
 
-		for (int i = this.shop.getItemCount(); i < this.shop.getSize(); i++) {
+			this.factory.bindRandom(this.random);
 
-			this.shop.addItem(factory.createRandom(), this.credits);
+			try {
+
+				for (int i = this.shop.getItemCount(); i < this.shop.getSize(); i++) {
+
+					this.shop.addItem(this.factory.createRandom(), this.credits, this.random);
+				}
+			} finally {
+
+				this.factory.bindRandom(null);
+			}
+		}
+
+		EngineMetrics.get().recordShopRefill(start);
+
+		if (event.shouldCommit()) {
+
+			event.setGame(this.currentRound, this.credits);
+			event.setShopItems(this.shop.getItemCount());
+			this.commit(event);
 		}
 	}
 
@@ -335,12 +524,23 @@ public class Game {
 
 		if (this.mode != Mode.SHOPPING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.SHOPPING);
+			throw new IllegalCallException("endShopping", this.mode, Mode.SHOPPING);
 		}
 
 		if (!boughtCardOnce)
 			return;
 
+		this.endShoppingNow();
+	}
+
+	/**
+	 * Wechselt in den Playing-Modus. Es muss bereits eine Karte gekauft sein.
+	 */
+	private void endShoppingNow() {
+
+		EndShoppingEvent event = new EndShoppingEvent();
+		event.begin();
+		long start = this.startTimer();
 		shop.clearShopItems();
 
 		for (int i = 0; i < this.discardPile.length; i++) {
@@ -349,6 +549,7 @@ public class Game {
 			this.discardPile[i].clear();
 		}
 
+		this.table.clear();
 		this.drawPile.mischen();
 
 		while (!this.isDrawPileEmpty() && this.playerHand.isNotFull()) {
@@ -362,6 +563,20 @@ public class Game {
 			this.setMode(Mode.END);
 		}
 
+		EngineMetrics.get().recordEndShopping(start);
+
+		if (event.shouldCommit()) {
+
+			event.setGame(this.currentRound, this.credits);
+			event.setPiles(this.playerHand.getHandCardsCount(), this.drawPile.size());
+			this.commit(event);
+		}
+
+		if (this.listener != null) {
+
+			this.listener.shoppingEnded(this);
+			this.notifyIfEnded();
+		}
 	}
 
 	// Methoden für den Playing-Modus
@@ -373,7 +588,7 @@ public class Game {
 
 		if (this.mode != Mode.PLAYING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.PLAYING);
+			throw new IllegalCallException("getHandCardsCount", this.mode, Mode.PLAYING);
 		}
 
 		return this.playerHand.getHandCardsCount();
@@ -389,7 +604,7 @@ public class Game {
 
 		if (this.mode != Mode.PLAYING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.PLAYING);
+			throw new IllegalCallException("getHandCard", this.mode, Mode.PLAYING);
 		}
 
 		return this.playerHand.getHandCardAtIndex(handCardIndex);
@@ -410,29 +625,175 @@ public class Game {
 
 		if (this.mode != Mode.PLAYING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.PLAYING);
+			throw new IllegalCallException("play", this.mode, Mode.PLAYING);
 		}
 
 		// Throw falls karte nicht auf hand
-		if (!this.playerHand.checkIfCardIsInHand(card)) {
+		int handCardIndex = this.playerHand.indexOf(card);
+
+		if (handCardIndex < 0) {
 
 			throw new IllegalArgumentException(card.toString() + " is not on hand!");
 		}
 
+		this.checkStackIndex(stackIndex);
+		this.playAt(handCardIndex, stackIndex);
+	}
+
+	/**
+	 * Legt die Handkarte mit index {@code handCardIndex} auf den Ablagestapel mit
+	 * index {@code stackIndex}. Im Gegensatz zu {@link #play(Card, int)} wird die
+	 * Karte nicht per {@code equals} auf der Hand gesucht.
+	 * <p>
+	 * Die Indexe bleiben stabil: Wird eine Karte nachgezogen, nimmt sie den Platz
+	 * der gelegten Karte ein. Nur wenn der Nachziehstapel leer ist, rückt die
+	 * letzte Handkarte an den freien Platz.
+	 *
+	 * @param handCardIndex index aus dem Intervall
+	 *                      {@code [0, this.getHandCardsCount())}.
+	 * @param stackIndex    index aus dem Intervall {@code [0, this.getStacksCount())}.
+	 */
+	public void play(int handCardIndex, int stackIndex) {
+
+		if (this.mode != Mode.PLAYING) {
+
+			throw new IllegalCallException("play", this.mode, Mode.PLAYING);
+		}
+
+		this.checkHandCardIndex(handCardIndex);
+		this.checkStackIndex(stackIndex);
+		this.playAt(handCardIndex, stackIndex);
+	}
+
+	/**
+	 * Liefert die Änderung des Punktestands, die
+	 * {@link #play(int, int)} mit denselben Argumenten bewirken würde. Die
+	 * Punkte werden gegen eine virtuell oben auf den Stapel gelegte Karte
+	 * berechnet, das Spiel bleibt unverändert.
+	 *
+	 * @param handCardIndex index aus dem Intervall
+	 *                      {@code [0, this.getHandCardsCount())}.
+	 * @param stackIndex    index aus dem Intervall {@code [0, this.getStacksCount())}.
+	 * @return Die Änderung des Punktestands
+	 */
+	public double previewCredits(int handCardIndex, int stackIndex) {
+
+		if (this.mode != Mode.PLAYING) {
+
+			throw new IllegalCallException("previewCredits", this.mode, Mode.PLAYING);
+		}
+
+		this.checkHandCardIndex(handCardIndex);
+		this.checkStackIndex(stackIndex);
+
+		this.previewTable.set(this.table);
+		return Game.previewDelta(this.playerHand.getHandCardAtIndex(handCardIndex),
+				this.topShapeAt(stackIndex), this.previewTable, this.credits);
+	}
+
+	/**
+	 * Wie {@link #previewCredits(int, int)} für alle Stapel auf einmal.
+	 *
+	 * @param handCardIndex index aus dem Intervall
+	 *                      {@code [0, this.getHandCardsCount())}.
+	 * @param credits       Nimmt an Index {@code i} die Änderung für den Stapel
+	 *                      mit index {@code i} auf. Mindestens
+	 *                      {@code this.getStacksCount()} lang.
+	 * @return Die Anzahl der Stapel
+	 */
+	public int previewCredits(int handCardIndex, double[] credits) {
+
+		if (this.mode != Mode.PLAYING) {
+
+			throw new IllegalCallException("previewCredits", this.mode, Mode.PLAYING);
+		}
+
+		this.checkHandCardIndex(handCardIndex);
+
+		if (credits.length < this.discardPile.length) {
+
+			throw new IllegalArgumentException("Invalid argument: credits must hold " + this.discardPile.length
+					+ " entries, received: " + credits.length);
+		}
+
+		Card card = this.playerHand.getHandCardAtIndex(handCardIndex);
+		this.previewTable.set(this.table);
+
+		for (int s = 0; s < this.discardPile.length; s++) {
+
+			credits[s] = Game.previewDelta(card, this.topShapeAt(s), this.previewTable, this.credits);
+		}
+
+		return this.discardPile.length;
+	}
+
+	/**
+	 * Berechnet die Punkte einer Karte, als läge sie oben auf einem Stapel mit
+	 * oberster Form {@code top}. {@code table} wird dafür verändert und wieder
+	 * zurückgesetzt. Die Änderung folgt {@link #changeCredits(double)}.
+	 *
+	 * @param top     Die oberste Form des Stapels oder {@code null}, wenn er leer
+	 *                ist
+	 * @param table   Ein Zustand der Stapel, der verändert werden darf
+	 * @param credits Der aktuelle Punktestand
+	 */
+	static double previewDelta(Card card, Shape top, TableState table, double credits) {
+
+		Shape shape = card.getShape();
+
+		table.place(top, shape);
+		double points = card.calcCredits(table);
+		table.undoPlace(top, shape);
+
+		return credits + points < 0 ? 0 : (credits + points) - credits;
+	}
+
+	private Shape topShapeAt(int stackIndex) {
+
+		DiscardPile pile = this.discardPile[stackIndex];
+		return pile.isEmpty() ? null : pile.getTopShape();
+	}
+
+	private void checkHandCardIndex(int handCardIndex) {
+
+		if (handCardIndex >= this.playerHand.getHandCardsCount() || handCardIndex < 0) {
+
+			throw new IndexOutOfBoundsException("handCardIndex: " + handCardIndex);
+		}
+	}
+
+	private void checkStackIndex(int stackIndex) {
+
 		if (stackIndex >= this.discardPile.length || stackIndex < 0) {
 
 			throw new IndexOutOfBoundsException("stackIndex: " + stackIndex
 					+ " is out of bounds. Valid indices are 0 to " + (this.discardPile.length - 1) + ".");
 		}
+	}
+
+	/**
+	 * Legt eine Handkarte ab. Die Indexe müssen bereits geprüft sein.
+	 */
+	private void playAt(int handCardIndex, int stackIndex) {
+
+		PlayEvent event = new PlayEvent();
+		event.begin();
+		long start = this.startTimer();
+		Card card = this.playerHand.getHandCardAtIndex(handCardIndex);
 
 		// die Karte auf einen pile legen
-		this.discardPile[stackIndex].addCard(card);
+		DiscardPile pile = this.discardPile[stackIndex];
+		this.table.place(pile.isEmpty() ? null : pile.getTopShape(), card.getShape());
+		pile.addCard(card);
 
 		// credits ausrechnen
-		this.changeCredits(card.calcCredits(this.discardPile));
+		double creditsBefore = this.credits;
+		this.changeCredits(card.calcCredits(this.table));
+		double creditsDelta = this.credits - creditsBefore;
 
-		// Karte aus der Hand entfernen
-		this.playerHand.playCard(card);
+		// Karte aus der Hand entfernen, die nachgezogene Karte nimmt ihren Platz ein
+		Card replacement = this.drawPile.isEmpty() ? null : this.drawPile.getTopCard();
+		this.playerHand.playCardAt(handCardIndex, replacement);
 
 		// wenn letzte runde, beenden
 		if (currentRound >= maxRounds && this.getHandCardsCount() == 0) {
@@ -450,11 +811,14 @@ public class Game {
 				if (currentRound < maxRounds) {
 
 					currentRound++; // Starte die nächste Runde
+					this.count(COUNT_ROUND_TRANSITION, 0);
+
 					for (int i = 0; i < this.discardPile.length; i++) {
 
 						this.drawPile.addAllCards(this.discardPile[i].getAllCards());
 						this.discardPile[i].clear();
 					}
+					this.table.clear();
 					this.setMode(Mode.SHOPPING);
 					refillShop();
 				} else {
@@ -463,6 +827,382 @@ public class Game {
 				}
 			}
 		}
+
+		this.count(COUNT_PLAY, stackIndex);
+		EngineMetrics.get().recordPlay(start);
+
+		if (event.shouldCommit()) {
+
+			event.setGame(this.currentRound, this.credits);
+			event.setMove(handCardIndex, stackIndex, creditsDelta);
+			event.setPiles(this.playerHand.getHandCardsCount(), this.drawPile.size(),
+					this.discardPile[stackIndex].size());
+			this.commit(event);
+		}
+
+		if (this.listener != null) {
+
+			this.listener.played(this, handCardIndex, stackIndex, creditsDelta);
+			this.notifyIfEnded();
+		}
+	}
+
+	/**
+	 * @return Die Startzeit für {@link EngineMetrics} oder {@code 0}, da in
+	 *         einem Stapel von {@link #apply(Action[], double[])} nicht gemessen
+	 *         wird
+	 */
+	private long startTimer() {
+
+		return this.batching ? 0 : EngineMetrics.startTimer();
+	}
+
+	/**
+	 * Zählt in {@link EngineMetrics}, in einem Stapel erst nach dessen Erfolg.
+	 *
+	 * @param kind     Eine der Konstanten {@code COUNT_*}
+	 * @param argument Ordinal, Stapelindex oder {@code 0}
+	 */
+	private void count(int kind, int argument) {
+
+		if (this.batching) {
+
+			this.batch.counts.add(argument << 2 | kind);
+		} else {
+
+			Game.countNow(kind, argument);
+		}
+	}
+
+	private static void countNow(int kind, int argument) {
+
+		EngineMetrics metrics = EngineMetrics.get();
+
+		switch (kind) {
+
+		case COUNT_CARD_BUY:
+			metrics.countCardBuy(CARD_TYPES[argument]);
+			break;
+		case COUNT_UPGRADE_BUY:
+			metrics.countUpgradeBuy(UPGRADES[argument]);
+			break;
+		case COUNT_ROUND_TRANSITION:
+			metrics.countRoundTransition();
+			break;
+		default:
+			metrics.countPlay(argument);
+		}
+	}
+
+	/**
+	 * Schreibt ein JFR-Event, in einem Stapel erst nach dessen Erfolg.
+	 */
+	private void commit(Event event) {
+
+		if (this.batching) {
+
+			this.batch.events.add(event);
+		} else {
+
+			event.commit();
+		}
+	}
+
+	private void notifyIfEnded() {
+
+		if (this.mode == Mode.END && this.listener != null) {
+
+			this.listener.ended(this);
+		}
+	}
+
+	/**
+	 * Führt alle Aktionen in {@code actions} der Reihe nach aus. Schlägt eine
+	 * Aktion fehl, wird das Spiel auf den Stand vor dem Aufruf zurückgesetzt und
+	 * keine Aktion bleibt wirksam. Eine Aktion schlägt fehl, wenn sie im
+	 * aktuellen Modus nicht erlaubt ist, ein Index ungültig ist, ein Kauf am
+	 * Punktestand scheitert oder {@code endShopping} ohne gekaufte Karte keine
+	 * Wirkung hätte.
+	 * <p>
+	 * Modus und Indexe werden pro Aktion nur einmal geprüft, Ausnahmen werden
+	 * dabei nicht geworfen. Der {@link GameListener} wird erst nach dem ganzen
+	 * Stapel benachrichtigt, ein zurückgesetzter Stapel wird nicht gemeldet. Das
+	 * gilt auch für die Zähler in {@link EngineMetrics} und die JFR-Events,
+	 * Latenzen werden in einem Stapel nicht gemessen. Der Zufallsgenerator wird
+	 * beim Zurücksetzen per {@link RandomSource#setState(long[])} mit
+	 * zurückgesetzt. Der Zwischenstand dafür wird pro Spiel einmal angelegt und
+	 * danach wiederverwendet. {@link GameListener#ended(Game)} wird nur gemeldet,
+	 * wenn der Stapel selbst das Spiel beendet.
+	 *
+	 * @param actions Die Aktionen, ohne {@code null}
+	 * @param results Nimmt an Index {@code i} die Änderung des Punktestands
+	 *                durch Aktion {@code i} auf. Mindestens so lang wie
+	 *                {@code actions}. Nach einem Fehlschlag ist der Inhalt
+	 *                unbestimmt.
+	 * @return {@code -1}, wenn alle Aktionen ausgeführt wurden, sonst der Index
+	 *         der ersten fehlgeschlagenen Aktion
+	 */
+	public int apply(Action[] actions, double[] results) {
+
+		if (results.length < actions.length) {
+
+			throw new IllegalArgumentException("Invalid argument: results must hold " + actions.length
+					+ " entries, received: " + results.length);
+		}
+
+		for (Action action : actions) {
+
+			if (action == null) {
+
+				throw new NullPointerException("actions must not contain null");
+			}
+		}
+
+		if (this.batch == null) {
+
+			this.batch = new Batch(this.random);
+		}
+
+		Batch batch = this.batch;
+		Mode modeBefore = this.mode;
+		GameListener listener = this.listener;
+		boolean recordScore = this.recordScore;
+		int failed = -1;
+
+		batch.save(this);
+		this.listener = null;
+		this.recordScore = false;
+		this.batching = true;
+
+		try {
+
+			for (int i = 0; i < actions.length && failed < 0; i++) {
+
+				if (!this.applyAction(actions[i], results, i)) {
+
+					failed = i;
+				}
+			}
+		} finally {
+
+			this.listener = listener;
+			this.recordScore = recordScore;
+			this.batching = false;
+		}
+
+		if (failed >= 0) {
+
+			batch.rollBack(this);
+			batch.clear();
+
+			return failed;
+		}
+
+		for (int i = 0; i < batch.counts.size(); i++) {
+
+			int code = batch.counts.getItemAtIndex(i);
+			Game.countNow(code & 3, code >>> 2);
+		}
+
+		for (int i = 0; i < batch.events.size(); i++) {
+
+			((Event) batch.events.getItemAtIndex(i)).commit();
+		}
+
+		batch.clear();
+
+		// Nur ein Stapel, der das Spiel selbst beendet, trägt ein und meldet das Ende
+		boolean ended = modeBefore != Mode.END && this.mode == Mode.END;
+
+		if (ended) {
+
+			this.saveScore();
+		}
+
+		if (listener != null) {
+
+			for (int i = 0; i < actions.length; i++) {
+
+				Action action = actions[i];
+
+				switch (action.getType()) {
+
+				case BUY:
+					listener.bought(this, action.getShopItemIndex(), results[i]);
+					break;
+				case END_SHOPPING:
+					listener.shoppingEnded(this);
+					break;
+				default:
+					listener.played(this, action.getHandCardIndex(), action.getStackIndex(), results[i]);
+				}
+			}
+
+			if (ended) {
+
+				listener.ended(this);
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Zustand für {@link Game#apply(Action[], double[])}: Der Stand vor dem
+	 * Stapel sowie zurückgestellte Zähler und JFR-Events. Wird pro Spiel einmal
+	 * angelegt und danach nur überschrieben. Die Strukturen teilen sich ihre
+	 * Arrays per copy-on-write mit dem Spiel, kopiert wird also nur, was der
+	 * Stapel tatsächlich verändert.
+	 */
+	private static final class Batch {
+
+		final IntAlgoArrayList counts = new IntAlgoArrayList();
+		final AlgoArrayList<Event> events = new AlgoArrayList<>();
+
+		private final long[] randomState;
+		private final Shop shop = new Shop();
+		private final Hand playerHand = new Hand();
+		private final DrawPile drawPile;
+		private final TableState table = new TableState();
+		private DiscardPile[] piles = new DiscardPile[0];
+		private DiscardPile[] discardPile;
+
+		private int additionalCardInShopPurchases;
+		private int additionalPlayStackPurchases;
+		private int additionalHandCardPurchases;
+		private int maxDiscardPiles;
+		private int currentRound;
+		private int maxRounds;
+		private boolean boughtCardOnce;
+		private double credits;
+		private Mode mode;
+		private CardFactory factory;
+
+		Batch(RandomSource random) {
+
+			this.randomState = random.getState();
+			this.drawPile = new DrawPile(true, random);
+		}
+
+		void save(Game game) {
+
+			game.random.getState(this.randomState);
+			this.shop.set(game.shop);
+			this.playerHand.set(game.playerHand);
+			this.drawPile.set(game.drawPile);
+			this.table.set(game.table);
+
+			// Das Array selbst bleibt erhalten, ein neuer Stapel per Upgrade ersetzt es nur
+			this.discardPile = game.discardPile;
+
+			if (this.piles.length < game.discardPile.length) {
+
+				this.piles = new DiscardPile[game.discardPile.length];
+
+				for (int i = 0; i < this.piles.length; i++) {
+
+					this.piles[i] = new DiscardPile();
+				}
+			}
+
+			for (int i = 0; i < game.discardPile.length; i++) {
+
+				this.piles[i].set(game.discardPile[i]);
+			}
+
+			this.additionalCardInShopPurchases = game.additionalCardInShopPurchases;
+			this.additionalPlayStackPurchases = game.additionalPlayStackPurchases;
+			this.additionalHandCardPurchases = game.additionalHandCardPurchases;
+			this.maxDiscardPiles = game.maxDiscardPiles;
+			this.currentRound = game.currentRound;
+			this.maxRounds = game.maxRounds;
+			this.boughtCardOnce = game.boughtCardOnce;
+			this.credits = game.credits;
+			this.mode = game.mode;
+			this.factory = game.factory;
+		}
+
+		void rollBack(Game game) {
+
+			game.random.setState(this.randomState);
+			game.shop.set(this.shop);
+			game.playerHand.set(this.playerHand);
+			game.drawPile.set(this.drawPile);
+			game.table.set(this.table);
+			game.discardPile = this.discardPile;
+
+			for (int i = 0; i < game.discardPile.length; i++) {
+
+				game.discardPile[i].set(this.piles[i]);
+			}
+
+			game.additionalCardInShopPurchases = this.additionalCardInShopPurchases;
+			game.additionalPlayStackPurchases = this.additionalPlayStackPurchases;
+			game.additionalHandCardPurchases = this.additionalHandCardPurchases;
+			game.maxDiscardPiles = this.maxDiscardPiles;
+			game.currentRound = this.currentRound;
+			game.maxRounds = this.maxRounds;
+			game.boughtCardOnce = this.boughtCardOnce;
+			game.credits = this.credits;
+			game.mode = this.mode;
+			game.factory = this.factory;
+		}
+
+		void clear() {
+
+			this.counts.clear();
+			this.events.clear();
+		}
+	}
+
+	/**
+	 * Prüft und führt eine Aktion aus.
+	 *
+	 * @return {@code false}, wenn die Aktion nicht erlaubt ist oder keine Wirkung
+	 *         hätte
+	 */
+	private boolean applyAction(Action action, double[] results, int index) {
+
+		double creditsBefore = this.credits;
+
+		switch (action.getType()) {
+
+		case BUY:
+
+			if (this.mode != Mode.SHOPPING || !this.shop.hasItem(action.getShopItemIndex())
+					|| !this.buyAt(action.getShopItemIndex())) {
+
+				return false;
+			}
+			break;
+
+		case END_SHOPPING:
+
+			if (this.mode != Mode.SHOPPING || !this.boughtCardOnce) {
+
+				return false;
+			}
+
+			this.endShoppingNow();
+			break;
+
+		default:
+
+			int handCardIndex = action.getHandCardIndex();
+			int stackIndex = action.getStackIndex();
+
+			if (this.mode != Mode.PLAYING || handCardIndex < 0
+					|| handCardIndex >= this.playerHand.getHandCardsCount() || stackIndex < 0
+					|| stackIndex >= this.discardPile.length) {
+
+				return false;
+			}
+
+			this.playAt(handCardIndex, stackIndex);
+		}
+
+		results[index] = this.credits - creditsBefore;
+		return true;
 	}
 
 	/**
@@ -470,11 +1210,141 @@ public class Game {
 	 */
 	private void saveScore() {
 
+		if (!this.recordScore) {
+
+			return;
+		}
+
 		ScoreBoard scoreBoard = ScoreBoard.getInstance();
 
 		scoreBoard.add(this.credits);
 	}
 
+	/**
+	 * Setzt den Listener, der nach jeder wirksamen Aktion benachrichtigt wird.
+	 * 
+	 * @param listener Der Listener oder {@code null}, um keinen zu verwenden
+	 */
+	public void setGameListener(GameListener listener) {
+
+		this.listener = listener;
+	}
+
+	/**
+	 * @return Der Startwert des Zufallsgenerators dieses Spiels
+	 * @throws IllegalStateException Wenn das Spiel mit einer eigenen
+	 *                               {@link RandomSource} erstellt wurde
+	 */
+	public long getSeed() {
+
+		if (!this.hasSeed) {
+
+			throw new IllegalStateException("Game was created with a RandomSource and has no seed");
+		}
+
+		return this.seed;
+	}
+
+	/**
+	 * Speichert den vollständigen Zustand des Spiels in einem kompakten
+	 * Binärformat, siehe {@link GameCodec}. Das Spiel wird dabei nicht
+	 * verändert, sodass nach jeder Aktion gespeichert werden kann.
+	 * 
+	 * @param out Das Ziel
+	 * @throws IOException           Wenn nicht geschrieben werden kann
+	 * @throws IllegalStateException Wenn sich der Zufallsgenerator des Spiels
+	 *                               nicht speichern lässt, siehe {@link GameCodec}
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+
+		GameCodec.write(this, out);
+	}
+
+	/**
+	 * @return Der Zufallsgenerator des Spiels
+	 */
+	RandomSource getRandomSource() {
+
+		return this.random;
+	}
+
+	/**
+	 * @return {@code true}, wenn das Spiel aus einem Seed erstellt wurde und
+	 *         damit aufgezeichnet werden kann
+	 */
+	public boolean hasSeed() {
+
+		return this.hasSeed;
+	}
+
+	/**
+	 * Legt fest, ob der Punktestand am Spielende in die {@link ScoreBoard}
+	 * eingetragen wird. Standardmäßig {@code true}. Simulationen schalten das aus,
+	 * damit die Bestenliste nicht von vielen Threads gleichzeitig verändert wird.
+	 * 
+	 * @param recordScore {@code false}, um das Eintragen zu unterdrücken
+	 */
+	public void setRecordScore(boolean recordScore) {
+
+		this.recordScore = recordScore;
+	}
+
+	/**
+	 * Erstellt einen Zwischenstand des Spiels. Hand, Stapel und Shop werden
+	 * nicht kopiert, sondern per copy-on-write geteilt. Ein Snapshot kostet
+	 * daher nur O(Anzahl der Stapel), kopiert wird erst beim nächsten Ändern.
+	 * Darf in jedem Modus aufgerufen werden.
+	 * 
+	 * @return Der Zwischenstand
+	 * @see #restore(GameSnapshot)
+	 */
+	public GameSnapshot snapshot() {
+
+		return new GameSnapshot(this.additionalCardInShopPurchases, this.additionalPlayStackPurchases,
+				this.additionalHandCardPurchases, this.maxDiscardPiles, this.currentRound, this.maxRounds,
+				this.boughtCardOnce, this.credits, this.mode, this.shop.copy(), this.playerHand.copy(),
+				this.drawPile.copy(), Game.copyPiles(this.discardPile), this.table.copy(), this.factory);
+	}
+
+	/**
+	 * Setzt das Spiel auf einen Zwischenstand zurück. Der Snapshot bleibt dabei
+	 * unverändert und kann erneut verwendet werden. Der Zufallsgenerator wird
+	 * nicht zurückgesetzt, das Spiel zieht weiter aus seinem eigenen.
+	 * 
+	 * @param snapshot Ein Zwischenstand aus {@link #snapshot()}
+	 */
+	public void restore(GameSnapshot snapshot) {
+
+		this.additionalCardInShopPurchases = snapshot.additionalCardInShopPurchases;
+		this.additionalPlayStackPurchases = snapshot.additionalPlayStackPurchases;
+		this.additionalHandCardPurchases = snapshot.additionalHandCardPurchases;
+		this.maxDiscardPiles = snapshot.maxDiscardPiles;
+		this.currentRound = snapshot.currentRound;
+		this.maxRounds = snapshot.maxRounds;
+		this.boughtCardOnce = snapshot.boughtCardOnce;
+		this.credits = snapshot.credits;
+
+		this.mode = snapshot.mode;
+		this.shop = snapshot.shop.copy();
+		this.playerHand = snapshot.playerHand.copy();
+		this.drawPile = snapshot.drawPile.copy(this.random);
+		this.discardPile = Game.copyPiles(snapshot.discardPile);
+		this.table = snapshot.table.copy();
+		this.factory = snapshot.factory;
+	}
+
+	private static DiscardPile[] copyPiles(DiscardPile[] piles) {
+
+		DiscardPile[] copy = new DiscardPile[piles.length];
+
+		for (int i = 0; i < piles.length; i++) {
+
+			copy[i] = piles[i].copy();
+		}
+
+		return copy;
+	}
+
 	/**
 	 * Liefert die Form der auf den Ablagestapeln liegenden Karten. An Index
 	 * {@code i} ist die Form für den Stapel mit index {@code i} oder {@code null}.
@@ -484,7 +1354,7 @@ public class Game {
 
 		if (this.mode != Mode.PLAYING) {
 
-			throw new IllegalCallException(Game.getCurrentMethodName(), this.mode, Mode.PLAYING);
+			throw new IllegalCallException("getTopShapes", this.mode, Mode.PLAYING);
 		}
 
 		Shape[] topShapes = new Shape[this.discardPile.length];
@@ -505,6 +1375,40 @@ public class Game {
 		return topShapes;
 	}
 
+	/**
+	 * Füllt {@code buffer} mit allen möglichen Zügen: jede Handkarte auf jeden
+	 * Stapel, zusammen mit der Änderung des Punktestands, die
+	 * {@link #play(int, int)} bewirken würde. Die Punkte werden gegen die
+	 * aktuellen obersten Karten berechnet, das Spiel bleibt unverändert. Die
+	 * Züge sind nach Handkarte und dann nach Stapel sortiert.
+	 *
+	 * @param buffer Der wiederverwendbare Puffer, vorherige Einträge werden
+	 *               verworfen
+	 * @return Die Anzahl der Züge
+	 */
+	public int legalPlays(MoveBuffer buffer) {
+
+		if (this.mode != Mode.PLAYING) {
+
+			throw new IllegalCallException("legalPlays", this.mode, Mode.PLAYING);
+		}
+
+		int handCards = this.playerHand.getHandCardsCount();
+		buffer.reset(this.table, this.credits, handCards * this.discardPile.length);
+
+		for (int h = 0; h < handCards; h++) {
+
+			buffer.beginCard(this.playerHand.getHandCardAtIndex(h));
+
+			for (int s = 0; s < this.discardPile.length; s++) {
+
+				buffer.add(h, s, this.topShapeAt(s));
+			}
+		}
+
+		return buffer.size();
+	}
+
 	/**
 	 * ENUMs für die Modes des Spiels
 	 */
@@ -513,6 +1417,183 @@ public class Game {
 		SHOPPING, PLAYING, END;
 	}
 
+	/**
+	 * Liefert eine Sicht auf das Spiel, die nur die Methoden des Shopping-Modus
+	 * anbietet.
+	 * <p>
+	 * Die Sicht bleibt an das Spiel gebunden. Wechselt das Spiel den Modus, werfen
+	 * ihre Methoden wie die entsprechenden Methoden von {@link Game} eine
+	 * {@link IllegalCallException}.
+	 * 
+	 * @return Die Shopping-Sicht
+	 * @throws IllegalCallException wenn das Spiel nicht im Modus
+	 *                              {@link Mode#SHOPPING} ist
+	 */
+	public Shopping shopping() {
+
+		if (this.mode != Mode.SHOPPING) {
+
+			throw new IllegalCallException("shopping", this.mode, Mode.SHOPPING);
+		}
+
+		return new Shopping();
+	}
+
+	/**
+	 * Liefert eine Sicht auf das Spiel, die nur die Methoden des Playing-Modus
+	 * anbietet.
+	 * 
+	 * @return Die Playing-Sicht
+	 * @throws IllegalCallException wenn das Spiel nicht im Modus
+	 *                              {@link Mode#PLAYING} ist
+	 * @see #shopping()
+	 */
+	public Playing playing() {
+
+		if (this.mode != Mode.PLAYING) {
+
+			throw new IllegalCallException("playing", this.mode, Mode.PLAYING);
+		}
+
+		return new Playing();
+	}
+
+	/**
+	 * Sicht auf ein Spiel im Shopping-Modus
+	 */
+	public final class Shopping {
+
+		private Shopping() {
+		}
+
+		/**
+		 * @see Game#isShopEmpty()
+		 */
+		public boolean isShopEmpty() {
+
+			return Game.this.isShopEmpty();
+		}
+
+		/**
+		 * @see Game#getShopItemCount()
+		 */
+		public int getItemCount() {
+
+			return Game.this.getShopItemCount();
+		}
+
+		/**
+		 * @see Game#getShopItemDescription(int)
+		 */
+		public String getItemDescription(int shopItemIndex) {
+
+			return Game.this.getShopItemDescription(shopItemIndex);
+		}
+
+		/**
+		 * @see Game#getShopItemPrice(int)
+		 */
+		public int getItemPrice(int shopItemIndex) {
+
+			return Game.this.getShopItemPrice(shopItemIndex);
+		}
+
+		/**
+		 * @see Game#buy(int)
+		 */
+		public boolean buy(int shopItemIndex) {
+
+			return Game.this.buy(shopItemIndex);
+		}
+
+		/**
+		 * @see Game#isDrawPileEmpty()
+		 */
+		public boolean isDrawPileEmpty() {
+
+			return Game.this.isDrawPileEmpty();
+		}
+
+		/**
+		 * Beendet die Shop-Interaktion.
+		 * 
+		 * @return Die Playing-Sicht oder {@code null}, wenn das Spiel danach nicht
+		 *         im Playing-Modus ist (noch keine Karte gekauft oder Spielende)
+		 * @see Game#endShopping()
+		 */
+		public Playing endShopping() {
+
+			Game.this.endShopping();
+
+			return Game.this.mode == Mode.PLAYING ? new Playing() : null;
+		}
+	}
+
+	/**
+	 * Sicht auf ein Spiel im Playing-Modus
+	 */
+	public final class Playing {
+
+		private Playing() {
+		}
+
+		/**
+		 * @see Game#getHandCardsCount()
+		 */
+		public int getHandCardsCount() {
+
+			return Game.this.getHandCardsCount();
+		}
+
+		/**
+		 * @see Game#getHandCard(int)
+		 */
+		public Card getHandCard(int handCardIndex) {
+
+			return Game.this.getHandCard(handCardIndex);
+		}
+
+		/**
+		 * @see Game#getStacksCount()
+		 */
+		public int getStacksCount() {
+
+			return Game.this.getStacksCount();
+		}
+
+		/**
+		 * @see Game#getTopShapes()
+		 */
+		public Shape[] getTopShapes() {
+
+			return Game.this.getTopShapes();
+		}
+
+		/**
+		 * @see Game#play(Card, int)
+		 */
+		public void play(Card card, int stackIndex) {
+
+			Game.this.play(card, stackIndex);
+		}
+
+		/**
+		 * @see Game#play(int, int)
+		 */
+		public void play(int handCardIndex, int stackIndex) {
+
+			Game.this.play(handCardIndex, stackIndex);
+		}
+
+		/**
+		 * @return {@code true}, solange das Spiel im Playing-Modus ist
+		 */
+		public boolean isActive() {
+
+			return Game.this.mode == Mode.PLAYING;
+		}
+	}
+
 	/**
 	 * Fügt einen zusätzlichen Ablagestapel hinzu.
 	 * Beispiel: Man kauft das jeweilige Upgrade -> Ablagestapel + 1
@@ -557,6 +1638,16 @@ public class Game {
 		return this.shop.getAllItems();
 	}
 
+	/**
+	 * Liefert die Preise aller Items aus dem Shop zurück
+	 * 
+	 * @return Alle Preise in der Reihenfolge von {@link #getAllShopItems()}
+	 */
+	public int[] getAllShopItemPrices() {
+
+		return this.shop.getAllPrices();
+	}
+
 	public Object[] getAllHandCards() {
 
 		AlgoArrayList<Object> allCardsList = new AlgoArrayList<>();
@@ -574,6 +1665,17 @@ public class Game {
 		return allCardsList.toArray();
     }
 
+	/**
+	 * Liefert alle Karten des Nachziehstapels. Da erst beim Ziehen gemischt wird,
+	 * ist die Reihenfolge nicht die Ziehreihenfolge.
+	 * 
+	 * @return Die Karten des Nachziehstapels als Array
+	 */
+	public Card[] getAllDrawPileCards() {
+
+		return this.drawPile.getAllDrawCards();
+	}
+
 	public int getAllHandCardsCount(Object[] cards) {
 
 		return cards.length;
@@ -584,27 +1686,32 @@ public class Game {
 		return this.playerHand.getMaxHandCards();
 	}
 
+	/**
+	 * Liefert Kopien der Ablagestapel. Änderungen an ihnen wirken sich nicht auf
+	 * das Spiel aus; dank Copy-on-Write kostet die Kopie pro Stapel nur
+	 * {@code O(1)}.
+	 */
 	public DiscardPile[] getDiscardPiles() {
 
-		return this.discardPile;
+		return Game.copyPiles(this.discardPile);
 	}
 
 	/**
-	 * 
-	 * @return aktuelle runde im Spiel
+	 * Liefert eine Kopie der Zusammenfassung der Ablagestapel, nach der Karten
+	 * ihre Punkte berechnen.
 	 */
-	public int getCurrentRound() {
+	public TableState getTableState() {
 
-		return this.currentRound;
+		return this.table.copy();
 	}
 
 	/**
 	 * 
-	 * @return Aktuelle Methode als Name für die Exception
+	 * @return aktuelle runde im Spiel
 	 */
-	private static String getCurrentMethodName() {
+	public int getCurrentRound() {
 
-		return Thread.currentThread().getStackTrace()[2].toString();
+		return this.currentRound;
 	}
 
     public int maxRounds() {
@@ -0,0 +1,548 @@
+package cardmaster;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import cardmaster.Game.Mode;
+import cardmaster.Upgrade.UpgradeDescriptions;
+import cardmaster.cards.Card;
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+import cardmaster.cards.Kombi;
+import cardmaster.random.JdkRandomSource;
+import cardmaster.random.RandomSource;
+import cardmaster.random.SplittableRandomSource;
+import cardmaster.random.XoshiroRandomSource;
+
+/**
+ * Das Speicherformat von {@link Game#writeTo(java.io.OutputStream)}. Ein Spiel beginnt mit einem Byte
+ * {@link #VERSION} und der Länge der folgenden Daten als varint. Dadurch liest {@link Game#readFrom(InputStream)}
+ * genau ein Spiel und kann den Rest des Streams für das nächste liegen lassen.
+ *
+ * <pre>
+ * flags        Modus (Bit 0-1), boughtCardOnce, RAW_CREDITS, HAS_SEED, Generator (Bit 5-6)
+ * varint       maxRounds, currentRound
+ * credits      verdoppelt als ZigZag-varint, mit RAW_CREDITS als 8-Byte-double
+ * varint       Käufe der Upgrades ADD_SHOP, ADD_STACK, ADD_HANDCARD
+ * [8 Byte]     seed, nur mit HAS_SEED
+ * 8 Byte je    Wort des Generatorzustands aus {@link RandomSource#getState()}
+ * varint       Shopgröße, Anzahl der Gegenstände, je Gegenstand Karte oder UPGRADE | Upgrade und varint Preis
+ * varint       Handgröße, Handkarten
+ * Karten       Nachziehstapel
+ * varint       Anzahl der Ablagestapel, je Stapel Karten
+ * </pre>
+ *
+ * Karten sind eine varint-Anzahl gefolgt von den Karten. Eine Karte belegt ein Byte mit ihrem Code aus
+ * {@link CardPool#code(CardType, Shape)}, eine Kombi-Karte zusätzlich ihre beiden Teilkarten.
+ * <p>
+ * Der Zustand des Generators wird gespeichert, ohne aus ihm zu ziehen. Das gelesene Spiel hat denselben Generatortyp
+ * und zieht exakt dieselben Zufallszahlen weiter. Gespeichert werden können {@link XoshiroRandomSource},
+ * {@link SplittableRandomSource} und {@link JdkRandomSource}.
+ */
+final class GameCodec {
+
+    static final int VERSION = 3;
+
+    private static final int MODE_MASK = 0x03;
+    private static final int BOUGHT_CARD_ONCE = 0x04;
+    private static final int RAW_CREDITS = 0x08;
+    private static final int HAS_SEED = 0x10;
+    private static final int GENERATOR_SHIFT = 5;
+    private static final int GENERATOR_MASK = 0x60;
+
+    /** Die speicherbaren Generatoren, der Index steht in den Flags. */
+    private static final Class<?>[] GENERATORS = {
+            XoshiroRandomSource.class, SplittableRandomSource.class, JdkRandomSource.class };
+    private static final int[] STATE_WORDS = { 4, 2, 1 };
+
+    private static final int UPGRADE = 0x40;
+    private static final int MAX_KOMBI_DEPTH = 64;
+
+    private GameCodec() {
+    }
+
+    static void write(Game game, OutputStream out) throws IOException {
+
+        GameSnapshot snapshot = game.snapshot();
+        Encoder encoder = new Encoder();
+        RandomSource random = game.getRandomSource();
+        int generator = GameCodec.generatorOf(random);
+        boolean compactCredits = GameCodec.isCompact(snapshot.credits);
+
+        int flags = snapshot.mode.ordinal();
+        flags |= snapshot.boughtCardOnce ? BOUGHT_CARD_ONCE : 0;
+        flags |= compactCredits ? 0 : RAW_CREDITS;
+        flags |= game.hasSeed() ? HAS_SEED : 0;
+        flags |= generator << GENERATOR_SHIFT;
+
+        encoder.writeByte(flags);
+        encoder.writeVarint(snapshot.maxRounds);
+        encoder.writeVarint(snapshot.currentRound);
+
+        if (compactCredits) {
+
+            long doubled = (long) (snapshot.credits * 2);
+            encoder.writeVarint((doubled << 1) ^ (doubled >> 63));
+        } else {
+
+            encoder.writeLong(Double.doubleToRawLongBits(snapshot.credits));
+        }
+
+        encoder.writeVarint(snapshot.additionalCardInShopPurchases);
+        encoder.writeVarint(snapshot.additionalPlayStackPurchases);
+        encoder.writeVarint(snapshot.additionalHandCardPurchases);
+
+        if (game.hasSeed()) {
+
+            encoder.writeLong(game.getSeed());
+        }
+
+        for (long word : random.getState()) {
+
+            encoder.writeLong(word);
+        }
+
+        Object[] items = snapshot.shop.getAllItems();
+        int[] prices = snapshot.shop.getAllPrices();
+
+        encoder.writeVarint(snapshot.shop.getSize());
+        encoder.writeVarint(items.length);
+
+        for (int i = 0; i < items.length; i++) {
+
+            if (items[i] instanceof Card) {
+
+                encoder.writeCard((Card) items[i]);
+            } else {
+
+                encoder.writeByte(UPGRADE | ((Upgrade) items[i]).getDescription().ordinal());
+            }
+
+            encoder.writeVarint(prices[i]);
+        }
+
+        encoder.writeVarint(snapshot.playerHand.getMaxHandCards());
+        encoder.writeCards(snapshot.playerHand.getAllHandCards());
+        encoder.writeCards(snapshot.drawPile.getAllDrawCards());
+        encoder.writeVarint(snapshot.discardPile.length);
+
+        for (DiscardPile pile : snapshot.discardPile) {
+
+            encoder.writeCards(pile.getAllCards());
+        }
+
+        encoder.writeTo(out);
+    }
+
+    static Game read(InputStream in, CardFactory factory) throws IOException {
+
+        int version = in.read();
+
+        if (version < 0) {
+
+            throw new EOFException("No game in stream");
+        }
+
+        if (version != VERSION) {
+
+            throw new IOException("Unsupported game version: " + version);
+        }
+
+        int length = GameCodec.readLength(in);
+        byte[] data = in.readNBytes(length);
+
+        if (data.length != length) {
+
+            throw new EOFException("Truncated game: expected " + length + " bytes, received " + data.length);
+        }
+
+        Decoder decoder = new Decoder(data);
+
+        int flags = decoder.readByte();
+        Mode mode = GameCodec.valueOf(Mode.values(), flags & MODE_MASK);
+        int maxRounds = decoder.readInt();
+        int currentRound = decoder.readInt();
+        double credits;
+
+        if ((flags & RAW_CREDITS) != 0) {
+
+            credits = Double.longBitsToDouble(decoder.readLong());
+        } else {
+
+            long zigzag = decoder.readVarint();
+            credits = ((zigzag >>> 1) ^ -(zigzag & 1)) / 2.0;
+        }
+
+        int shopPurchases = decoder.readInt();
+        int stackPurchases = decoder.readInt();
+        int handPurchases = decoder.readInt();
+        long seed = (flags & HAS_SEED) != 0 ? decoder.readLong() : 0;
+        RandomSource random = GameCodec.readGenerator(decoder, (flags & GENERATOR_MASK) >>> GENERATOR_SHIFT);
+
+        Shop shop = new Shop(decoder.readInt());
+        int itemCount = decoder.readInt();
+
+        for (int i = 0; i < itemCount; i++) {
+
+            int code = decoder.peekByte();
+
+            if ((code & UPGRADE) != 0) {
+
+                decoder.readByte();
+
+                UpgradeDescriptions description = GameCodec.valueOf(UpgradeDescriptions.values(), code & ~UPGRADE);
+                Upgrade upgrade = new Upgrade(description);
+
+                // Der angezeigte Preis des Upgrades hängt nur von der Anzahl der Käufe ab
+                upgrade.calcPrice(description == UpgradeDescriptions.ADD_SHOP ? shopPurchases
+                        : description == UpgradeDescriptions.ADD_STACK ? stackPurchases : handPurchases, random);
+                shop.restoreItem(upgrade, decoder.readInt());
+            } else {
+
+                Card card = decoder.readCard();
+                shop.restoreItem(card, decoder.readInt());
+            }
+        }
+
+        Hand hand = new Hand(decoder.readInt());
+
+        for (Card card : decoder.readCards()) {
+
+            hand.addCard(card);
+        }
+
+        DrawPile drawPile = new DrawPile(true, random);
+
+        for (Card card : decoder.readCards()) {
+
+            drawPile.addCard(card);
+        }
+
+        DiscardPile[] piles = new DiscardPile[decoder.readInt()];
+
+        for (int i = 0; i < piles.length; i++) {
+
+            piles[i] = new DiscardPile();
+
+            for (Card card : decoder.readCards()) {
+
+                piles[i].addCard(card);
+            }
+        }
+
+        if (!decoder.isDone()) {
+
+            throw new IOException("Trailing bytes after game");
+        }
+
+        GameSnapshot snapshot = new GameSnapshot(shopPurchases, stackPurchases, handPurchases, piles.length,
+                currentRound, maxRounds, (flags & BOUGHT_CARD_ONCE) != 0, credits, mode, shop, hand, drawPile, piles,
+                TableState.of(piles), factory);
+
+        return new Game(snapshot, random, seed, (flags & HAS_SEED) != 0);
+    }
+
+    /**
+     * @return Der Index des Generators in {@link #GENERATORS}
+     * @throws IllegalStateException Wenn sich der Generator nicht speichern lässt
+     */
+    private static int generatorOf(RandomSource random) {
+
+        for (int i = 0; i < GENERATORS.length; i++) {
+
+            if (GENERATORS[i] == random.getClass()) {
+
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("Generator cannot be saved: " + random.getClass().getName());
+    }
+
+    private static RandomSource readGenerator(Decoder decoder, int generator) throws IOException {
+
+        if (generator >= GENERATORS.length) {
+
+            throw new IOException("Unknown generator: " + generator);
+        }
+
+        long[] state = new long[STATE_WORDS[generator]];
+
+        for (int i = 0; i < state.length; i++) {
+
+            state[i] = decoder.readLong();
+        }
+
+        try {
+
+            switch (generator) {
+
+            case 0:
+                return XoshiroRandomSource.ofState(state);
+            case 1:
+                return SplittableRandomSource.ofState(state);
+            default:
+                return JdkRandomSource.ofState(state);
+            }
+        } catch (IllegalArgumentException e) {
+
+            throw new IOException("Invalid generator state", e);
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn {@code credits} als verdoppelter varint exakt gespeichert werden kann
+     */
+    private static boolean isCompact(double credits) {
+
+        double doubled = credits * 2;
+
+        return doubled == Math.rint(doubled) && Math.abs(doubled) < 0x1p53;
+    }
+
+    private static int readLength(InputStream in) throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+
+            int b = in.read();
+
+            if (b < 0) {
+
+                throw new EOFException("Truncated game length");
+            }
+
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+
+                if (value < 0) {
+
+                    break;
+                }
+
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid game length");
+    }
+
+    private static <E> E valueOf(E[] values, int ordinal) throws IOException {
+
+        if (ordinal < 0 || ordinal >= values.length) {
+
+            throw new IOException("Invalid ordinal: " + ordinal);
+        }
+
+        return values[ordinal];
+    }
+
+    /**
+     * Schreibt in ein wachsendes Array, das am Ende mit einem einzigen Aufruf in den Stream geht.
+     */
+    private static final class Encoder {
+
+        private byte[] data = new byte[256];
+        private int size;
+
+        void writeByte(int value) {
+
+            if (this.size == this.data.length) {
+
+                this.data = Arrays.copyOf(this.data, this.size * 2);
+            }
+
+            this.data[this.size++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+
+            while ((value & ~0x7FL) != 0) {
+
+                this.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+
+            this.writeByte((int) value);
+        }
+
+        void writeLong(long value) {
+
+            for (int shift = 56; shift >= 0; shift -= 8) {
+
+                this.writeByte((int) (value >>> shift));
+            }
+        }
+
+        void writeCards(Card[] cards) {
+
+            this.writeVarint(cards.length);
+
+            for (Card card : cards) {
+
+                this.writeCard(card);
+            }
+        }
+
+        void writeCard(Card card) {
+
+            this.writeByte(CardPool.code(card.getType(), card.getShape()));
+
+            if (card.getType() == CardType.KOMBI) {
+
+                this.writeCard(((Kombi) card).getCardOne());
+                this.writeCard(((Kombi) card).getCardTwo());
+            }
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+
+            byte[] header = new byte[6];
+            int headerSize = 0;
+            int length = this.size;
+
+            header[headerSize++] = VERSION;
+
+            while ((length & ~0x7F) != 0) {
+
+                header[headerSize++] = (byte) ((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+
+            header[headerSize++] = (byte) length;
+
+            out.write(header, 0, headerSize);
+            out.write(this.data, 0, this.size);
+        }
+    }
+
+    /**
+     * Liest aus dem Array eines Spiels.
+     */
+    private static final class Decoder {
+
+        private final byte[] data;
+        private int position;
+
+        Decoder(byte[] data) {
+
+            this.data = data;
+        }
+
+        boolean isDone() {
+
+            return this.position == this.data.length;
+        }
+
+        int peekByte() throws IOException {
+
+            if (this.position >= this.data.length) {
+
+                throw new EOFException("Truncated game");
+            }
+
+            return this.data[this.position] & 0xFF;
+        }
+
+        int readByte() throws IOException {
+
+            int value = this.peekByte();
+            this.position++;
+
+            return value;
+        }
+
+        long readVarint() throws IOException {
+
+            long value = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+
+                int b = this.readByte();
+                value |= (long) (b & 0x7F) << shift;
+
+                if ((b & 0x80) == 0) {
+
+                    return value;
+                }
+            }
+
+            throw new IOException("Invalid varint");
+        }
+
+        int readInt() throws IOException {
+
+            long value = this.readVarint();
+
+            if (value > Integer.MAX_VALUE) {
+
+                throw new IOException("Value out of range: " + value);
+            }
+
+            return (int) value;
+        }
+
+        long readLong() throws IOException {
+
+            long value = 0;
+
+            for (int i = 0; i < Long.BYTES; i++) {
+
+                value = value << 8 | this.readByte();
+            }
+
+            return value;
+        }
+
+        Card[] readCards() throws IOException {
+
+            int count = this.readInt();
+
+            if (count > this.data.length - this.position) {
+
+                throw new IOException("Invalid card count: " + count);
+            }
+
+            Card[] cards = new Card[count];
+
+            for (int i = 0; i < cards.length; i++) {
+
+                cards[i] = this.readCard();
+            }
+
+            return cards;
+        }
+
+        Card readCard() throws IOException {
+
+            return this.readCard(0);
+        }
+
+        private Card readCard(int depth) throws IOException {
+
+            int code = this.readByte();
+
+            if (code >= CardPool.codeCount()) {
+
+                throw new IOException("Invalid card code: " + code);
+            }
+
+            if (CardPool.typeOf(code) == CardType.KOMBI) {
+
+                if (depth == MAX_KOMBI_DEPTH) {
+
+                    throw new IOException("Kombi cards nested too deeply");
+                }
+
+                return new Kombi(this.readCard(depth + 1), this.readCard(depth + 1));
+            }
+
+            return CardPool.fromCode(code);
+        }
+    }
+}
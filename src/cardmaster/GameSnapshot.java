@@ -0,0 +1,79 @@
+package cardmaster;
+
+import cardmaster.Game.Mode;
+
+/**
+ * Unveränderlicher Zwischenstand eines {@link Game}, erstellt mit
+ * {@link Game#snapshot()}. Hand, Stapel und Shop werden per copy-on-write
+ * geteilt: Ein Snapshot kostet nur das Kopieren der Referenzen, erst beim
+ * nächsten Ändern einer Struktur wird diese kopiert.
+ * <p>
+ * Ein Snapshot kann beliebig oft mit {@link Game#restore(GameSnapshot)}
+ * wiederhergestellt werden, auch in verschiedenen Spielen.
+ */
+public final class GameSnapshot {
+
+	final int additionalCardInShopPurchases;
+	final int additionalPlayStackPurchases;
+	final int additionalHandCardPurchases;
+
+	final int maxDiscardPiles;
+	final int currentRound;
+	final int maxRounds;
+	final boolean boughtCardOnce;
+	final double credits;
+
+	final Mode mode;
+	final Shop shop;
+	final Hand playerHand;
+	final DrawPile drawPile;
+	final DiscardPile[] discardPile;
+	final TableState table;
+	final CardFactory factory;
+
+	GameSnapshot(int additionalCardInShopPurchases, int additionalPlayStackPurchases,
+			int additionalHandCardPurchases, int maxDiscardPiles, int currentRound, int maxRounds,
+			boolean boughtCardOnce, double credits, Mode mode, Shop shop, Hand playerHand, DrawPile drawPile,
+			DiscardPile[] discardPile, TableState table, CardFactory factory) {
+
+		this.additionalCardInShopPurchases = additionalCardInShopPurchases;
+		this.additionalPlayStackPurchases = additionalPlayStackPurchases;
+		this.additionalHandCardPurchases = additionalHandCardPurchases;
+		this.maxDiscardPiles = maxDiscardPiles;
+		this.currentRound = currentRound;
+		this.maxRounds = maxRounds;
+		this.boughtCardOnce = boughtCardOnce;
+		this.credits = credits;
+		this.mode = mode;
+		this.shop = shop;
+		this.playerHand = playerHand;
+		this.drawPile = drawPile;
+		this.discardPile = discardPile;
+		this.table = table;
+		this.factory = factory;
+	}
+
+	/**
+	 * @return Der Modus zum Zeitpunkt des Snapshots
+	 */
+	public Mode getMode() {
+
+		return this.mode;
+	}
+
+	/**
+	 * @return Der Punktestand zum Zeitpunkt des Snapshots
+	 */
+	public double getCredits() {
+
+		return this.credits;
+	}
+
+	/**
+	 * @return Die Runde zum Zeitpunkt des Snapshots
+	 */
+	public int getCurrentRound() {
+
+		return this.currentRound;
+	}
+}
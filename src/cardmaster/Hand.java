@@ -2,7 +2,7 @@ package cardmaster;
 
 // java import
 import cardmaster.cards.Card;
-import cardmaster.collections.AlgoArrayList;
+import cardmaster.collections.AlgoArrayDeque;
 
 /**
  * Diese Klasse liefert eine Hand fuer das Spiel.
@@ -10,23 +10,59 @@ import cardmaster.collections.AlgoArrayList;
  * @author o.le
  * @since 13.03.2024
  */
-@SuppressWarnings("rawtypes")
 public class Hand {
     
     private static final int DEFAULT_MAX_SIZE = 4;
     
     private int currentMaxHandSize;
-    private AlgoArrayList handCards;
+    private AlgoArrayDeque<Card> handCards;
 
     /**
-     * Generiert eine neue Hand. Benutzt intern die Klasse {@link cardmaster.collections.AlgoArrayList}.
+     * Generiert eine neue Hand. Benutzt intern die Klasse {@link cardmaster.collections.AlgoArrayDeque}.
      */
     public Hand() {
 
-        this.handCards = new AlgoArrayList(DEFAULT_MAX_SIZE);
+        this.handCards = new AlgoArrayDeque<>(DEFAULT_MAX_SIZE);
         this.currentMaxHandSize = DEFAULT_MAX_SIZE;
     }
 
+    /**
+     * Generiert eine leere Hand mit gegebener Größe, z.B. beim Einlesen eines gespeicherten Spiels.
+     * 
+     * @param maxHandSize Die maximale Anzahl an Handkarten
+     */
+    Hand(int maxHandSize) {
+
+        this(new AlgoArrayDeque<>(Math.max(DEFAULT_MAX_SIZE, maxHandSize)), maxHandSize);
+    }
+
+    private Hand(AlgoArrayDeque<Card> handCards, int currentMaxHandSize) {
+
+        this.handCards = handCards;
+        this.currentMaxHandSize = currentMaxHandSize;
+    }
+
+    /**
+     * Erstellt eine Kopie der Hand in O(1). Die Karten werden erst beim nächsten Ändern kopiert.
+     * 
+     * @return Die Kopie
+     */
+    public Hand copy() {
+
+        return new Hand(this.handCards.copy(), this.currentMaxHandSize);
+    }
+
+    /**
+     * Übernimmt Karten und Größe von {@code other} in O(1) wie {@link #copy()}, ohne zu allokieren.
+     * 
+     * @param other Die zu übernehmende Hand
+     */
+    void set(Hand other) {
+
+        this.handCards.copyFrom(other.handCards);
+        this.currentMaxHandSize = other.currentMaxHandSize;
+    }
+
     /**
      * Setzt daS Upgrade für die Handgröße um, indem die HandSize um 1 erhöht wird
      */
@@ -43,7 +79,7 @@ public class Hand {
      */
     public Card getHandCardAtIndex(int handCardIndex) {
 
-        return (Card) this.handCards.getItemAtIndex(handCardIndex);
+        return this.handCards.getItemAtIndex(handCardIndex);
     }
 
     /**
@@ -68,7 +104,7 @@ public class Hand {
      */
     public void addCard(Card card) {
 
-        this.handCards.add(card);
+        this.handCards.addLast(card);
     }
 
     /**
@@ -83,6 +119,37 @@ public class Hand {
         return this.handCards.delete(card);
     }
 
+    /**
+     * Spielt die Karte an dem uebergebenen Index in O(1), ohne Karten zu vergleichen. Wird eine Ersatzkarte
+     * uebergeben, nimmt sie den Platz der gespielten Karte ein, sodass alle anderen Karten ihren Index behalten.
+     * Ohne Ersatzkarte rueckt die letzte Karte an den freien Platz.
+     * 
+     * @param handCardIndex Der Index der Karte, die gespielt wird.
+     * @param replacement Die nachgezogene Karte oder {@code null}, wenn keine Karte nachgezogen wird.
+     * @return Die gespielte Karte.
+     * @throws IndexOutOfBoundsException Wenn der Index nicht in der Hand liegt.
+     */
+    public Card playCardAt(int handCardIndex, Card replacement) {
+
+        if (replacement == null) {
+
+            return this.handCards.removeSwapped(handCardIndex);
+        }
+
+        return this.handCards.set(handCardIndex, replacement);
+    }
+
+    /**
+     * Liefert den Index der ersten Karte auf der Hand, die gleich der uebergebenen Karte ist.
+     * 
+     * @param card Die gesuchte Karte.
+     * @return Der Index der Karte oder {@code -1}, wenn sie nicht auf der Hand ist.
+     */
+    public int indexOf(Card card) {
+
+        return this.handCards.getIndexFromItem(card);
+    }
+
     /**
      * Uberprueft, ob die uebergebene Karte auf der Hand ist.
      * 
@@ -101,7 +168,7 @@ public class Hand {
         
         for (int i = 0; i < cardsArray.length; i++) {
             
-            cardsArray[i] = (Card) this.handCards.getItemAtIndex(i);
+            cardsArray[i] = this.handCards.getItemAtIndex(i);
         }
         return cardsArray;
     }
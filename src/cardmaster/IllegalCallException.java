@@ -1,14 +1,23 @@
 package cardmaster;
 
 import cardmaster.Game.Mode;
+import cardmaster.metrics.EngineMetrics;
 
 /**
  * Eine IllegalCallException wird geworfen, wenn eine Methode in {@link Game}
  * aufgerufen wird, die nicht zu in dem aktuellen {@link Game.Mode} aufgerufen
  * werden darf
+ * <p>
+ * Die Exception erfasst keinen Stacktrace und baut ihre Nachricht erst in
+ * {@link #getMessage()} zusammen. Ein fehlgeschlagener Modus-Check kostet damit
+ * kaum mehr als die Abfrage selbst.
  */
 public class IllegalCallException extends RuntimeException {
 
+        private final String methodName;
+        private final Mode currentMode;
+        private final Mode expMode;
+
         /**
          * Wirft eine IllegalCallException
          * 
@@ -18,8 +27,43 @@ public class IllegalCallException extends RuntimeException {
          */
         public IllegalCallException(String methodName, Mode currentMode, Mode expMode) {
 
-                super("Error in " + methodName
-                        + ". Current Mode" + currentMode
-                        + ". Expected mode: " + expMode + ".");
+                super(null, null, false, false);
+                EngineMetrics.get().countIllegalCall();
+
+                this.methodName = methodName;
+                this.currentMode = currentMode;
+                this.expMode = expMode;
+        }
+
+        @Override
+        public String getMessage() {
+
+                return "Error in " + methodName
+                        + ". Current Mode: " + currentMode
+                        + ". Expected mode: " + expMode + ".";
+        }
+
+        /**
+         * @return Der Name der Methode, in der die Exception geschmissen wurde
+         */
+        public String getMethodName() {
+
+                return methodName;
+        }
+
+        /**
+         * @return Der Modus, in dem sich das Spiel beim Aufruf befand
+         */
+        public Mode getCurrentMode() {
+
+                return currentMode;
+        }
+
+        /**
+         * @return Der Modus, den die aufgerufene Methode erwartet
+         */
+        public Mode getExpectedMode() {
+
+                return expMode;
         }
 }
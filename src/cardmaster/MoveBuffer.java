@@ -0,0 +1,173 @@
+package cardmaster;
+
+import java.util.Arrays;
+
+import cardmaster.cards.Card;
+
+/**
+ * Wiederverwendbarer Puffer für {@link Game#legalPlays(MoveBuffer)}. Jeder Eintrag ist ein möglicher Zug aus Index
+ * der Handkarte, Index des Stapels und der Änderung des Punktestands, die {@link Game#play(int, int)} bewirken würde.
+ * <p>
+ * Die Einträge liegen in primitiven Arrays, die nur wachsen. Nach dem ersten Zug eines Spiels allokiert ein Puffer
+ * nichts mehr. Ein Puffer ist nicht threadsicher.
+ */
+public final class MoveBuffer {
+
+    private static final int SLOTS = Shape.values().length + 1;
+
+    private int[] handCardIndexes;
+    private int[] stackIndexes;
+    private double[] creditsDeltas;
+    private int size;
+
+    // Zustand während Game#legalPlays
+    private final TableState table = new TableState();
+    private final double[] cachedDeltas = new double[SLOTS];
+    private final int[] cacheStamps = new int[SLOTS];
+    private int stamp;
+    private Card card;
+    private double credits;
+
+    public MoveBuffer() {
+
+        this(16);
+    }
+
+    /**
+     * @param capacity Die Anfangsgröße, z.B. Handkarten mal Stapel
+     */
+    public MoveBuffer(int capacity) {
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: capacity must not be negative, received: " + capacity);
+        }
+
+        this.handCardIndexes = new int[capacity];
+        this.stackIndexes = new int[capacity];
+        this.creditsDeltas = new double[capacity];
+    }
+
+    /**
+     * @return Die Anzahl der Züge
+     */
+    public int size() {
+
+        return this.size;
+    }
+
+    /**
+     * @param index Index aus dem Intervall {@code [0, this.size())}
+     * @return Der Index der Handkarte des Zugs
+     */
+    public int getHandCardIndex(int index) {
+
+        this.checkIndex(index);
+        return this.handCardIndexes[index];
+    }
+
+    /**
+     * @param index Index aus dem Intervall {@code [0, this.size())}
+     * @return Der Index des Stapels des Zugs
+     */
+    public int getStackIndex(int index) {
+
+        this.checkIndex(index);
+        return this.stackIndexes[index];
+    }
+
+    /**
+     * @param index Index aus dem Intervall {@code [0, this.size())}
+     * @return Die Änderung des Punktestands durch den Zug
+     */
+    public double getCreditsDelta(int index) {
+
+        this.checkIndex(index);
+        return this.creditsDeltas[index];
+    }
+
+    /**
+     * @return Der Index des ersten Zugs mit der größten Änderung des Punktestands oder {@code -1}, wenn der Puffer
+     *         leer ist
+     */
+    public int best() {
+
+        int best = this.size == 0 ? -1 : 0;
+
+        for (int i = 1; i < this.size; i++) {
+
+            if (this.creditsDeltas[i] > this.creditsDeltas[best]) {
+
+                best = i;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Leert den Puffer, die Arrays bleiben erhalten.
+     */
+    public void clear() {
+
+        this.size = 0;
+        this.card = null;
+    }
+
+    /**
+     * Leert den Puffer für einen neuen Durchlauf gegen den Zustand {@code table}.
+     */
+    void reset(TableState table, double credits, int moves) {
+
+        this.clear();
+        this.table.set(table);
+        this.credits = credits;
+
+        if (this.handCardIndexes.length < moves) {
+
+            int capacity = Math.max(moves, this.handCardIndexes.length * 2);
+            this.handCardIndexes = Arrays.copyOf(this.handCardIndexes, capacity);
+            this.stackIndexes = Arrays.copyOf(this.stackIndexes, capacity);
+            this.creditsDeltas = Arrays.copyOf(this.creditsDeltas, capacity);
+        }
+    }
+
+    /**
+     * Beginnt die Züge einer Handkarte. Die Punkte werden pro oberster Form nur einmal berechnet.
+     */
+    void beginCard(Card card) {
+
+        this.card = card;
+        this.stamp++;
+    }
+
+    /**
+     * Fügt den Zug der aktuellen Handkarte auf einen Stapel mit oberster Form {@code top} hinzu.
+     *
+     * @param top Die oberste Form des Stapels oder {@code null}, wenn er leer ist
+     */
+    void add(int handCardIndex, int stackIndex, Shape top) {
+
+        int slot = top == null ? 0 : top.ordinal() + 1;
+
+        if (this.cacheStamps[slot] != this.stamp) {
+
+            this.cachedDeltas[slot] = Game.previewDelta(this.card, top, this.table, this.credits);
+            this.cacheStamps[slot] = this.stamp;
+        }
+
+        this.handCardIndexes[this.size] = handCardIndex;
+        this.stackIndexes[this.size] = stackIndex;
+        this.creditsDeltas[this.size] = this.cachedDeltas[slot];
+        this.size++;
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= this.size) {
+
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.size);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package cardmaster;
 
-import java.util.Random;
 import java.util.Scanner;
 import cardmaster.Game.Mode;
 import cardmaster.cards.Card;
+import cardmaster.random.RandomSource;
 
 public class PlayerConsole extends Player {
 
     private Scanner scanner;
+    private double[] previews = new double[0];
 
     public PlayerConsole() {
         scanner = new Scanner(System.in);
@@ -45,6 +46,11 @@ public class PlayerConsole extends Player {
             System.out.print(topCard != null ? topCard.getShape().toString().substring(0, 1) + " " : "_ ");
         }
         System.out.println("\nWählen Sie eine Karte zum Spielen:");
+
+        if (this.previews.length < game.getStacksCount()) {
+
+            this.previews = new double[game.getStacksCount()];
+        }
     
         // Zeige die Karten, die gespielt werden können.
         for (int i = 0; i < game.getHandCardsCount(); i++) {
@@ -58,15 +64,23 @@ public class PlayerConsole extends Player {
     
         if (cardIndex >= 0 && cardIndex < game.getHandCardsCount()) {
 
-            Card card = game.getHandCard(cardIndex);
-
             System.out.println("Wählen Sie den gewünschten Stapel (1-" + game.getStacksCount() + ").");
+
+            // Zeigt, wie viele Punkte die Karte auf jedem Stapel bringt
+            game.previewCredits(cardIndex, this.previews);
+            System.out.print("  ");
+
+            for (int i = 0; i < game.getStacksCount(); i++) {
+
+                System.out.print("+" + this.previews[i] + " ");
+            }
+            System.out.println();
             System.out.print(">>> ");
 
             int stackIndex = scanner.nextInt() - 1;
             if (stackIndex >= 0 && stackIndex < game.getStacksCount()) {
                 
-                game.play(card, stackIndex);
+                game.play(cardIndex, stackIndex);
             } else {
                 System.out.println("========================");
                 System.out.println("\u001B[31m" + "Ungültige Stapelwahl." + "\u001B[0m");
@@ -119,9 +133,8 @@ public class PlayerConsole extends Player {
     public static void main(String[] args) {
         Game game = new Game(2, new CardFactory(){
             @Override
-            public Card createRandom() {
+            public Card createRandom(RandomSource random) {
 
-            Random random = new Random();
             String[] allCardTypes = {"Chance", "Paar", "Tripel"};
             Shape[] allCardShapes = Shape.values();
 
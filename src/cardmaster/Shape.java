@@ -1,15 +1,28 @@
 package cardmaster;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import cardmaster.random.RandomSource;
 
 public enum Shape {
     CIRCLE,
     STAR,
     SQUARE;
 
+    /**
+     * @return Eine gleichverteilt zufällige Form aus einem neuen, zufällig gestarteten Generator
+     */
     public static Shape getRandomShape() {
 
-        Random random = new Random();
+        return getRandomShape(RandomSource.seeded(ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * @param random Der Zufallsgenerator, z.B. der des Spiels
+     * @return Eine gleichverteilt zufällige Form
+     */
+    public static Shape getRandomShape(RandomSource random) {
+
         Shape[] shapes = Shape.values();
         
         return shapes[random.nextInt(shapes.length)];
@@ -1,8 +1,12 @@
 package cardmaster;
 
 //java import
+import java.util.concurrent.ThreadLocalRandom;
+
 import cardmaster.collections.AlgoArrayList;
+import cardmaster.collections.IntAlgoArrayList;
 import cardmaster.interfaces.Item;
+import cardmaster.random.RandomSource;
 
 /**
  * @author g.ary, o.le
@@ -18,22 +22,90 @@ public class Shop {
 
 
     private AlgoArrayList shopItems;
+    // Preise liegen parallel zu shopItems, da Karten geteilte Instanzen ohne eigenen Preis sind
+    private IntAlgoArrayList shopPrices;
 
     public Shop() {
 
         this.shopItems = new AlgoArrayList(DEFAULT_SIZE);
+        this.shopPrices = new IntAlgoArrayList(DEFAULT_SIZE);
         this.maxShopSize = DEFAULT_SIZE;
     }
 
     /**
-     * Fügt ein Item in dem Shop hinzu
+     * Erstellt einen leeren Shop mit gegebener Größe, z.B. beim Einlesen eines gespeicherten Spiels.
+     * 
+     * @param maxShopSize maximale Größe des Shops
+     */
+    Shop(int maxShopSize) {
+
+        this(new AlgoArrayList(Math.max(DEFAULT_SIZE, maxShopSize)),
+                new IntAlgoArrayList(Math.max(DEFAULT_SIZE, maxShopSize)), maxShopSize);
+    }
+
+    private Shop(AlgoArrayList shopItems, IntAlgoArrayList shopPrices, int maxShopSize) {
+
+        this.shopItems = shopItems;
+        this.shopPrices = shopPrices;
+        this.maxShopSize = maxShopSize;
+    }
+
+    /**
+     * Erstellt eine Kopie des Shops in O(1). Gegenstände und Preise werden erst beim nächsten Ändern kopiert.
+     * 
+     * @return Die Kopie
+     */
+    public Shop copy() {
+
+        return new Shop(this.shopItems.copy(), this.shopPrices.copy(), this.maxShopSize);
+    }
+
+    /**
+     * Übernimmt Gegenstände, Preise und Größe von {@code other} in O(1) wie {@link #copy()}, ohne zu allokieren.
+     * 
+     * @param other Der zu übernehmende Shop
+     */
+    @SuppressWarnings("unchecked")
+    void set(Shop other) {
+
+        this.shopItems.copyFrom(other.shopItems);
+        this.shopPrices.copyFrom(other.shopPrices);
+        this.maxShopSize = other.maxShopSize;
+    }
+
+    /**
+     * Fügt ein Item in dem Shop hinzu. Zufällige Preise kommen aus einem neuen, zufällig gestarteten Generator.
      * 
      * @param item
      * @param calculationValue für die Methode calcPrice
      */
     public void addItem(Item item, double calculationValue) {
 
-        item.calcPrice(calculationValue);
+        this.addItem(item, calculationValue, RandomSource.seeded(ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * Fügt ein Item in dem Shop hinzu
+     * 
+     * @param item
+     * @param calculationValue für die Methode calcPrice
+     * @param random           Der Zufallsgenerator des Spiels für die Methode calcPrice
+     */
+    public void addItem(Item item, double calculationValue, RandomSource random) {
+
+        this.shopPrices.add(item.calcPrice(calculationValue, random));
+        this.shopItems.add(item);
+    }
+
+    /**
+     * Fügt ein Item mit bereits bekanntem Preis hinzu, z.B. beim Einlesen eines gespeicherten Spiels.
+     * 
+     * @param item  Das Item
+     * @param price Der Preis des Items
+     */
+    void restoreItem(Item item, int price) {
+
+        this.shopPrices.add(price);
         this.shopItems.add(item);
     }
 
@@ -53,12 +125,32 @@ public class Shop {
 
             
             this.shopItems.delete(shopItemIndex);
+            this.shopPrices.delete(shopItemIndex);
             return (Item)temp;
         }
 
         return null;
     }
 
+    /**
+     * @param shopItemIndex Ein beliebiger Index
+     * @return Ob an dem Index ein Item liegt
+     */
+    boolean hasItem(int shopItemIndex) {
+
+        return shopItemIndex >= 0 && shopItemIndex < this.shopItems.size()
+                && this.shopItems.getItemAtIndex(shopItemIndex) != null;
+    }
+
+    /**
+     * @param shopItemIndex Index aus dem Intervall {@code [0, this.getAllItems().length)}
+     * @return Das Item an dem Index, ohne es zu kaufen
+     */
+    Item itemAt(int shopItemIndex) {
+
+        return (Item) this.shopItems.getItemAtIndex(shopItemIndex);
+    }
+
     /**
      * Prüft ob der Shop leer ist.
      * 
@@ -107,9 +199,7 @@ public class Shop {
      */
     public int itemPrice(int shopItemIndex) {
 
-        
-        Item item = (Item)this.shopItems.getItemAtIndex(shopItemIndex);
-        return item.getPrice();
+        return this.shopPrices.getItemAtIndex(shopItemIndex);
     }
 
     /**
@@ -117,10 +207,8 @@ public class Shop {
      */
     public void clearShopItems() {
 
-        for (int i = this.getItemCount(); i > 0; i--) {
-
-            this.shopItems.delete(i);
-        }
+        this.shopItems.clear();
+        this.shopPrices.clear();
     }
 
     /** 
@@ -148,4 +236,14 @@ public class Shop {
 
         return this.shopItems.toArray();
     }
+
+    /**
+     * Liefert die Preise aller Items in der Reihenfolge von {@link #getAllItems()}
+     * 
+     * @return Alle Preise als Array
+     */
+    public int[] getAllPrices() {
+
+        return this.shopPrices.toArray();
+    }
 }
@@ -0,0 +1,164 @@
+package cardmaster;
+
+/**
+ * Zusammenfassung der Ablagestapel, gegen die Karten ihre Punkte berechnen: die Anzahl der nicht leeren Stapel und
+ * für jede {@link Shape} die Anzahl der Stapel, auf denen oben eine Karte dieser Form liegt.
+ * <p>
+ * {@link Game} hält den Zustand beim Legen und Leeren der Stapel in O(1) aktuell. Das Berechnen der Punkte hängt
+ * dadurch nicht mehr von der Anzahl der Stapel ab.
+ */
+public class TableState {
+
+    private static final Shape[] SHAPES = Shape.values();
+
+    private final int[] topShapeCounts = new int[SHAPES.length];
+    private int nonEmptyPiles;
+
+    /**
+     * Erzeugt den Zustand eines Tisches mit leeren Ablagestapeln.
+     */
+    public TableState() {
+    }
+
+    /**
+     * @return Eine unabhängige Kopie dieses Zustands
+     */
+    public TableState copy() {
+
+        TableState copy = new TableState();
+        copy.set(this);
+
+        return copy;
+    }
+
+    /**
+     * Übernimmt den Zustand von {@code other}, ohne zu allokieren.
+     * 
+     * @param other Der zu übernehmende Zustand
+     */
+    public void set(TableState other) {
+
+        System.arraycopy(other.topShapeCounts, 0, this.topShapeCounts, 0, this.topShapeCounts.length);
+        this.nonEmptyPiles = other.nonEmptyPiles;
+    }
+
+    /**
+     * Erzeugt den Zustand für die übergebenen Ablagestapel.
+     * 
+     * @param discardPiles Die Ablagestapel
+     * @return Der Zustand der Stapel
+     */
+    public static TableState of(DiscardPile[] discardPiles) {
+
+        TableState state = new TableState();
+
+        for (DiscardPile pile : discardPiles) {
+
+            if (!pile.isEmpty()) {
+
+                state.place(null, pile.getTopShape());
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Vermerkt, dass eine Karte auf einen Stapel gelegt wurde.
+     * 
+     * @param previousTop Die Form der bisher obersten Karte oder {@code null}, wenn der Stapel leer war
+     * @param newTop      Die Form der gelegten Karte
+     */
+    public void place(Shape previousTop, Shape newTop) {
+
+        if (previousTop == null) {
+
+            this.nonEmptyPiles++;
+        } else {
+
+            this.topShapeCounts[previousTop.ordinal()]--;
+        }
+
+        this.topShapeCounts[newTop.ordinal()]++;
+    }
+
+    /**
+     * Nimmt {@link #place(Shape, Shape)} mit denselben Argumenten zurück, z.B. beim Durchsuchen von Zügen.
+     * 
+     * @param previousTop Die Form der vorher obersten Karte oder {@code null}, wenn der Stapel leer war
+     * @param newTop      Die Form der wieder entfernten Karte
+     */
+    public void undoPlace(Shape previousTop, Shape newTop) {
+
+        this.topShapeCounts[newTop.ordinal()]--;
+
+        if (previousTop == null) {
+
+            this.nonEmptyPiles--;
+        } else {
+
+            this.topShapeCounts[previousTop.ordinal()]++;
+        }
+    }
+
+    /**
+     * Vermerkt, dass alle Stapel geleert wurden.
+     */
+    public void clear() {
+
+        this.nonEmptyPiles = 0;
+
+        for (int i = 0; i < this.topShapeCounts.length; i++) {
+
+            this.topShapeCounts[i] = 0;
+        }
+    }
+
+    /**
+     * @return Die Anzahl der nicht leeren Ablagestapel
+     */
+    public int getNonEmptyPiles() {
+
+        return this.nonEmptyPiles;
+    }
+
+    /**
+     * @param shape Die gesuchte Form
+     * @return Die Anzahl der Stapel, auf denen oben eine Karte mit dieser Form liegt
+     */
+    public int getTopCount(Shape shape) {
+
+        return this.topShapeCounts[shape.ordinal()];
+    }
+
+    /**
+     * @return Die Anzahl der verschiedenen Formen, die oben auf den Stapeln liegen
+     */
+    public int getUniqueShapes() {
+
+        int uniqueShapes = 0;
+
+        for (int count : this.topShapeCounts) {
+
+            if (count > 0) {
+
+                uniqueShapes++;
+            }
+        }
+
+        return uniqueShapes;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder("TableState[nonEmpty=").append(this.nonEmptyPiles);
+
+        for (Shape shape : SHAPES) {
+
+            builder.append(", ").append(shape).append('=').append(this.topShapeCounts[shape.ordinal()]);
+        }
+
+        return builder.append(']').toString();
+    }
+}
@@ -1,13 +1,17 @@
 package cardmaster;
 
 import cardmaster.interfaces.Item;
+import cardmaster.random.RandomSource;
 
 public class Upgrade implements Item {
 
     private UpgradeDescriptions description;
     private double price;
 
-    @Override
+    /**
+     * Getter für den zuletzt berechneten Preis
+     * @return Preis des Upgrades
+     */
     public int getPrice() {
         return (int)price;
     }
@@ -30,13 +34,15 @@ public class Upgrade implements Item {
     }
 
     @Override
-    public void calcPrice(double timesPurchased) {
+    public int calcPrice(double timesPurchased, RandomSource random) {
         
         if (timesPurchased == 0) {
             this.price = 1;
         } else {
             this.price += (timesPurchased * timesPurchased) + 1;
         }
+
+        return (int)price;
     }
 
     /**
@@ -1,11 +1,11 @@
 package cardmaster.cards;
 
-import java.util.Objects;
 // java import
-import java.util.Random;
 import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
 import cardmaster.interfaces.Item;
+import cardmaster.random.RandomSource;
 
 /**
  * <h1>Punkte</h1> 0.5 Punkte für jeden nicht leeren Ablagestapel und 0.5 Punkte
@@ -29,14 +29,17 @@ import cardmaster.interfaces.Item;
  */
 public abstract class Card implements Item {
 
-	Shape shape;
-	String name;
-	int price;
+	final Shape shape;
+	final CardType type;
+	final String name;
+	private final int code;
 
-	public Card(Shape shape, String name) {
+	public Card(Shape shape, CardType type) {
 
 		this.shape = shape;
-		this.name = name;
+		this.type = type;
+		this.name = type.getName();
+		this.code = CardPool.code(type, shape);
 	}
 
 	/**
@@ -46,7 +49,19 @@ public abstract class Card implements Item {
 	 * @param discardPiles
 	 * @return credits
 	 */
-	public abstract double calcCredits(DiscardPile[] discardPiles);
+	public final double calcCredits(DiscardPile[] discardPiles) {
+
+		return this.calcCredits(TableState.of(discardPiles));
+	}
+
+	/**
+	 * Berechnet credits anhand der Zusammenfassung der Ablagestapel. Die gelegte
+	 * Karte liegt dabei bereits auf ihrem Stapel.
+	 * 
+	 * @param table Anzahl der nicht leeren Stapel und der obersten Formen
+	 * @return credits
+	 */
+	public abstract double calcCredits(TableState table);
 
 	/**
 	 * @return Gibt die Form der Karte zurück.
@@ -64,10 +79,20 @@ public abstract class Card implements Item {
 		return this.name;
 	}
 
-	@Override
-	public int getPrice() {
+	/**
+	 * @return Gibt den Typ der Karte zurück.
+	 */
+	public CardType getType() {
+
+		return this.type;
+	}
 
-		return this.price;
+	/**
+	 * @return Der kompakte Kartencode aus Typ und Form, siehe {@link CardPool#code(CardType, Shape)}.
+	 */
+	public int getCode() {
+
+		return this.code;
 	}
 
 	@Override
@@ -77,9 +102,7 @@ public abstract class Card implements Item {
 	}
 
 	@Override
-	public void calcPrice(double credits) {
-
-		Random random = new Random();
+	public int calcPrice(double credits, RandomSource random) {
 
 		double basePrice = credits / 4;
 
@@ -92,11 +115,10 @@ public abstract class Card implements Item {
 
 		if (finalPrice < 1) {
 
-			this.price = 1;
-			return;
+			return 1;
 		}
 
-		this.price = finalPrice;
+		return finalPrice;
 	}
 
 	@Override
@@ -109,12 +131,12 @@ public abstract class Card implements Item {
 			return false;
 
 		Card card = (Card) obj;
-		return shape == card.shape && name.equals(card.name);
+		return this.code == card.code;
 	}
 
 	@Override
 	public int hashCode() {
 
-		return Objects.hash(name, shape);
+		return this.code;
 	}
 }
@@ -0,0 +1,99 @@
+package cardmaster.cards;
+
+import cardmaster.Shape;
+
+/**
+ * Flyweight-Pool für alle Karten, die nur aus Typ und Form bestehen ({@link Chance}, {@link Paar}, {@link Tripel},
+ * {@link Quadrupel}). Für jede Kombination gibt es genau eine unveränderliche Instanz, die von Stapeln und Händen
+ * geteilt wird. Der Preis einer Karte wird nicht in der Karte, sondern im {@link cardmaster.Shop} gespeichert.
+ * <p>
+ * Der Kartencode ist {@code typ.ordinal() * Shape.values().length + form.ordinal()} und passt in ein {@code byte}.
+ */
+public final class CardPool {
+
+    private static final Shape[] SHAPES = Shape.values();
+    private static final CardType[] TYPES = CardType.values();
+
+    private static final Card[] LEAVES = new Card[TYPES.length * SHAPES.length];
+
+    static {
+
+        for (Shape shape : SHAPES) {
+
+            LEAVES[code(CardType.CHANCE, shape)] = new Chance(shape);
+            LEAVES[code(CardType.PAAR, shape)] = new Paar(shape);
+            LEAVES[code(CardType.TRIPEL, shape)] = new Tripel(shape);
+            LEAVES[code(CardType.QUADRUPEL, shape)] = new Quadrupel(shape);
+        }
+    }
+
+    private CardPool() {
+    }
+
+    /**
+     * Liefert die geteilte Instanz für Typ und Form.
+     * 
+     * @param type  Ein Kartentyp ohne Unterkarten.
+     * @param shape Die Form der Karte.
+     * @return Die geteilte Karte.
+     * @throws IllegalArgumentException Wenn {@code type} {@link CardType#KOMBI} ist.
+     */
+    public static Card get(CardType type, Shape shape) {
+
+        if (!type.isLeaf()) {
+
+            throw new IllegalArgumentException("Card type has no shared instance: " + type);
+        }
+
+        return LEAVES[code(type, shape)];
+    }
+
+    /**
+     * Liefert die geteilte Instanz zu einem Kartencode.
+     * 
+     * @param code Ein Code aus {@link #code(CardType, Shape)}.
+     * @return Die geteilte Karte.
+     * @throws IllegalArgumentException Wenn der Code ungültig ist oder zu einer Kombi-Karte gehört.
+     */
+    public static Card fromCode(int code) {
+
+        if (code < 0 || code >= LEAVES.length || LEAVES[code] == null) {
+
+            throw new IllegalArgumentException("Invalid leaf card code: " + code);
+        }
+
+        return LEAVES[code];
+    }
+
+    /**
+     * Packt Typ und Form in einen Kartencode.
+     */
+    public static int code(CardType type, Shape shape) {
+
+        return type.ordinal() * SHAPES.length + shape.ordinal();
+    }
+
+    /**
+     * @return Der Kartentyp des Codes.
+     */
+    public static CardType typeOf(int code) {
+
+        return TYPES[code / SHAPES.length];
+    }
+
+    /**
+     * @return Die Form des Codes.
+     */
+    public static Shape shapeOf(int code) {
+
+        return SHAPES[code % SHAPES.length];
+    }
+
+    /**
+     * @return Die Anzahl aller möglichen Kartencodes, inklusive der Codes für Kombi-Karten.
+     */
+    public static int codeCount() {
+
+        return TYPES.length * SHAPES.length;
+    }
+}
@@ -0,0 +1,56 @@
+package cardmaster.cards;
+
+/**
+ * ENUMs für die Kartentypen. Zusammen mit der {@link cardmaster.Shape} ergibt der Typ den kompakten Kartencode
+ * ({@link Card#getCode()}).
+ */
+public enum CardType {
+
+    CHANCE("Chance"),
+    PAAR("Paar"),
+    TRIPEL("Tripel"),
+    QUADRUPEL("Quadrupel"),
+    KOMBI("Kombi");
+
+    private final String name;
+
+    CardType(String name) {
+
+        this.name = name;
+    }
+
+    /**
+     * @return Der Name der Karte. z.B.: Chance
+     */
+    public String getName() {
+
+        return this.name;
+    }
+
+    /**
+     * @return {@code true}, wenn Karten dieses Typs nur aus Typ und Form bestehen und daher geteilt werden können.
+     */
+    public boolean isLeaf() {
+
+        return this != KOMBI;
+    }
+
+    /**
+     * Sucht den Kartentyp zu einem Namen. Groß- und Kleinschreibung wird beachtet.
+     * 
+     * @param name Der Name, z.B. "Paar"
+     * @return Der Kartentyp oder {@code null}, wenn es keinen Typ mit diesem Namen gibt.
+     */
+    public static CardType fromName(String name) {
+
+        for (CardType type : values()) {
+
+            if (type.name.equals(name)) {
+
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
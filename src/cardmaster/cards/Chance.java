@@ -1,7 +1,7 @@
 package cardmaster.cards;
 
-import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
 
 /**
  * Eine Chance Karte
@@ -15,47 +15,13 @@ public class Chance extends Card {
      */
     public Chance(Shape shape) {
         
-        super(shape, "Chance");
+        super(shape, CardType.CHANCE);
     }
 
     @Override
-    public double calcCredits(DiscardPile[] discardPiles) {
+    public double calcCredits(TableState table) {
 
-        boolean hasCircle = false;
-        boolean hasStar = false;
-        boolean hasSquare = false;
-    
-        int nonEmptyPiles = 0;
-    
-        for (DiscardPile pile : discardPiles) {
-
-            if (!pile.isEmpty()) {
-            
-                nonEmptyPiles++; // Zähle nicht leere Stapel
-                Card topCard = pile.getTopCard();
-                Shape shape = topCard.getShape();
-    
-                // Prüfe die Form der Karte und setze entsprechende Booleans
-                if (shape == Shape.CIRCLE) {
-            
-                    hasCircle = true;
-                } else if (shape == Shape.STAR) {
-            
-                    hasStar = true;
-                } else if (shape == Shape.SQUARE) {
-            
-                    hasSquare = true;
-                }
-            }
-        }
-    
-        // Zähle, wie viele unterschiedliche Formen gefunden wurden
-        int uniqueShapes = 0;
-        if (hasCircle) uniqueShapes++;
-        if (hasStar) uniqueShapes++;
-        if (hasSquare) uniqueShapes++;
-    
-        double points = (0.5 * nonEmptyPiles) + (0.5 * uniqueShapes);
+        double points = (0.5 * table.getNonEmptyPiles()) + (0.5 * table.getUniqueShapes());
         return points;
     }
 }
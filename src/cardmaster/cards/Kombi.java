@@ -1,24 +1,38 @@
 package cardmaster.cards;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import cardmaster.CardFactory;
-import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
+import cardmaster.random.RandomSource;
 
 public class Kombi extends Card {
 
-    private Card cardOne;
-    private Card cardTwo;
+    private final Card cardOne;
+    private final Card cardTwo;
 
     /**
-     * Generiert eine Kombi Karte mit einer bestimmten Shape
+     * Generiert eine Kombi Karte mit einer bestimmten Shape. Die Unterkarten kommen aus einem neuen, zufällig
+     * gestarteten Generator.
      * 
      * @param shape Die Shape der neuen Karte
      */
     public Kombi(Shape shape) {
-        super(shape, "Kombi");
+        this(shape, RandomSource.seeded(ThreadLocalRandom.current().nextLong()));
+    }
 
-        this.cardOne = CardFactory.getDefaultFactory().createRandomByShape(shape);
-        this.cardTwo = CardFactory.getDefaultFactory().createRandomByShape(shape);
+    /**
+     * Generiert eine Kombi Karte mit einer bestimmten Shape
+     * 
+     * @param shape  Die Shape der neuen Karte
+     * @param random Der Zufallsgenerator für die Unterkarten
+     */
+    public Kombi(Shape shape, RandomSource random) {
+        super(shape, CardType.KOMBI);
+
+        this.cardOne = CardFactory.getDefaultFactory().createRandomByShape(shape, random);
+        this.cardTwo = CardFactory.getDefaultFactory().createRandomByShape(shape, random);
     }
 
     /**
@@ -28,23 +42,39 @@ public class Kombi extends Card {
      * @param cardTwo Die zweite Karte
      */
     public Kombi(Card cardOne, Card cardTwo) {
-        super(cardOne.getShape(), "Kombi");
+        super(cardOne.getShape(), CardType.KOMBI);
 
         this.cardOne = cardOne;
         this.cardTwo = cardTwo;
     }
 
     @Override
-    public double calcCredits(DiscardPile[] discardPiles) {
+    public double calcCredits(TableState table) {
         
         double credits = 0;
 
-        credits += cardOne.calcCredits(discardPiles);
-        credits += cardTwo.calcCredits(discardPiles);
+        credits += cardOne.calcCredits(table);
+        credits += cardTwo.calcCredits(table);
 
         return credits;
     }
 
+    /**
+     * @return Die erste Teilkarte
+     */
+    public Card getCardOne() {
+
+        return this.cardOne;
+    }
+
+    /**
+     * @return Die zweite Teilkarte
+     */
+    public Card getCardTwo() {
+
+        return this.cardTwo;
+    }
+
     @Override
     public String toString() {
 
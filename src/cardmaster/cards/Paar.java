@@ -1,7 +1,7 @@
 package cardmaster.cards;
 
-import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
 
 public class Paar extends Card {
 
@@ -12,19 +12,13 @@ public class Paar extends Card {
      */
     public Paar(Shape shape) {
 
-        super(shape, "Paar");
+        super(shape, CardType.PAAR);
     }
 
     @Override
-    public double calcCredits(DiscardPile[] discardPiles) {
+    public double calcCredits(TableState table) {
         
-        int countSameShape = 0;
-
-        for (DiscardPile pile : discardPiles) {
-            if (!pile.isEmpty() && pile.getTopCard().getShape() == this.getShape()) {
-                countSameShape++;
-            }
-        }
+        int countSameShape = table.getTopCount(this.getShape());
         return (countSameShape / 2) * 2; // Für jedes Paar 2 Punkte
     }
     
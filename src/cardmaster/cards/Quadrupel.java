@@ -1,7 +1,7 @@
 package cardmaster.cards;
 
-import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
 
 public class Quadrupel extends Card{
 
@@ -12,19 +12,13 @@ public class Quadrupel extends Card{
      */
     public Quadrupel(Shape shape) {
 
-        super(shape, "Quadrupel");
+        super(shape, CardType.QUADRUPEL);
     }
 
     @Override
-    public double calcCredits(DiscardPile[] discardPiles) {
+    public double calcCredits(TableState table) {
         
-        int countSameShape = 0;
-
-        for (DiscardPile pile : discardPiles) {
-            if (!pile.isEmpty() && pile.getTopCard().getShape() == this.getShape()) {
-                countSameShape++;
-            }
-        }
+        int countSameShape = table.getTopCount(this.getShape());
         return (countSameShape / 4) * 10; // Für jedes Paar 2 Punkte
     }
     
@@ -1,7 +1,7 @@
 package cardmaster.cards;
 
-import cardmaster.DiscardPile;
 import cardmaster.Shape;
+import cardmaster.TableState;
 
 public class Tripel extends Card {
 
@@ -12,20 +12,14 @@ public class Tripel extends Card {
      */
     public Tripel(Shape shape) {
         
-        super(shape, "Tripel");
+        super(shape, CardType.TRIPEL);
     }
 
     @Override
-    public double calcCredits(DiscardPile[] discardPiles) {
+    public double calcCredits(TableState table) {
         
-        int countSameShape = 0;
-
-        for (DiscardPile pile : discardPiles) {
-            if (!pile.isEmpty() && pile.getTopCard().getShape() == this.getShape()) {
-                countSameShape++;
-            }
-        }
-        return (countSameShape / 3) * 5; 
+        int countSameShape = table.getTopCount(this.getShape());
+        return (countSameShape / 3) * 5;
     }
     
 }
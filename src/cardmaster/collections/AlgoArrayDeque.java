@@ -0,0 +1,509 @@
+package cardmaster.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Diese Klasse liefert eine Deque auf Basis eines Ringpuffers. Hinzufuegen und Entfernen an beiden Enden laeuft in
+ * O(1), Loeschen in der Mitte verschiebt nur die kuerzere Seite und laeuft damit in O(min(i, n - i)). Die Klasse wird
+ * von {@link cardmaster.DrawPile} und {@link cardmaster.Hand} verwendet.
+ *
+ * @param <T> Der Typ der gespeicherten Items.
+ */
+public class AlgoArrayDeque<T> implements Iterable<T> {
+
+	private static final int DEFAULT_SIZE = 16;
+	private static final int MAX_ARRAY_SIZE = 1 << 30;
+
+	private Object[] data;
+	private int head;
+	private int currentSize;
+
+	/**
+	 * {@code true}, solange sich diese Deque den Ringpuffer mit einer Kopie aus {@link #copy()} teilt.
+	 */
+	private boolean shared;
+
+	public AlgoArrayDeque() {
+
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Erstellt eine neue AlgoArrayDeque. Die Groesse wird auf die naechste Zweierpotenz aufgerundet.
+	 *
+	 * @param size Die Anfangsgroesse des Ringpuffers.
+	 */
+	public AlgoArrayDeque(int size) {
+
+		if (size < 0) {
+
+			throw new IllegalArgumentException("Invalid argument: size must not be negative, received: " + size);
+		}
+
+		this.data = new Object[AlgoArrayDeque.capacityFor(size)];
+	}
+
+	private AlgoArrayDeque(AlgoArrayDeque<T> source) {
+
+		this.data = source.data;
+		this.head = source.head;
+		this.currentSize = source.currentSize;
+		this.shared = true;
+	}
+
+	/**
+	 * Erstellt eine Kopie der Deque in O(1). Beide Deques teilen sich den Ringpuffer, bis eine von beiden veraendert
+	 * wird (copy-on-write). Die Items selbst werden nicht kopiert.
+	 *
+	 * @return Die Kopie.
+	 */
+	public AlgoArrayDeque<T> copy() {
+
+		this.shared = true;
+		return new AlgoArrayDeque<>(this);
+	}
+
+	/**
+	 * Uebernimmt den Inhalt von {@code source} in O(1) wie {@link #copy()}, aber ohne ein neues Objekt anzulegen.
+	 *
+	 * @param source Die Deque, deren Inhalt uebernommen wird.
+	 */
+	public void copyFrom(AlgoArrayDeque<? extends T> source) {
+
+		source.shared = true;
+		this.data = source.data;
+		this.head = source.head;
+		this.currentSize = source.currentSize;
+		this.shared = true;
+	}
+
+	/**
+	 * Fuegt ein Item am Anfang der Deque hinzu.
+	 *
+	 * @param newItem Das neue Item.
+	 */
+	public void addFirst(T newItem) {
+
+		if (this.currentSize == this.data.length) {
+
+			this.grow();
+		}
+
+		this.unshare();
+		this.head = (this.head - 1) & (this.data.length - 1);
+		this.data[this.head] = newItem;
+		this.currentSize++;
+	}
+
+	/**
+	 * Fuegt ein Item am Ende der Deque hinzu.
+	 *
+	 * @param newItem Das neue Item.
+	 */
+	public void addLast(T newItem) {
+
+		if (this.currentSize == this.data.length) {
+
+			this.grow();
+		}
+
+		this.unshare();
+		this.data[this.physicalIndex(this.currentSize)] = newItem;
+		this.currentSize++;
+	}
+
+	/**
+	 * Fuegt ein Item am Ende der Deque hinzu. Gleichbedeutend mit {@link #addLast(Object)}.
+	 *
+	 * @param newItem Das neue Item.
+	 */
+	public void add(T newItem) {
+
+		this.addLast(newItem);
+	}
+
+	/**
+	 * Entfernt das erste Item und gibt es zurueck.
+	 *
+	 * @return Das erste Item.
+	 * @throws NoSuchElementException Wenn die Deque leer ist.
+	 */
+	@SuppressWarnings("unchecked")
+	public T removeFirst() {
+
+		if (this.currentSize == 0) {
+
+			throw new NoSuchElementException();
+		}
+
+		this.unshare();
+		T item = (T) this.data[this.head];
+		this.data[this.head] = null;
+		this.head = (this.head + 1) & (this.data.length - 1);
+		this.currentSize--;
+
+		return item;
+	}
+
+	/**
+	 * Entfernt das letzte Item und gibt es zurueck.
+	 *
+	 * @return Das letzte Item.
+	 * @throws NoSuchElementException Wenn die Deque leer ist.
+	 */
+	@SuppressWarnings("unchecked")
+	public T removeLast() {
+
+		if (this.currentSize == 0) {
+
+			throw new NoSuchElementException();
+		}
+
+		this.unshare();
+		int last = this.physicalIndex(--this.currentSize);
+		T item = (T) this.data[last];
+		this.data[last] = null;
+
+		return item;
+	}
+
+	/**
+	 * @return Das erste Item, ohne es zu entfernen.
+	 * @throws NoSuchElementException Wenn die Deque leer ist.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getFirst() {
+
+		if (this.currentSize == 0) {
+
+			throw new NoSuchElementException();
+		}
+
+		return (T) this.data[this.head];
+	}
+
+	/**
+	 * @return Das letzte Item, ohne es zu entfernen.
+	 * @throws NoSuchElementException Wenn die Deque leer ist.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getLast() {
+
+		if (this.currentSize == 0) {
+
+			throw new NoSuchElementException();
+		}
+
+		return (T) this.data[this.physicalIndex(this.currentSize - 1)];
+	}
+
+	/**
+	 * Gibt ein Item an dem uebergebenen Index zurueck. Index {@code 0} ist das erste Item.
+	 *
+	 * @param index Der uebergebene Index.
+	 * @return Das Item an dem uebergebenen Index.
+	 * @throws IndexOutOfBoundsException Wenn der Index nicht in der Deque liegt.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getItemAtIndex(int index) {
+
+		if (index >= this.currentSize || index < 0) {
+
+			throw new IndexOutOfBoundsException();
+		}
+
+		return (T) this.data[this.physicalIndex(index)];
+	}
+
+	/**
+	 * Ueberschreibt das Item an dem uebergebenen Index.
+	 *
+	 * @param index Der Index aus dem Intervall {@code [0, size())}.
+	 * @param item Das neue Item.
+	 * @return Das vorherige Item an dem Index.
+	 * @throws IndexOutOfBoundsException Wenn der Index nicht in der Deque liegt.
+	 */
+	@SuppressWarnings("unchecked")
+	public T set(int index, T item) {
+
+		if (index >= this.currentSize || index < 0) {
+
+			throw new IndexOutOfBoundsException();
+		}
+
+		this.unshare();
+		int target = this.physicalIndex(index);
+		T previous = (T) this.data[target];
+		this.data[target] = item;
+
+		return previous;
+	}
+
+	/**
+	 * Gibt den aktuellen Fuellstand zurueck.
+	 */
+	public int size() {
+
+		return this.currentSize;
+	}
+
+	/**
+	 * @return {@code true}, wenn die Deque leer ist.
+	 */
+	public boolean isEmpty() {
+
+		return this.currentSize == 0;
+	}
+
+	/**
+	 * Loescht ein Item aus der Deque.
+	 *
+	 * @param item Das Item, das geloescht werden soll.
+	 * @return Gibt {@code true} zurueck, wenn das Item erfolgreich geloescht wurde, sonst {@code false}.
+	 */
+	public boolean delete(Object item) {
+
+		return this.delete(this.getIndexFromItem(item));
+	}
+
+	/**
+	 * Loescht das Item an dem uebergebenen Index. Es wird nur die kuerzere Seite der Deque verschoben.
+	 *
+	 * @param index Der Index des Item, das geloescht werden soll.
+	 * @return Gibt {@code true} zurueck, wenn das Item erfolgreich geloescht wurde. Gibt {@code false} zurueck, wenn
+	 *         der Index nicht in der Deque liegt.
+	 */
+	public boolean delete(int index) {
+
+		if (index < 0 || index >= this.currentSize) {
+
+			return false;
+		}
+
+		this.unshare();
+		int mask = this.data.length - 1;
+
+		if (index < this.currentSize / 2) {
+
+			// Vordere Seite um eins nach hinten schieben
+			for (int i = index; i > 0; i--) {
+
+				this.data[(this.head + i) & mask] = this.data[(this.head + i - 1) & mask];
+			}
+			this.data[this.head] = null;
+			this.head = (this.head + 1) & mask;
+		} else {
+
+			// Hintere Seite um eins nach vorne schieben
+			for (int i = index; i < this.currentSize - 1; i++) {
+
+				this.data[(this.head + i) & mask] = this.data[(this.head + i + 1) & mask];
+			}
+			this.data[(this.head + this.currentSize - 1) & mask] = null;
+		}
+
+		this.currentSize--;
+		return true;
+	}
+
+	/**
+	 * Entfernt das Item an dem uebergebenen Index in O(1), indem das letzte Item an seine Stelle rueckt. Die
+	 * Reihenfolge der uebrigen Items bleibt dabei nicht erhalten.
+	 *
+	 * @param index Der Index des Items, das entfernt werden soll.
+	 * @return Das entfernte Item.
+	 * @throws IndexOutOfBoundsException Wenn der Index nicht in der Deque liegt.
+	 */
+	@SuppressWarnings("unchecked")
+	public T removeSwapped(int index) {
+
+		if (index >= this.currentSize || index < 0) {
+
+			throw new IndexOutOfBoundsException();
+		}
+
+		this.unshare();
+		int target = this.physicalIndex(index);
+		int last = this.physicalIndex(--this.currentSize);
+
+		T item = (T) this.data[target];
+		this.data[target] = this.data[last];
+		this.data[last] = null;
+
+		return item;
+	}
+
+	/**
+	 * Liefert den Index eines Items in der Deque zurueck.
+	 *
+	 * @param item Das gesuchte Item.
+	 * @return Den Index des Items oder {@code -1}, wenn es nicht in der Deque ist.
+	 */
+	public int getIndexFromItem(Object item) {
+
+		for (int i = 0; i < this.currentSize; i++) {
+
+			if (this.data[this.physicalIndex(i)].equals(item)) {
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Loescht alle Elemente aus der Deque.
+	 */
+	public void clear() {
+
+		if (this.shared) {
+
+			this.data = new Object[this.data.length];
+			this.shared = false;
+		} else {
+
+			int mask = this.data.length - 1;
+
+			for (int i = 0; i < this.currentSize; i++) {
+
+				this.data[(this.head + i) & mask] = null;
+			}
+		}
+
+		this.head = 0;
+		this.currentSize = 0;
+	}
+
+	/**
+	 * Erstellt ein Object Array in der Reihenfolge der Deque. Das gelieferte Array ist eine Kopie.
+	 *
+	 * @return Eine Array representation der Deque
+	 */
+	public Object[] toArray() {
+
+		Object[] temp = new Object[this.currentSize];
+		this.copyTo(temp);
+
+		return temp;
+	}
+
+	/**
+	 * Mischt die Deque in einer zufaelligen Reihenfolge
+	 */
+	void shuffle() {
+
+		this.shuffle(ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Mischt die Deque mit dem uebergebenen Zufallsgenerator
+	 * 
+	 * @param random Der Zufallsgenerator
+	 */
+	void shuffle(RandomGenerator random) {
+
+		this.unshare();
+		int mask = this.data.length - 1;
+
+		for (int i = this.currentSize - 1; i > 0; i--) {
+
+			int a = (this.head + i) & mask;
+			int b = (this.head + random.nextInt(i + 1)) & mask;
+
+			Object temp = this.data[a];
+			this.data[a] = this.data[b];
+			this.data[b] = temp;
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+
+		return new Iterator<T>() {
+
+			private int currentIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+
+				return this.currentIndex < currentSize;
+			}
+
+			@Override
+			public T next() {
+
+				if (!this.hasNext()) {
+
+					throw new NoSuchElementException();
+				}
+
+				return getItemAtIndex(this.currentIndex++);
+			}
+		};
+	}
+
+	private int physicalIndex(int index) {
+
+		return (this.head + index) & (this.data.length - 1);
+	}
+
+	/**
+	 * Verdoppelt den Ringpuffer und legt die Items dabei wieder ab Index {@code 0} ab.
+	 */
+	private void grow() {
+
+		if (this.data.length >= MAX_ARRAY_SIZE) {
+
+			throw new OutOfMemoryError("Deque too large");
+		}
+
+		Object[] temp = new Object[this.data.length << 1];
+		this.copyTo(temp);
+
+		this.data = temp;
+		this.head = 0;
+		this.shared = false;
+	}
+
+	/**
+	 * Kopiert den geteilten Ringpuffer vor dem ersten Schreibzugriff.
+	 */
+	private void unshare() {
+
+		if (this.shared) {
+
+			this.data = this.data.clone();
+			this.shared = false;
+		}
+	}
+
+	/**
+	 * Kopiert die Items in Reihenfolge der Deque mit hoechstens zwei {@code arraycopy}-Aufrufen.
+	 */
+	private void copyTo(Object[] target) {
+
+		int firstPart = Math.min(this.currentSize, this.data.length - this.head);
+
+		System.arraycopy(this.data, this.head, target, 0, firstPart);
+		System.arraycopy(this.data, 0, target, firstPart, this.currentSize - firstPart);
+	}
+
+	private static int capacityFor(int size) {
+
+		if (size <= 1) {
+
+			return 1;
+		}
+
+		if (size >= MAX_ARRAY_SIZE) {
+
+			return MAX_ARRAY_SIZE;
+		}
+
+		return Integer.highestOneBit(size - 1) << 1;
+	}
+}
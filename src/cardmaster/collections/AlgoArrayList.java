@@ -1,9 +1,18 @@
 package cardmaster.collections;
 
-import java.util.Random;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import cardmaster.interfaces.Item;
 
@@ -17,8 +26,29 @@ import cardmaster.interfaces.Item;
 
 public class AlgoArrayList<T> implements Iterable<T> {
 	
+	/**
+	 * Standardfaktor, um den das interne Array waechst, wenn es voll ist.
+	 */
+	public static final double DEFAULT_GROWTH_FACTOR = 1.5;
+
+	/**
+	 * Obergrenze fuer die Arraygroesse. Manche VMs reservieren ein paar Header-Woerter im Array.
+	 */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
 	private int currentSize;
 	private Object[] data;
+	private final double growthFactor;
+
+	/**
+	 * Zaehlt strukturelle Aenderungen, damit Iteratoren und Spliteratoren gleichzeitige Aenderungen erkennen.
+	 */
+	private int modCount;
+
+	/**
+	 * {@code true}, solange sich diese Liste das interne Array mit einer Kopie aus {@link #copy()} teilt.
+	 */
+	private boolean shared;
 	
 	public AlgoArrayList() {
 
@@ -26,15 +56,47 @@ public class AlgoArrayList<T> implements Iterable<T> {
 	}
 	
 	/**
-	 * Erstelle eine neue AlgoArrayList mit der groesse 4.
+	 * Erstelle eine neue AlgoArrayList mit der uebergebenen Anfangsgroesse.
 	 */
 	public AlgoArrayList(int size) {
 		
+		this(size, DEFAULT_GROWTH_FACTOR);
+	}
+
+	/**
+	 * Erstelle eine neue AlgoArrayList mit der uebergebenen Anfangsgroesse und Wachstumsfaktor.
+	 * 
+	 * @param size Die Anfangsgroesse des internen Arrays.
+	 * @param growthFactor Der Faktor, um den das interne Array beim Vergroessern waechst. Muss groesser als {@code 1} sein.
+	 */
+	public AlgoArrayList(int size, double growthFactor) {
+
+		if (size < 0) {
+
+			throw new IllegalArgumentException("Invalid argument: size must not be negative, received: " + size);
+		}
+
+		if (!(growthFactor > 1.0)) {
+
+			throw new IllegalArgumentException(
+					"Invalid argument: growthFactor must be greater than 1, received: " + growthFactor);
+		}
+
 		this.data = new Object[size];
+		this.growthFactor = growthFactor;
+	}
+
+	private AlgoArrayList(AlgoArrayList<T> source) {
+
+		this.data = source.data;
+		this.currentSize = source.currentSize;
+		this.growthFactor = source.growthFactor;
+		this.shared = true;
 	}
 	
 	/**
-	 * Fuegt ein neues Item in die ArrayList hinzu. Falls das Array bereits voll ist, wird das Array um 1 erweitert
+	 * Fuegt ein neues Item in die ArrayList hinzu. Falls das Array bereits voll ist, wird das Array um den
+	 * Wachstumsfaktor vergroessert, sodass das Hinzufuegen amortisiert in O(1) laeuft.
 	 * 
 	 * @param newItem Das Item, das neu in die ArrayList hinzugefuegt wird.
 	 */
@@ -42,19 +104,102 @@ public class AlgoArrayList<T> implements Iterable<T> {
 		
 		if (this.currentSize == this.data.length) {
 			
-			Object[] temp = new Object[this.data.length + 1];
-			
-			for (int i = 0; i < this.data.length; i++) {
-				
-				temp[i] = this.data[i];
-			}
-
-			this.data = temp;
+			this.grow(this.currentSize + 1);
 		}
 		
+		this.unshare();
+		this.modCount++;
 		this.data[this.currentSize++] = newItem;
 	}
 
+	/**
+	 * Fuegt einen Ausschnitt aus einem Array mit einer einzigen Kopie hinzu.
+	 * 
+	 * @param items Das Array, aus dem kopiert wird.
+	 * @param off Der erste Index in {@code items}, der kopiert wird.
+	 * @param len Die Anzahl der Items, die kopiert werden.
+	 */
+	public void addAll(T[] items, int off, int len) {
+
+		Objects.checkFromIndexSize(off, len, items.length);
+
+		this.ensureCapacity(this.currentSize + len);
+		this.unshare();
+		System.arraycopy(items, off, this.data, this.currentSize, len);
+		this.modCount++;
+		this.currentSize += len;
+	}
+
+	/**
+	 * Fuegt alle Items einer anderen AlgoArrayList mit einer einzigen Kopie hinzu.
+	 * 
+	 * @param items Die AlgoArrayList, deren Items angehaengt werden.
+	 */
+	public void addAll(AlgoArrayList<? extends T> items) {
+
+		int len = items.currentSize;
+
+		this.ensureCapacity(this.currentSize + len);
+		this.unshare();
+		System.arraycopy(items.data, 0, this.data, this.currentSize, len);
+		this.modCount++;
+		this.currentSize += len;
+	}
+
+	/**
+	 * Stellt sicher, dass mindestens {@code minCapacity} Items ohne weiteres Vergroessern Platz haben.
+	 * 
+	 * @param minCapacity Die gewuenschte Mindestgroesse des internen Arrays.
+	 */
+	public void ensureCapacity(int minCapacity) {
+
+		if (minCapacity > this.data.length) {
+
+			this.grow(minCapacity);
+		}
+	}
+
+	/**
+	 * Verkleinert das interne Array auf den aktuellen Fuellstand, z.B. um nach einer Runde Speicher freizugeben.
+	 */
+	public void trimToSize() {
+
+		if (this.currentSize < this.data.length) {
+
+			this.data = Arrays.copyOf(this.data, this.currentSize);
+			this.shared = false;
+		}
+	}
+
+	/**
+	 * Vergroessert das interne Array um den Wachstumsfaktor, mindestens aber auf {@code minCapacity}.
+	 */
+	private void grow(int minCapacity) {
+
+		if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+
+			throw new OutOfMemoryError("Required array length too large: " + minCapacity);
+		}
+
+		long grown = (long) (this.data.length * this.growthFactor);
+		int newCapacity = (int) Math.min(Math.max(grown, minCapacity), MAX_ARRAY_SIZE);
+
+		this.data = Arrays.copyOf(this.data, newCapacity);
+		this.shared = false;
+	}
+
+	/**
+	 * Kopiert das geteilte Array vor dem ersten Schreibzugriff.
+	 */
+	private void unshare() {
+
+		if (this.shared) {
+
+			this.data = Arrays.copyOf(this.data, this.data.length);
+			this.shared = false;
+		}
+	}
+
 	/**
 	 * Gibt ein Item an dem uebergebenen Index zurueck.
 	 * 
@@ -100,22 +245,20 @@ public class AlgoArrayList<T> implements Iterable<T> {
 	 * @param index Der Index des Item, das geloescht werden soll.
 	 * @return Gibt {@code true} zurueck, wenn das Item erfolgreich geloescht wurde. 
 	 * 			Gibt {@code false} zurueck, wenn das Item nicht geloescht wurden konnte. Dies tritt auf, wenn
-	 * 			das Item nicht in der ArrayList ist.
+	 * 			der Index nicht in der ArrayList liegt.
 	 */
 	public boolean delete(int index) {
 		
-		if (index < 0) {
+		if (index < 0 || index >= this.currentSize) {
 			
 			return false;
 		}
 		
-		for (int i = index; i < this.data.length - 1; i++) {
-			
-			this.data[i] = this.data[i + 1];
-		}
-		this.data[this.data.length - 1] = null;
+		this.unshare();
+		System.arraycopy(this.data, index + 1, this.data, index, this.currentSize - index - 1);
+		this.data[--this.currentSize] = null;
+		this.modCount++;
 		
-		this.currentSize--;
 		return true;
 	}
 	
@@ -139,18 +282,29 @@ public class AlgoArrayList<T> implements Iterable<T> {
 	}
 
 	public void addAll(Collection<? extends T> items) {
+
+		this.ensureCapacity(this.currentSize + items.size());
 		for (T item : items) {
 			add(item);
 		}
 	}
 
 	/**
-	 * Loescht alle Elemente aus der ArrayList
+	 * Loescht alle Elemente aus der ArrayList. Ein nicht geteiltes Array wird wiederverwendet.
 	 */
 	public void clear() {
 
-		this.data = new Object[this.data.length];
+		if (this.shared) {
+
+			this.data = new Object[this.data.length];
+			this.shared = false;
+		} else {
+
+			Arrays.fill(this.data, 0, this.currentSize, null);
+		}
+
 		this.currentSize = 0;
+		this.modCount++;
 	}
 
 	/**
@@ -160,46 +314,171 @@ public class AlgoArrayList<T> implements Iterable<T> {
 	 */
 	public Object[] toArray() {
 
-		Object[] temp = new Object[this.currentSize];
-		
-		for (int i = 0; i < this.data.length; i++) {
+		return Arrays.copyOf(this.data, this.currentSize);
+	}
+
+	/**
+	 * Erstellt eine Kopie der Liste in O(1). Beide Listen teilen sich das interne Array, bis eine von beiden
+	 * veraendert wird (copy-on-write). Die Items selbst werden nicht kopiert.
+	 * 
+	 * @return Die Kopie.
+	 */
+	public AlgoArrayList<T> copy() {
+
+		this.shared = true;
+		return new AlgoArrayList<>(this);
+	}
+
+	/**
+	 * Uebernimmt den Inhalt von {@code source} in O(1) wie {@link #copy()}, aber ohne ein neues Objekt anzulegen.
+	 * 
+	 * @param source Die Liste, deren Inhalt uebernommen wird.
+	 */
+	public void copyFrom(AlgoArrayList<? extends T> source) {
+
+		source.shared = true;
+		this.data = source.data;
+		this.currentSize = source.currentSize;
+		this.shared = true;
+		this.modCount++;
+	}
+
+	/**
+	 * Sortiert das interne Array stabil nach der natuerlichen Ordnung der Items. Die Items muessen
+	 * {@link Comparable} implementieren.
+	 * 
+	 * @see #sort(Comparator)
+	 */
+	public void sort() {
+
+		this.sort(null);
+	}
+
+	/**
+	 * Sortiert das interne Array stabil mit einem Mergesort in O(n log n). Kurze Teilstuecke werden mit
+	 * Insertionsort sortiert und bereits sortierte Haelften werden nicht erneut gemischt, sodass eine schon
+	 * sortierte Liste in O(n) geprueft ist.
+	 * 
+	 * @param comparator Die Ordnung, nach der sortiert wird. Bei {@code null} wird die natuerliche Ordnung verwendet.
+	 */
+	public void sort(Comparator<? super T> comparator) {
+
+		if (this.currentSize < 2) {
+
+			return;
+		}
+
+		Comparator<Object> cmp = AlgoArrayList.comparatorOf(comparator);
+		Object[] aux = new Object[this.currentSize];
+
+		this.unshare();
+		AlgoArrayList.mergeSort(this.data, aux, 0, this.currentSize, cmp);
+		this.modCount++;
+	}
+
+	/**
+	 * Fuegt ein Item in eine bereits sortierte Liste ein. Die Einfuegestelle wird per Binaersuche bestimmt und liegt
+	 * hinter allen gleichen Items, damit die Reihenfolge stabil bleibt.
+	 * 
+	 * @param item Das neue Item.
+	 * @param comparator Die Ordnung, nach der die Liste sortiert ist. Bei {@code null} wird die natuerliche Ordnung
+	 *                   verwendet.
+	 * @return Der Index, an dem das Item eingefuegt wurde.
+	 */
+	public int insertSorted(T item, Comparator<? super T> comparator) {
+
+		Comparator<Object> cmp = AlgoArrayList.comparatorOf(comparator);
 
-			if (this.data[i] != null) {
+		int low = 0;
+		int high = this.currentSize;
 
-				temp[i] = this.data[i];
+		while (low < high) {
+
+			int mid = (low + high) >>> 1;
+
+			if (cmp.compare(this.data[mid], item) <= 0) {
+
+				low = mid + 1;
+			} else {
+
+				high = mid;
 			}
 		}
 
-		return temp;
+		if (this.currentSize == this.data.length) {
+
+			this.grow(this.currentSize + 1);
+		}
+
+		this.unshare();
+		System.arraycopy(this.data, low, this.data, low + 1, this.currentSize - low);
+		this.data[low] = item;
+		this.currentSize++;
+		this.modCount++;
+
+		return low;
 	}
 
 	/**
-	 * Sortiert das interne Array mit dem Bubblesort algortimus
+	 * Ab dieser Laenge sortiert {@link #mergeSort} mit Insertionsort.
 	 */
-	@SuppressWarnings("unchecked")
-	public void sort() {
-		boolean swapped;
+	private static final int INSERTION_SORT_THRESHOLD = 16;
 
-		for (int i = 0; i < currentSize - 1; i++) {
+	/**
+	 * Sortiert {@code a[from, to)} stabil. {@code aux} muss mindestens {@code to} Plaetze haben.
+	 */
+	private static void mergeSort(Object[] a, Object[] aux, int from, int to, Comparator<Object> cmp) {
 
-			swapped = false;
-			for (int j = 0; j < currentSize - 1 - i; j++) {
+		if (to - from <= INSERTION_SORT_THRESHOLD) {
 
-				Comparable<T> current = (Comparable<T>) this.data[j];
-				T next = (T) this.data[j + 1];
-			
-				if (current.compareTo(next) > 0) {
+			for (int i = from + 1; i < to; i++) {
+
+				Object current = a[i];
+				int j = i - 1;
 
+				while (j >= from && cmp.compare(a[j], current) > 0) {
 
-					T temp = (T) this.data[j];
-					this.data[j] = this.data[j + 1];
-					this.data[j + 1] = temp;
-					swapped = true;
+					a[j + 1] = a[j];
+					j--;
 				}
+				a[j + 1] = current;
 			}
+			return;
+		}
+
+		int mid = (from + to) >>> 1;
+
+		mergeSort(a, aux, from, mid, cmp);
+		mergeSort(a, aux, mid, to, cmp);
+
+		if (cmp.compare(a[mid - 1], a[mid]) <= 0) {
+
+			return; // Beide Haelften liegen schon richtig
+		}
+
+		System.arraycopy(a, from, aux, from, mid - from);
+
+		int left = from;
+		int right = mid;
+		int out = from;
+
+		while (left < mid && right < to) {
+
+			a[out++] = cmp.compare(a[right], aux[left]) < 0 ? a[right++] : aux[left++];
+		}
+
+		System.arraycopy(aux, left, a, out, mid - left);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparator<Object> comparatorOf(Comparator<?> comparator) {
 
-			if (!swapped) break; // Keine Änderungen, also abbruch der Schleife
+		if (comparator == null) {
+
+			return (a, b) -> ((Comparable<Object>) a).compareTo(b);
 		}
+
+		return (Comparator<Object>) comparator;
 	}
 	
 	/**
@@ -207,9 +486,19 @@ public class AlgoArrayList<T> implements Iterable<T> {
 	 */
 	void shuffle() {
 
+		this.shuffle(ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Mischt das interne Array mit dem übergebenen Zufallsgenerator
+	 * 
+	 * @param random Der Zufallsgenerator
+	 */
+	void shuffle(RandomGenerator random) {
+
 		int index;
         Object temp;
-        Random random = new Random();
+        this.unshare();
         for (int i = this.currentSize - 1; i > 0; i--) {
             index = random.nextInt(i + 1);
             temp = this.data[index];
@@ -217,27 +506,171 @@ public class AlgoArrayList<T> implements Iterable<T> {
             this.data[i] = temp;
         }
 
+		this.modCount++;
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Liefert einen Iterator ueber alle Items. Der Iterator ist fail-fast: Wird die Liste waehrend der Iteration
+	 * strukturell veraendert, wird eine {@link ConcurrentModificationException} geworfen.
+	 */
 	@Override
-    public Iterator<T> iterator() {
-        return new Iterator<T>() {
-            private int currentIndex = 0;
+	public Iterator<T> iterator() {
+
+		return new Iterator<T>() {
+
+			private int currentIndex = 0;
+			private final int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
 
-            @Override
-            public boolean hasNext() {
-                return currentIndex < currentSize && data[currentIndex] != null;
-            }
+				return this.currentIndex < currentSize;
+			}
 
-            
+			@SuppressWarnings("unchecked")
 			@Override
-            public T next() {
-                if (!hasNext()) {
-                    throw new NoSuchElementException();
-                }
-                return (T)data[currentIndex++];
-            }
-        };
+			public T next() {
+
+				if (modCount != this.expectedModCount) {
+
+					throw new ConcurrentModificationException();
+				}
+
+				if (this.currentIndex >= currentSize) {
+
+					throw new NoSuchElementException();
+				}
+
+				return (T) data[this.currentIndex++];
+			}
+		};
+	}
+
+	/**
+	 * Liefert einen fail-fast Spliterator, der sich in gleich grosse Haelften teilen laesst.
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+
+		return new AlgoSpliterator(0, -1, 0);
+	}
+
+	/**
+	 * @return Einen sequenziellen Stream ueber alle Items.
+	 */
+	public Stream<T> stream() {
+
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+
+	/**
+	 * @return Einen parallelen Stream ueber alle Items, der im Fork-Join-Pool abgearbeitet wird.
+	 */
+	public Stream<T> parallelStream() {
+
+		return StreamSupport.stream(this.spliterator(), true);
+	}
+
+	/**
+	 * Spliterator ueber einen Bereich {@code [index, fence)} des internen Arrays. Die Grenze wird erst beim ersten
+	 * Zugriff festgelegt, damit Aenderungen bis dahin noch gesehen werden.
+	 */
+	private final class AlgoSpliterator implements Spliterator<T> {
+
+		private int index;
+		private int fence; // -1 bis zur ersten Verwendung
+		private int expectedModCount;
+
+		AlgoSpliterator(int origin, int fence, int expectedModCount) {
+
+			this.index = origin;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		private int getFence() {
+
+			if (this.fence < 0) {
+
+				this.expectedModCount = modCount;
+				this.fence = currentSize;
+			}
+
+			return this.fence;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+
+			int hi = this.getFence();
+			int lo = this.index;
+			int mid = (lo + hi) >>> 1;
+
+			if (lo >= mid) {
+
+				return null;
+			}
+
+			this.index = mid;
+			return new AlgoSpliterator(lo, mid, this.expectedModCount);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+
+			Objects.requireNonNull(action);
+
+			int hi = this.getFence();
+			int i = this.index;
+
+			if (i >= hi) {
+
+				return false;
+			}
+
+			this.index = i + 1;
+			action.accept((T) data[i]);
+
+			if (modCount != this.expectedModCount) {
+
+				throw new ConcurrentModificationException();
+			}
+
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+
+			Objects.requireNonNull(action);
+
+			int hi = this.getFence();
+			Object[] items = data;
+
+			for (int i = this.index; i < hi; i++) {
+
+				action.accept((T) items[i]);
+			}
+			this.index = hi;
+
+			if (modCount != this.expectedModCount) {
+
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+
+			return this.getFence() - this.index;
+		}
+
+		@Override
+		public int characteristics() {
+
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
 	}
 }
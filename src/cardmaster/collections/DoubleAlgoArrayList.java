@@ -0,0 +1,286 @@
+package cardmaster.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Eine dynamische ArrayList fuer {@code double}-Werte. Die Werte liegen ohne Boxing in einem flachen Array, z.B. fuer
+ * Punktetabellen, Histogramme oder Ergebnisse von Simulationen. Die Methoden entsprechen denen von
+ * {@link AlgoArrayList}.
+ */
+public class DoubleAlgoArrayList {
+
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	private int currentSize;
+	private double[] data;
+	private final double growthFactor;
+
+	/**
+	 * {@code true}, solange sich diese Liste das interne Array mit einer Kopie aus {@link #copy()} teilt.
+	 */
+	private boolean shared;
+
+	public DoubleAlgoArrayList() {
+
+		this(16);
+	}
+
+	/**
+	 * Erstelle eine neue DoubleAlgoArrayList mit der uebergebenen Anfangsgroesse.
+	 */
+	public DoubleAlgoArrayList(int size) {
+
+		this(size, AlgoArrayList.DEFAULT_GROWTH_FACTOR);
+	}
+
+	/**
+	 * Erstelle eine neue DoubleAlgoArrayList mit der uebergebenen Anfangsgroesse und Wachstumsfaktor.
+	 * 
+	 * @param size Die Anfangsgroesse des internen Arrays.
+	 * @param growthFactor Der Faktor, um den das interne Array beim Vergroessern waechst. Muss groesser als {@code 1} sein.
+	 */
+	public DoubleAlgoArrayList(int size, double growthFactor) {
+
+		if (size < 0) {
+
+			throw new IllegalArgumentException("Invalid argument: size must not be negative, received: " + size);
+		}
+
+		if (!(growthFactor > 1.0)) {
+
+			throw new IllegalArgumentException(
+					"Invalid argument: growthFactor must be greater than 1, received: " + growthFactor);
+		}
+
+		this.data = new double[size];
+		this.growthFactor = growthFactor;
+	}
+
+	private DoubleAlgoArrayList(DoubleAlgoArrayList source) {
+
+		this.data = source.data;
+		this.currentSize = source.currentSize;
+		this.growthFactor = source.growthFactor;
+		this.shared = true;
+	}
+
+	/**
+	 * Fuegt einen neuen Wert am Ende hinzu.
+	 * 
+	 * @param value Der neue Wert.
+	 */
+	public void add(double value) {
+
+		if (this.currentSize == this.data.length) {
+
+			this.grow(this.currentSize + 1);
+		}
+
+		this.unshare();
+		this.data[this.currentSize++] = value;
+	}
+
+	/**
+	 * Fuegt einen Ausschnitt aus einem Array mit einer einzigen Kopie hinzu.
+	 * 
+	 * @param values Das Array, aus dem kopiert wird.
+	 * @param off Der erste Index in {@code values}, der kopiert wird.
+	 * @param len Die Anzahl der Werte, die kopiert werden.
+	 */
+	public void addAll(double[] values, int off, int len) {
+
+		Objects.checkFromIndexSize(off, len, values.length);
+
+		this.ensureCapacity(this.currentSize + len);
+		this.unshare();
+		System.arraycopy(values, off, this.data, this.currentSize, len);
+		this.currentSize += len;
+	}
+
+	/**
+	 * Fuegt alle Werte einer anderen Liste mit einer einzigen Kopie hinzu.
+	 */
+	public void addAll(DoubleAlgoArrayList values) {
+
+		this.addAll(values.data, 0, values.currentSize);
+	}
+
+	/**
+	 * Gibt den Wert an dem uebergebenen Index zurueck.
+	 * 
+	 * @throws IndexOutOfBoundsException Wenn der Index nicht in der Liste liegt.
+	 */
+	public double getItemAtIndex(int index) {
+
+		if (index >= this.currentSize || index < 0) {
+
+			throw new IndexOutOfBoundsException();
+		}
+
+		return this.data[index];
+	}
+
+	/**
+	 * Ueberschreibt den Wert an dem uebergebenen Index.
+	 * 
+	 * @throws IndexOutOfBoundsException Wenn der Index nicht in der Liste liegt.
+	 */
+	public void set(int index, double value) {
+
+		if (index >= this.currentSize || index < 0) {
+
+			throw new IndexOutOfBoundsException();
+		}
+
+		this.unshare();
+		this.data[index] = value;
+	}
+
+	/**
+	 * Gibt den aktuellen Fuellstand zurueck.
+	 */
+	public int size() {
+
+		return this.currentSize;
+	}
+
+	/**
+	 * Loescht den Wert an dem uebergebenen Index.
+	 * 
+	 * @return Gibt {@code true} zurueck, wenn der Wert geloescht wurde, und {@code false}, wenn der Index nicht in der
+	 *         Liste liegt.
+	 */
+	public boolean delete(int index) {
+
+		if (index < 0 || index >= this.currentSize) {
+
+			return false;
+		}
+
+		this.unshare();
+		System.arraycopy(this.data, index + 1, this.data, index, this.currentSize - index - 1);
+		this.currentSize--;
+
+		return true;
+	}
+
+	/**
+	 * Liefert den ersten Index des uebergebenen Werts.
+	 * 
+	 * @return Den Index oder {@code -1}, wenn der Wert nicht in der Liste ist.
+	 */
+	public int getIndexFromItem(double value) {
+
+		for (int i = 0; i < this.currentSize; i++) {
+
+			if (Double.compare(this.data[i], value) == 0) {
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Loescht alle Werte. Das interne Array bleibt erhalten.
+	 */
+	public void clear() {
+
+		this.currentSize = 0;
+	}
+
+	/**
+	 * Erstellt eine Kopie der Werte als Array.
+	 */
+	public double[] toArray() {
+
+		return Arrays.copyOf(this.data, this.currentSize);
+	}
+
+	/**
+	 * Erstellt eine Kopie der Liste in O(1). Beide Listen teilen sich das interne Array, bis eine von beiden
+	 * veraendert wird (copy-on-write).
+	 * 
+	 * @return Die Kopie.
+	 */
+	public DoubleAlgoArrayList copy() {
+
+		this.shared = true;
+		return new DoubleAlgoArrayList(this);
+	}
+
+	/**
+	 * Sortiert die Werte aufsteigend.
+	 */
+	public void sort() {
+
+		this.unshare();
+		Arrays.sort(this.data, 0, this.currentSize);
+	}
+
+	/**
+	 * Ruft {@code action} fuer jeden Wert in Reihenfolge auf, ohne Iterator und ohne Boxing.
+	 */
+	public void forEach(DoubleConsumer action) {
+
+		double[] values = this.data;
+		int size = this.currentSize;
+
+		for (int i = 0; i < size; i++) {
+
+			action.accept(values[i]);
+		}
+	}
+
+	/**
+	 * Stellt sicher, dass mindestens {@code minCapacity} Werte ohne weiteres Vergroessern Platz haben.
+	 */
+	public void ensureCapacity(int minCapacity) {
+
+		if (minCapacity > this.data.length) {
+
+			this.grow(minCapacity);
+		}
+	}
+
+	/**
+	 * Verkleinert das interne Array auf den aktuellen Fuellstand.
+	 */
+	public void trimToSize() {
+
+		if (this.currentSize < this.data.length) {
+
+			this.data = Arrays.copyOf(this.data, this.currentSize);
+			this.shared = false;
+		}
+	}
+
+	private void grow(int minCapacity) {
+
+		if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+
+			throw new OutOfMemoryError("Required array length too large: " + minCapacity);
+		}
+
+		long grown = (long) (this.data.length * this.growthFactor);
+		int newCapacity = (int) Math.min(Math.max(grown, minCapacity), MAX_ARRAY_SIZE);
+
+		this.data = Arrays.copyOf(this.data, newCapacity);
+		this.shared = false;
+	}
+
+	/**
+	 * Kopiert das geteilte Array vor dem ersten Schreibzugriff.
+	 */
+	private void unshare() {
+
+		if (this.shared) {
+
+			this.data = Arrays.copyOf(this.data, this.data.length);
+			this.shared = false;
+		}
+	}
+}
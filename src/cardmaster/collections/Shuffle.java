@@ -1,5 +1,6 @@
 package cardmaster.collections;
 
+import java.util.random.RandomGenerator;
 
 @SuppressWarnings("rawtypes")
 /**
@@ -12,4 +13,19 @@ public class Shuffle {
         array.shuffle();
     }
 
+    public static void shuffle(AlgoArrayDeque deque) {
+
+        deque.shuffle();
+    }
+
+    public static void shuffle(AlgoArrayList array, RandomGenerator random) {
+
+        array.shuffle(random);
+    }
+
+    public static void shuffle(AlgoArrayDeque deque, RandomGenerator random) {
+
+        deque.shuffle(random);
+    }
+
 }
@@ -0,0 +1,47 @@
+package cardmaster.interfaces;
+
+import cardmaster.Game;
+
+/**
+ * Wird von {@link Game} nach jeder Aktion benachrichtigt, die den Spielstand verändert hat. Aktionen ohne Wirkung
+ * (ein fehlgeschlagener Kauf, {@code endShopping()} ohne gekaufte Karte) werden nicht gemeldet. Aktionen aus
+ * {@link Game#apply(cardmaster.Action[], double[])} werden erst nach dem ganzen Stapel gemeldet, {@code game} ist dann
+ * der Stand nach dem Stapel.
+ * 
+ * @see Game#setGameListener(GameListener)
+ */
+public interface GameListener {
+
+    /**
+     * Ein Gegenstand wurde gekauft.
+     * 
+     * @param game          Das Spiel nach dem Kauf
+     * @param shopItemIndex Der Index des gekauften Gegenstands
+     * @param creditsDelta  Die Änderung des Punktestands, also der negative Preis
+     */
+    void bought(Game game, int shopItemIndex, double creditsDelta);
+
+    /**
+     * Der Shopping-Modus wurde beendet.
+     * 
+     * @param game Das Spiel nach dem Wechsel
+     */
+    void shoppingEnded(Game game);
+
+    /**
+     * Eine Handkarte wurde gelegt.
+     * 
+     * @param game          Das Spiel nach dem Zug
+     * @param handCardIndex Der Index der gelegten Handkarte
+     * @param stackIndex    Der Index des Ablagestapels
+     * @param creditsDelta  Die Änderung des Punktestands
+     */
+    void played(Game game, int handCardIndex, int stackIndex, double creditsDelta);
+
+    /**
+     * Das Spiel ist in den Modus {@code END} gewechselt. Wird direkt nach der Meldung der letzten Aktion aufgerufen.
+     * 
+     * @param game Das beendete Spiel
+     */
+    void ended(Game game);
+}
@@ -1,5 +1,7 @@
 package cardmaster.interfaces;
 
+import cardmaster.random.RandomSource;
+
 /**
  * Dies ist ein Markerinterface, welches dazu dienst, alle Typen zu makieren, welche im {@link cardmaster.Shop} kaufbar sind.
  * 
@@ -12,15 +14,12 @@ package cardmaster.interfaces;
 public interface Item { 
 
     /**
-     * Berechnet den Preis für das Item im Shop, anhand der Credits des Players
+     * Berechnet den Preis für das Item im Shop, anhand der Credits des Players. Der Preis wird vom
+     * {@link cardmaster.Shop} gespeichert, damit Karten als geteilte Instanzen verwendet werden können.
      * 
      * @param credits
-     */
-    void calcPrice(double credits);
-    
-    /**
-     * Getter für Item-Preise
+     * @param random  Der Zufallsgenerator des Spiels für zufällige Preise
      * @return Preis des Items
      */
-    int getPrice();
+    int calcPrice(double credits, RandomSource random);
 }
@@ -0,0 +1,51 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Ein Kaufversuch per {@code Game.buy}, auch wenn er am Punktestand scheitert.
+ */
+@Name("cardmaster.Buy")
+@Label("Buy")
+public final class BuyEvent extends GameEvent {
+
+    @Label("Shop Item Index")
+    int shopItemIndex;
+
+    @Label("Item")
+    String item;
+
+    @Label("Price")
+    int price;
+
+    @Label("Bought")
+    boolean bought;
+
+    @Label("Shop Items")
+    @Description("Gegenstände im Shop nach dem Kauf")
+    int shopItems;
+
+    /**
+     * @param shopItemIndex Der Index des Gegenstands
+     * @param item          Die Beschreibung des Gegenstands
+     * @param price         Der Preis
+     */
+    public void setItem(int shopItemIndex, String item, int price) {
+
+        this.shopItemIndex = shopItemIndex;
+        this.item = item;
+        this.price = price;
+    }
+
+    /**
+     * @param bought    Ob der Gegenstand gekauft wurde
+     * @param shopItems Die Anzahl der Gegenstände im Shop danach
+     */
+    public void setResult(boolean bought, int shopItems) {
+
+        this.bought = bought;
+        this.shopItems = shopItems;
+    }
+}
@@ -0,0 +1,28 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Der Wechsel in den Playing-Modus per {@code Game.endShopping}, inklusive Mischen und Ziehen der Hand.
+ */
+@Name("cardmaster.EndShopping")
+@Label("End Shopping")
+public final class EndShoppingEvent extends GameEvent {
+
+    @Label("Hand Cards")
+    int handCards;
+
+    @Label("Draw Pile Cards")
+    int drawPileCards;
+
+    /**
+     * @param handCards     Die gezogenen Handkarten
+     * @param drawPileCards Die Karten, die im Nachziehstapel bleiben
+     */
+    public void setPiles(int handCards, int drawPileCards) {
+
+        this.handCards = handCards;
+        this.drawPileCards = drawPileCards;
+    }
+}
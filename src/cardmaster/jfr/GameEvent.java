@@ -0,0 +1,38 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Gemeinsame Basis aller JFR-Events der Spiel-Engine. Die Events sind standardmäßig abgeschaltet und werden mit ihrem Namen
+ * (z.B. {@code cardmaster.Play}) in einer eigenen {@code .jfc}-Datei oder per {@code jdk.jfr.Recording#enable(String)}
+ * aktiviert.
+ * Abgeschaltet kosten sie nur das Prüfen von {@link #shouldCommit()}, das Objekt selbst wird vom JIT wegoptimiert.
+ * <p>
+ * Jedes Event trägt die Runde und den Punktestand des Spiels nach der Aktion, sodass sich GC- oder CPU-Spitzen in
+ * einer Aufzeichnung einzelnen Spielabschnitten zuordnen lassen.
+ */
+@Enabled(false)
+@StackTrace(false)
+@Category({ "CardMaster", "Game" })
+public abstract class GameEvent extends Event {
+
+    @Label("Round")
+    int round;
+
+    @Label("Credits")
+    double credits;
+
+    /**
+     * @param round   Die aktuelle Runde
+     * @param credits Der aktuelle Punktestand
+     */
+    public void setGame(int round, double credits) {
+
+        this.round = round;
+        this.credits = credits;
+    }
+}
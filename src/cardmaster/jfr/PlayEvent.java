@@ -0,0 +1,54 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Eine gelegte Karte per {@code Game.play}, inklusive Nachziehen und einem eventuellen Rundenwechsel.
+ */
+@Name("cardmaster.Play")
+@Label("Play")
+public final class PlayEvent extends GameEvent {
+
+    @Label("Hand Card Index")
+    int handCardIndex;
+
+    @Label("Stack Index")
+    int stackIndex;
+
+    @Label("Credits Delta")
+    double creditsDelta;
+
+    @Label("Hand Cards")
+    int handCards;
+
+    @Label("Draw Pile Cards")
+    int drawPileCards;
+
+    @Label("Stack Cards")
+    int stackCards;
+
+    /**
+     * @param handCardIndex Der Index der gelegten Handkarte
+     * @param stackIndex    Der Index des Stapels
+     * @param creditsDelta  Die Änderung des Punktestands
+     */
+    public void setMove(int handCardIndex, int stackIndex, double creditsDelta) {
+
+        this.handCardIndex = handCardIndex;
+        this.stackIndex = stackIndex;
+        this.creditsDelta = creditsDelta;
+    }
+
+    /**
+     * @param handCards     Die Handkarten nach dem Zug
+     * @param drawPileCards Die Karten im Nachziehstapel nach dem Zug
+     * @param stackCards    Die Karten auf dem Stapel nach dem Zug
+     */
+    public void setPiles(int handCards, int drawPileCards, int stackCards) {
+
+        this.handCards = handCards;
+        this.drawPileCards = drawPileCards;
+        this.stackCards = stackCards;
+    }
+}
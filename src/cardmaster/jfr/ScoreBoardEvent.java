@@ -0,0 +1,63 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ein Aufruf von {@code Bestenliste.add}, {@code save} oder {@code load}. {@code operation} unterscheidet die drei,
+ * {@code bytes} ist beim Hinzufügen {@code 0}.
+ */
+@Name("cardmaster.ScoreBoard")
+@Label("Score Board")
+@Category({ "CardMaster", "ScoreBoard" })
+@Enabled(false)
+@StackTrace(false)
+public final class ScoreBoardEvent extends Event {
+
+    public static final String ADD = "add";
+    public static final String SAVE = "save";
+    public static final String LOAD = "load";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Score")
+    double score;
+
+    @Label("Place")
+    int place;
+
+    /**
+     * @param operation {@link #ADD}, {@link #SAVE} oder {@link #LOAD}
+     * @param entries   Die Anzahl der Einträge danach
+     * @param bytes     Die geschriebenen bzw. gelesenen Bytes
+     */
+    public void setOperation(String operation, int entries, long bytes) {
+
+        this.operation = operation;
+        this.entries = entries;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @param score Der hinzugefügte Punktestand
+     * @param place Sein Platz
+     */
+    public void setEntry(double score, int place) {
+
+        this.score = score;
+        this.place = place;
+    }
+}
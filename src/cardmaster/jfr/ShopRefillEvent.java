@@ -0,0 +1,23 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Das Auffüllen des Shops zu Beginn einer Runde.
+ */
+@Name("cardmaster.ShopRefill")
+@Label("Shop Refill")
+public final class ShopRefillEvent extends GameEvent {
+
+    @Label("Shop Items")
+    int shopItems;
+
+    /**
+     * @param shopItems Die Anzahl der Gegenstände nach dem Auffüllen
+     */
+    public void setShopItems(int shopItems) {
+
+        this.shopItems = shopItems;
+    }
+}
@@ -0,0 +1,30 @@
+package cardmaster.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ein Mischen des Nachziehstapels per {@code DrawPile.mischen}. Im lazy-Modus wird kein Event erzeugt.
+ */
+@Name("cardmaster.Shuffle")
+@Label("Shuffle")
+@Category({ "CardMaster", "Game" })
+@Enabled(false)
+@StackTrace(false)
+public final class ShuffleEvent extends Event {
+
+    @Label("Cards")
+    int cards;
+
+    /**
+     * @param cards Die Anzahl der Karten im Stapel
+     */
+    public void setPile(int cards) {
+
+        this.cards = cards;
+    }
+}
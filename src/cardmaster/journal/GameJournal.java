@@ -0,0 +1,261 @@
+package cardmaster.journal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cardmaster.Game;
+import cardmaster.interfaces.GameListener;
+
+/**
+ * Schreibt alle wirksamen Aktionen von Spielen als kompakte Binäreinträge in ein Journal, das nur angehängt wird.
+ * Zusammen mit dem Seed des Spiels lässt sich jedes Spiel mit {@link JournalReplayer} exakt nachspielen.
+ * <p>
+ * Die Einträge werden gepuffert und erst bei vollem Puffer, {@link #flush()} oder {@link #close()} geschrieben. Ein
+ * Journal ist nicht threadsicher: Jeder Thread braucht sein eigenes.
+ * 
+ * @see JournalFormat
+ */
+public class GameJournal implements GameListener, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private Game current;
+    private long records;
+
+    /**
+     * Erstellt ein Journal, das in den übergebenen Stream schreibt und mit dem Dateikopf beginnt.
+     * 
+     * @param out Der Ziel-Stream
+     */
+    public GameJournal(OutputStream out) {
+
+        this(out, true);
+    }
+
+    private GameJournal(OutputStream out, boolean writeHeader) {
+
+        this.out = out;
+
+        if (writeHeader) {
+
+            this.writeInt(JournalFormat.MAGIC);
+            this.writeByte(JournalFormat.VERSION);
+        }
+    }
+
+    /**
+     * Öffnet eine Journal-Datei zum Anhängen. Ist die Datei neu oder leer, wird der Dateikopf geschrieben.
+     * 
+     * @param path Der Pfad der Datei
+     * @return Das Journal
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    public static GameJournal open(Path path) throws IOException {
+
+        boolean empty = !Files.exists(path) || Files.size(path) == 0;
+        OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        return new GameJournal(out, empty);
+    }
+
+    /**
+     * Beginnt die Aufzeichnung eines neuen Spiels. Das Spiel sollte gerade erstellt worden sein. Ein bisher
+     * aufgezeichnetes Spiel wird nicht weiter aufgezeichnet.
+     * 
+     * @param game Das Spiel
+     * @throws IllegalArgumentException Wenn das Spiel keinen Seed hat, siehe {@link Game#hasSeed()}
+     */
+    public void record(Game game) {
+
+        if (!game.hasSeed()) {
+
+            throw new IllegalArgumentException("Invalid argument: game has no seed and cannot be replayed");
+        }
+
+        this.detach();
+
+        this.writeByte(JournalFormat.START);
+        this.writeVarint(game.maxRounds());
+        this.writeLong(game.getSeed());
+        this.records++;
+
+        this.current = game;
+        game.setGameListener(this);
+    }
+
+    @Override
+    public void bought(Game game, int shopItemIndex, double creditsDelta) {
+
+        this.writeCreditsType(JournalFormat.BUY, creditsDelta);
+        this.writeVarint(shopItemIndex);
+        this.writeCredits(creditsDelta);
+        this.records++;
+    }
+
+    @Override
+    public void shoppingEnded(Game game) {
+
+        this.writeByte(JournalFormat.END_SHOPPING);
+        this.records++;
+    }
+
+    @Override
+    public void played(Game game, int handCardIndex, int stackIndex, double creditsDelta) {
+
+        this.writeCreditsType(JournalFormat.PLAY, creditsDelta);
+        this.writeVarint(handCardIndex);
+        this.writeVarint(stackIndex);
+        this.writeCredits(creditsDelta);
+        this.records++;
+    }
+
+    @Override
+    public void ended(Game game) {
+
+        this.writeCreditsType(JournalFormat.END, game.getCredits());
+        this.writeCredits(game.getCredits());
+        this.records++;
+        this.detach();
+    }
+
+    /**
+     * @return Die Anzahl der geschriebenen Einträge
+     */
+    public long getRecords() {
+
+        return this.records;
+    }
+
+    /**
+     * Schreibt den Puffer in den Stream.
+     */
+    public void flush() {
+
+        this.drain();
+
+        try {
+
+            this.out.flush();
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Beendet die Aufzeichnung, schreibt den Puffer und schließt den Stream.
+     */
+    @Override
+    public void close() {
+
+        this.detach();
+        this.drain();
+
+        try {
+
+            this.out.close();
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void detach() {
+
+        if (this.current != null) {
+
+            this.current.setGameListener(null);
+            this.current = null;
+        }
+    }
+
+    private void writeCreditsType(int type, double credits) {
+
+        this.writeByte(JournalFormat.isCompact(credits) ? type : type | JournalFormat.RAW_CREDITS);
+    }
+
+    private void writeCredits(double credits) {
+
+        if (JournalFormat.isCompact(credits)) {
+
+            long doubled = (long) (credits * 2);
+            this.writeVarint((doubled << 1) ^ (doubled >> 63)); // ZigZag
+        } else {
+
+            this.writeLong(Double.doubleToRawLongBits(credits));
+        }
+    }
+
+    private void writeVarint(long value) {
+
+        this.ensure(10);
+
+        while ((value & ~0x7FL) != 0) {
+
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+
+        this.ensure(4);
+
+        for (int shift = 24; shift >= 0; shift -= 8) {
+
+            this.buffer[this.position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeLong(long value) {
+
+        this.ensure(8);
+
+        for (int shift = 56; shift >= 0; shift -= 8) {
+
+            this.buffer[this.position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int value) {
+
+        this.ensure(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void ensure(int bytes) {
+
+        if (this.position + bytes > this.buffer.length) {
+
+            this.drain();
+        }
+    }
+
+    private void drain() {
+
+        if (this.position == 0) {
+
+            return;
+        }
+
+        try {
+
+            this.out.write(this.buffer, 0, this.position);
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+
+        this.position = 0;
+    }
+}
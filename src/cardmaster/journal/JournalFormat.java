@@ -0,0 +1,44 @@
+package cardmaster.journal;
+
+/**
+ * Konstanten des Journal-Formats. Eine Datei beginnt mit {@link #MAGIC} und {@link #VERSION}, danach folgen die
+ * Einträge. Jeder Eintrag beginnt mit einem Typ-Byte:
+ * 
+ * <pre>
+ * START        varint maxRounds, 8 Byte seed
+ * BUY          varint shopItemIndex, credits delta
+ * END_SHOPPING -
+ * PLAY         varint handCardIndex, varint stackIndex, credits delta
+ * END          credits
+ * </pre>
+ * 
+ * Punkte sind Vielfache von {@code 0.5} und werden verdoppelt als ZigZag-varint gespeichert. Nur wenn das nicht exakt
+ * geht, ist im Typ-Byte {@link #RAW_CREDITS} gesetzt und der Wert folgt als 8-Byte-{@code double}.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x434D4A31; // "CMJ1"
+    static final int VERSION = 2; // 2: Seed gehört zu RandomSource.seeded statt java.util.Random
+
+    static final int START = 1;
+    static final int BUY = 2;
+    static final int END_SHOPPING = 3;
+    static final int PLAY = 4;
+    static final int END = 5;
+
+    static final int RAW_CREDITS = 0x80;
+    static final int TYPE_MASK = 0x7F;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * @return {@code true}, wenn {@code credits} als verdoppelter varint exakt gespeichert werden kann
+     */
+    static boolean isCompact(double credits) {
+
+        double doubled = credits * 2;
+
+        return doubled == Math.rint(doubled) && Math.abs(doubled) < (1L << 53);
+    }
+}
@@ -0,0 +1,283 @@
+package cardmaster.journal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import cardmaster.CardFactory;
+import cardmaster.Game;
+
+/**
+ * Spielt die Spiele aus einem {@link GameJournal} nach. Jedes Spiel wird mit seinem Seed neu erstellt und alle
+ * Aktionen werden ohne Pausen erneut ausgeführt. Nach jeder Aktion wird die Änderung des Punktestands mit dem Journal
+ * verglichen, bei einer Abweichung wird eine {@link IllegalStateException} geworfen.
+ * <p>
+ * Das Nachspielen ist nur exakt, wenn dieselbe {@link CardFactory} wie bei der Aufzeichnung verwendet wird.
+ */
+public class JournalReplayer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final CardFactory factory;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private long records;
+    private int pending = -1;
+
+    /**
+     * @param in      Der Stream mit dem Journal, beginnend mit dem Dateikopf
+     * @param factory Die Factory, mit der die Spiele aufgezeichnet wurden
+     * @throws IOException Wenn der Dateikopf nicht gelesen werden kann oder ungültig ist
+     */
+    public JournalReplayer(InputStream in, CardFactory factory) throws IOException {
+
+        this.in = in;
+        this.factory = factory;
+
+        if (this.readInt() != JournalFormat.MAGIC) {
+
+            throw new IOException("Not a game journal");
+        }
+
+        int version = this.readByte();
+
+        if (version != JournalFormat.VERSION) {
+
+            throw new IOException("Unsupported journal version: " + version);
+        }
+    }
+
+    /**
+     * Öffnet eine Journal-Datei.
+     * 
+     * @param path    Der Pfad der Datei
+     * @param factory Die Factory, mit der die Spiele aufgezeichnet wurden
+     * @return Der Replayer
+     * @throws IOException Wenn die Datei nicht gelesen werden kann
+     */
+    public static JournalReplayer open(Path path, CardFactory factory) throws IOException {
+
+        return new JournalReplayer(Files.newInputStream(path), factory);
+    }
+
+    /**
+     * Spielt das nächste Spiel nach. Wurde die Aufzeichnung vor dem Spielende abgebrochen, wird das Spiel im zuletzt
+     * aufgezeichneten Zustand geliefert.
+     * 
+     * @return Das nachgespielte Spiel oder {@code null}, wenn das Journal keine weiteren Spiele enthält
+     * @throws IOException Wenn das Journal nicht gelesen werden kann
+     */
+    public Game next() throws IOException {
+
+        int type = this.nextType();
+
+        if (type < 0) {
+
+            return null;
+        }
+
+        if (type != JournalFormat.START) {
+
+            throw new IOException("Expected game start at record " + this.records + ", found type " + type);
+        }
+
+        int maxRounds = (int) this.readVarint();
+        long seed = this.readLong();
+        this.records++;
+
+        Game game = new Game(maxRounds, this.factory, seed);
+        game.setRecordScore(false);
+
+        while ((type = this.nextType()) >= 0) {
+
+            boolean raw = (type & JournalFormat.RAW_CREDITS) != 0;
+
+            switch (type & JournalFormat.TYPE_MASK) {
+                case JournalFormat.START:
+
+                    this.pending = type; // Beginn des nächsten Spiels
+                    return game;
+                case JournalFormat.BUY: {
+
+                    int shopItemIndex = (int) this.readVarint();
+                    double expected = this.readCredits(raw);
+                    double before = game.getCredits();
+
+                    if (!game.buy(shopItemIndex)) {
+
+                        throw this.diverged("buy(" + shopItemIndex + ") failed");
+                    }
+
+                    this.check(expected, game.getCredits() - before);
+                    break;
+                }
+                case JournalFormat.END_SHOPPING:
+
+                    game.endShopping();
+                    break;
+                case JournalFormat.PLAY: {
+
+                    int handCardIndex = (int) this.readVarint();
+                    int stackIndex = (int) this.readVarint();
+                    double expected = this.readCredits(raw);
+                    double before = game.getCredits();
+
+                    game.play(handCardIndex, stackIndex);
+                    this.check(expected, game.getCredits() - before);
+                    break;
+                }
+                case JournalFormat.END: {
+
+                    double expected = this.readCredits(raw);
+
+                    if (game.getMode() != Game.Mode.END || game.getCredits() != expected) {
+
+                        throw this.diverged("expected end with " + expected + " credits, was " + game.getMode()
+                                + " with " + game.getCredits());
+                    }
+
+                    this.records++;
+                    return game;
+                }
+                default:
+
+                    throw new IOException("Unknown record type " + type + " at record " + this.records);
+            }
+
+            this.records++;
+        }
+
+        return game;
+    }
+
+    /**
+     * @return Die Anzahl der bisher nachgespielten Einträge
+     */
+    public long getRecords() {
+
+        return this.records;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        this.in.close();
+    }
+
+    private void check(double expected, double actual) {
+
+        if (expected != actual) {
+
+            throw this.diverged("expected credits delta " + expected + ", was " + actual);
+        }
+    }
+
+    private IllegalStateException diverged(String detail) {
+
+        return new IllegalStateException("Journal diverged at record " + this.records + ": " + detail);
+    }
+
+    /**
+     * @return Das nächste Typ-Byte oder {@code -1} am Ende des Journals
+     */
+    private int nextType() throws IOException {
+
+        if (this.pending >= 0) {
+
+            int type = this.pending;
+            this.pending = -1;
+            return type;
+        }
+
+        if (this.position == this.limit && !this.fill()) {
+
+            return -1;
+        }
+
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private double readCredits(boolean raw) throws IOException {
+
+        if (raw) {
+
+            return Double.longBitsToDouble(this.readLong());
+        }
+
+        long zigzag = this.readVarint();
+        long doubled = (zigzag >>> 1) ^ -(zigzag & 1);
+
+        return doubled / 2.0;
+    }
+
+    private long readVarint() throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+
+            int b = this.readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint at record " + this.records);
+    }
+
+    private int readInt() throws IOException {
+
+        int value = 0;
+
+        for (int i = 0; i < 4; i++) {
+
+            value = (value << 8) | this.readByte();
+        }
+
+        return value;
+    }
+
+    private long readLong() throws IOException {
+
+        long value = 0;
+
+        for (int i = 0; i < 8; i++) {
+
+            value = (value << 8) | this.readByte();
+        }
+
+        return value;
+    }
+
+    private int readByte() throws IOException {
+
+        if (this.position == this.limit && !this.fill()) {
+
+            throw new EOFException("Truncated journal at record " + this.records);
+        }
+
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+
+        int read = this.in.read(this.buffer, 0, this.buffer.length);
+
+        if (read <= 0) {
+
+            return false;
+        }
+
+        this.position = 0;
+        this.limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,420 @@
+package cardmaster.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import cardmaster.Upgrade.UpgradeDescriptions;
+import cardmaster.cards.CardType;
+
+/**
+ * Zähler und Latenz-Histogramme der Spiel-Engine für alle Spiele der JVM. {@link cardmaster.Game},
+ * {@link cardmaster.DrawPile} und {@link cardmaster.scoreboard.Bestenliste} melden ihre Aktionen hierher, per
+ * {@link #register()} werden die Werte als MXBean veröffentlicht.
+ * <p>
+ * Alle Zähler sind {@link LongAdder}: Jeder Thread zählt in eine eigene Zelle, erst beim Lesen wird summiert. Viele
+ * parallele Sitzungen oder Simulations-Worker konkurrieren daher um keine gemeinsame Cache-Line. Mit
+ * {@code -Dcardmaster.metrics=false} wird nichts gezählt oder gemessen, die Aufrufe fallen dann im JIT weg.
+ * <p>
+ * Latenzen werden als Stichprobe gemessen (siehe {@link #SAMPLING}), die Anzahl in einem Histogramm ist daher
+ * kleiner als die Anzahl der Aufrufe. Die Zähler erfassen dagegen jeden Aufruf.
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+
+    /**
+     * Ob gezählt und gemessen wird. Standardmäßig {@code true}.
+     */
+    public static final boolean ENABLED = !"false".equals(System.getProperty("cardmaster.metrics"));
+
+    public static final String OBJECT_NAME = "cardmaster:type=EngineMetrics";
+
+    /**
+     * Nur jeder {@code SAMPLING}-te Aufruf von {@link #startTimer()} misst, da {@link System#nanoTime()} teurer sein
+     * kann als ein ganzer Zug. Eine Zweierpotenz, standardmäßig {@code 8}, mit {@code -Dcardmaster.metrics.sampling=1}
+     * wird jeder Aufruf gemessen.
+     */
+    public static final int SAMPLING = EngineMetrics.sampling();
+
+    private static final int TRACKED_STACKS = 16;
+    private static final CardType[] CARD_TYPES = CardType.values();
+    private static final UpgradeDescriptions[] UPGRADES = UpgradeDescriptions.values();
+
+    private static final EngineMetrics INSTANCE = new EngineMetrics();
+
+    private final LongAdder[] cardBuys = EngineMetrics.adders(CARD_TYPES.length);
+    private final LongAdder[] upgradeBuys = EngineMetrics.adders(UPGRADES.length);
+    private final LongAdder[] plays = EngineMetrics.adders(TRACKED_STACKS);
+    private final LongAdder shuffles = new LongAdder();
+    private final LongAdder roundTransitions = new LongAdder();
+    private final LongAdder illegalCalls = new LongAdder();
+    private final LongAdder scoreBoardAdds = new LongAdder();
+    private final LongAdder scoreBoardSaves = new LongAdder();
+    private final LongAdder scoreBoardLoads = new LongAdder();
+
+    private final LatencyHistogram playLatency = new LatencyHistogram();
+    private final LatencyHistogram endShoppingLatency = new LatencyHistogram();
+    private final LatencyHistogram shopRefillLatency = new LatencyHistogram();
+    private final LatencyHistogram scoreBoardSaveLatency = new LatencyHistogram();
+    private final LatencyHistogram scoreBoardLoadLatency = new LatencyHistogram();
+
+    private EngineMetrics() {
+    }
+
+    /**
+     * @return Die Metriken dieser JVM
+     */
+    public static EngineMetrics get() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Registriert die Metriken beim Plattform-MBeanServer. Weitere Aufrufe tun nichts.
+     *
+     * @return Der Name, unter dem die Metriken registriert sind
+     */
+    public static ObjectName register() {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            server.registerMBean(INSTANCE, name);
+            return name;
+        } catch (InstanceAlreadyExistsException e) {
+
+            return EngineMetrics.objectName();
+        } catch (JMException e) {
+
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Entfernt die Registrierung aus {@link #register()}, falls vorhanden.
+     */
+    public static void unregister() {
+
+        try {
+
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(EngineMetrics.objectName());
+        } catch (InstanceNotFoundException e) {
+
+            // nicht registriert
+        } catch (JMException e) {
+
+            throw new IllegalStateException("Could not unregister " + OBJECT_NAME, e);
+        }
+    }
+
+    private static ObjectName objectName() {
+
+        try {
+
+            return new ObjectName(OBJECT_NAME);
+        } catch (JMException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int sampling() {
+
+        int sampling = Integer.getInteger("cardmaster.metrics.sampling", 8);
+
+        if (sampling < 1 || Integer.bitCount(sampling) != 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: cardmaster.metrics.sampling must be a power of two, received: " + sampling);
+        }
+
+        return sampling;
+    }
+
+    /**
+     * Beginnt eine Messung als Stichprobe: Zufällig jeder {@link #SAMPLING}-te Aufruf liefert die aktuelle Zeit.
+     *
+     * @return {@link System#nanoTime()} oder {@code 0}, wenn dieser Aufruf nicht gemessen wird
+     */
+    public static long startTimer() {
+
+        if (!ENABLED || (ThreadLocalRandom.current().nextInt() & (SAMPLING - 1)) != 0) {
+
+            return 0;
+        }
+
+        return System.nanoTime();
+    }
+
+    // Zählen
+
+    public void countCardBuy(CardType type) {
+
+        if (ENABLED) {
+
+            this.cardBuys[type.ordinal()].increment();
+        }
+    }
+
+    public void countUpgradeBuy(UpgradeDescriptions upgrade) {
+
+        if (ENABLED) {
+
+            this.upgradeBuys[upgrade.ordinal()].increment();
+        }
+    }
+
+    public void countPlay(int stackIndex) {
+
+        if (ENABLED) {
+
+            this.plays[Math.min(stackIndex, TRACKED_STACKS - 1)].increment();
+        }
+    }
+
+    public void countShuffle() {
+
+        if (ENABLED) {
+
+            this.shuffles.increment();
+        }
+    }
+
+    public void countRoundTransition() {
+
+        if (ENABLED) {
+
+            this.roundTransitions.increment();
+        }
+    }
+
+    public void countIllegalCall() {
+
+        if (ENABLED) {
+
+            this.illegalCalls.increment();
+        }
+    }
+
+    public void countScoreBoardAdd() {
+
+        if (ENABLED) {
+
+            this.scoreBoardAdds.increment();
+        }
+    }
+
+    // Messen, jeweils mit dem Wert aus startTimer(). Bei 0 wird nichts aufgezeichnet.
+
+    public void recordPlay(long startNanos) {
+
+        if (ENABLED && startNanos != 0) {
+
+            this.playLatency.recordSince(startNanos);
+        }
+    }
+
+    public void recordEndShopping(long startNanos) {
+
+        if (ENABLED && startNanos != 0) {
+
+            this.endShoppingLatency.recordSince(startNanos);
+        }
+    }
+
+    public void recordShopRefill(long startNanos) {
+
+        if (ENABLED && startNanos != 0) {
+
+            this.shopRefillLatency.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Zählt ein Speichern der Bestenliste und misst seine Dauer. Da die Bestenliste selten gespeichert wird, sollte
+     * {@code startNanos} direkt aus {@link System#nanoTime()} stammen.
+     */
+    public void recordScoreBoardSave(long startNanos) {
+
+        if (ENABLED) {
+
+            this.scoreBoardSaves.increment();
+            this.scoreBoardSaveLatency.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Zählt ein Laden der Bestenliste und misst seine Dauer, wie {@link #recordScoreBoardSave(long)}.
+     */
+    public void recordScoreBoardLoad(long startNanos) {
+
+        if (ENABLED) {
+
+            this.scoreBoardLoads.increment();
+            this.scoreBoardLoadLatency.recordSince(startNanos);
+        }
+    }
+
+    // MXBean
+
+    @Override
+    public Map<String, Long> getBuysByItemType() {
+
+        Map<String, Long> buys = new LinkedHashMap<>();
+
+        for (CardType type : CARD_TYPES) {
+
+            buys.put(type.getName(), this.cardBuys[type.ordinal()].sum());
+        }
+
+        for (UpgradeDescriptions upgrade : UPGRADES) {
+
+            buys.put(upgrade.name(), this.upgradeBuys[upgrade.ordinal()].sum());
+        }
+
+        return buys;
+    }
+
+    @Override
+    public long getUpgradePurchases() {
+
+        return EngineMetrics.sum(this.upgradeBuys);
+    }
+
+    @Override
+    public long[] getPlaysPerStack() {
+
+        long[] plays = new long[TRACKED_STACKS];
+
+        for (int i = 0; i < TRACKED_STACKS; i++) {
+
+            plays[i] = this.plays[i].sum();
+        }
+
+        return plays;
+    }
+
+    @Override
+    public long getShuffles() {
+
+        return this.shuffles.sum();
+    }
+
+    @Override
+    public long getRoundTransitions() {
+
+        return this.roundTransitions.sum();
+    }
+
+    @Override
+    public long getIllegalCalls() {
+
+        return this.illegalCalls.sum();
+    }
+
+    @Override
+    public long getScoreBoardAdds() {
+
+        return this.scoreBoardAdds.sum();
+    }
+
+    @Override
+    public long getScoreBoardSaves() {
+
+        return this.scoreBoardSaves.sum();
+    }
+
+    @Override
+    public long getScoreBoardLoads() {
+
+        return this.scoreBoardLoads.sum();
+    }
+
+    @Override
+    public LatencySnapshot getPlayLatency() {
+
+        return this.playLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getEndShoppingLatency() {
+
+        return this.endShoppingLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getShopRefillLatency() {
+
+        return this.shopRefillLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getScoreBoardSaveLatency() {
+
+        return this.scoreBoardSaveLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getScoreBoardLoadLatency() {
+
+        return this.scoreBoardLoadLatency.snapshot();
+    }
+
+    @Override
+    public void reset() {
+
+        for (LongAdder[] adders : new LongAdder[][] { this.cardBuys, this.upgradeBuys, this.plays }) {
+
+            for (LongAdder adder : adders) {
+
+                adder.reset();
+            }
+        }
+
+        this.shuffles.reset();
+        this.roundTransitions.reset();
+        this.illegalCalls.reset();
+        this.scoreBoardAdds.reset();
+        this.scoreBoardSaves.reset();
+        this.scoreBoardLoads.reset();
+
+        this.playLatency.reset();
+        this.endShoppingLatency.reset();
+        this.shopRefillLatency.reset();
+        this.scoreBoardSaveLatency.reset();
+        this.scoreBoardLoadLatency.reset();
+    }
+
+    private static LongAdder[] adders(int length) {
+
+        LongAdder[] adders = new LongAdder[length];
+
+        for (int i = 0; i < length; i++) {
+
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+
+    private static long sum(LongAdder[] adders) {
+
+        long sum = 0;
+
+        for (LongAdder adder : adders) {
+
+            sum += adder.sum();
+        }
+
+        return sum;
+    }
+}
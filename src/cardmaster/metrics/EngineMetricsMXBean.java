@@ -0,0 +1,50 @@
+package cardmaster.metrics;
+
+import java.util.Map;
+
+/**
+ * Die JMX-Sicht auf {@link EngineMetrics}, registriert unter {@value EngineMetrics#OBJECT_NAME}. Alle Zähler laufen
+ * seit dem Start der JVM bzw. seit dem letzten {@link #reset()}.
+ */
+public interface EngineMetricsMXBean {
+
+    /**
+     * @return Käufe pro Kartentyp (z.B. {@code Paar}) und pro Upgrade (z.B. {@code ADD_STACK})
+     */
+    Map<String, Long> getBuysByItemType();
+
+    long getUpgradePurchases();
+
+    /**
+     * @return An Index {@code i} die gelegten Karten auf Stapel {@code i}. Der letzte Eintrag zählt auch alle
+     *         Stapel mit größerem Index.
+     */
+    long[] getPlaysPerStack();
+
+    long getShuffles();
+
+    long getRoundTransitions();
+
+    long getIllegalCalls();
+
+    long getScoreBoardAdds();
+
+    long getScoreBoardSaves();
+
+    long getScoreBoardLoads();
+
+    LatencySnapshot getPlayLatency();
+
+    LatencySnapshot getEndShoppingLatency();
+
+    LatencySnapshot getShopRefillLatency();
+
+    LatencySnapshot getScoreBoardSaveLatency();
+
+    LatencySnapshot getScoreBoardLoadLatency();
+
+    /**
+     * Setzt alle Zähler und Histogramme auf {@code 0}.
+     */
+    void reset();
+}
@@ -0,0 +1,95 @@
+package cardmaster.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ein Latenz-Histogramm mit Zweierpotenzen als Bucket-Grenzen. Bucket {@code i} zählt Dauern aus
+ * {@code [2^(i-1), 2^i)} Nanosekunden. Alle Zähler sind {@link LongAdder}, gleichzeitiges Aufzeichnen aus vielen
+ * Threads führt daher zu keinem Engpass.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+
+        for (int i = 0; i < BUCKETS; i++) {
+
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Zeichnet die Dauer seit {@code startNanos} auf.
+     *
+     * @param startNanos Ein Zeitpunkt aus {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param nanos Eine Dauer in Nanosekunden, negative Werte zählen als {@code 0}
+     */
+    public void record(long nanos) {
+
+        long value = Math.max(0, nanos);
+
+        this.buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+        this.totalNanos.add(value);
+        this.maxNanos.accumulate(value);
+    }
+
+    /**
+     * Liefert einen Schnappschuss. Da die Zähler nicht gemeinsam gesperrt werden, kann er Aufzeichnungen enthalten,
+     * die während des Aufrufs stattfinden.
+     *
+     * @return Der aktuelle Stand
+     */
+    public LatencySnapshot snapshot() {
+
+        long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+
+            counts[i] = this.buckets[i].sum();
+        }
+
+        return new LatencySnapshot(counts, this.totalNanos.sum(), this.maxNanos.get());
+    }
+
+    /**
+     * Setzt alle Zähler auf {@code 0}.
+     */
+    public void reset() {
+
+        for (LongAdder bucket : this.buckets) {
+
+            bucket.reset();
+        }
+
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+
+    /**
+     * @return Die Anzahl der Aufzeichnungen
+     */
+    public long getCount() {
+
+        long count = 0;
+
+        for (LongAdder bucket : this.buckets) {
+
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+package cardmaster.metrics;
+
+/**
+ * Unveränderlicher Stand eines {@link LatencyHistogram}. Perzentile liefern die obere Grenze des Buckets, in dem sie
+ * liegen, sind also auf eine Zweierpotenz aufgerundet. Über JMX erscheint ein Snapshot als {@code CompositeData}.
+ */
+public final class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    LatencySnapshot(long[] counts, long totalNanos, long maxNanos) {
+
+        long count = 0;
+
+        for (long bucket : counts) {
+
+            count += bucket;
+        }
+
+        this.counts = counts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * @return Die Anzahl der Aufzeichnungen
+     */
+    public long getCount() {
+
+        return this.count;
+    }
+
+    /**
+     * @return Die mittlere Dauer in Mikrosekunden oder {@code 0} ohne Aufzeichnung
+     */
+    public double getMeanMicros() {
+
+        return this.count == 0 ? 0 : this.totalNanos / 1e3 / this.count;
+    }
+
+    public double getP50Micros() {
+
+        return this.percentileMicros(50);
+    }
+
+    public double getP99Micros() {
+
+        return this.percentileMicros(99);
+    }
+
+    public double getP999Micros() {
+
+        return this.percentileMicros(99.9);
+    }
+
+    /**
+     * @return Die längste Dauer in Mikrosekunden
+     */
+    public double getMaxMicros() {
+
+        return this.maxNanos / 1e3;
+    }
+
+    /**
+     * @param p Das Perzentil aus dem Intervall {@code [0, 100]}
+     * @return Die obere Bucket-Grenze des Perzentils in Mikrosekunden oder {@code 0} ohne Aufzeichnung
+     */
+    public double percentileMicros(double p) {
+
+        if (p < 0 || p > 100 || Double.isNaN(p)) {
+
+            throw new IllegalArgumentException("Invalid argument: p must be in [0, 100], received: " + p);
+        }
+
+        if (this.count == 0) {
+
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * this.count));
+        long seen = 0;
+
+        for (int i = 0; i < this.counts.length; i++) {
+
+            seen += this.counts[i];
+
+            if (seen >= rank) {
+
+                return i == 0 ? 0 : Math.min(Math.pow(2, i), this.maxNanos) / 1e3;
+            }
+        }
+
+        return this.getMaxMicros();
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("count %d, mean %.2f us, p50 %.2f us, p99 %.2f us, max %.2f us", this.count,
+                this.getMeanMicros(), this.getP50Micros(), this.getP99Micros(), this.getMaxMicros());
+    }
+}
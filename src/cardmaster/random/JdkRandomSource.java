@@ -0,0 +1,114 @@
+package cardmaster.random;
+
+/**
+ * RandomSource mit dem linearen Kongruenzgenerator von {@link java.util.Random}. Der Algorithmus ist hier nachgebaut,
+ * damit der 48-Bit-Zustand gespeichert werden kann. Die Folgen sind dieselben wie die eines {@code Random} mit
+ * gleichem Seed.
+ */
+public final class JdkRandomSource implements RandomSource {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long seed;
+
+    /**
+     * @param seed Der Startwert
+     */
+    public JdkRandomSource(long seed) {
+
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Erstellt einen Generator mit dem Zustand aus {@link #getState()}.
+     * 
+     * @param state Der 48-Bit-Zustand
+     * @return Der Generator
+     */
+    public static JdkRandomSource ofState(long[] state) {
+
+        JdkRandomSource.checkState(state);
+
+        JdkRandomSource random = new JdkRandomSource(0);
+        random.seed = state[0];
+
+        return random;
+    }
+
+    private static void checkState(long[] state) {
+
+        if (state.length != 1 || (state[0] & ~MASK) != 0) {
+
+            throw new IllegalArgumentException("Invalid argument: state must be one 48-bit word");
+        }
+    }
+
+    @Override
+    public long nextLong() {
+
+        return ((long) this.next(32) << 32) + this.next(32);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+
+        if (bound <= 0) {
+
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = this.next(31);
+        int m = bound - 1;
+
+        if ((bound & m) == 0) {
+
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        for (int u = r; u - (r = u % bound) + m < 0; u = this.next(31)) {
+            // verworfen, damit alle Werte gleich wahrscheinlich sind
+        }
+
+        return r;
+    }
+
+    @Override
+    public double nextDouble() {
+
+        return (((long) this.next(26) << 27) + this.next(27)) * 0x1.0p-53;
+    }
+
+    @Override
+    public long[] getState() {
+
+        return new long[] { this.seed };
+    }
+
+    @Override
+    public void getState(long[] state) {
+
+        state[0] = this.seed;
+    }
+
+    @Override
+    public void setState(long[] state) {
+
+        JdkRandomSource.checkState(state);
+        this.seed = state[0];
+    }
+
+    @Override
+    public RandomSource split() {
+
+        return new JdkRandomSource(this.nextLong());
+    }
+
+    private int next(int bits) {
+
+        this.seed = (this.seed * MULTIPLIER + ADDEND) & MASK;
+
+        return (int) (this.seed >>> (48 - bits));
+    }
+}
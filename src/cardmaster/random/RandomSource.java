@@ -0,0 +1,81 @@
+package cardmaster.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Die einzige Quelle für Zufall im Spiel. Ein {@link cardmaster.Game} bekommt eine RandomSource und reicht sie an
+ * Nachziehstapel, Karten-Factory, Preise und Mischen weiter. Dadurch ist ein Spiel mit gleichem Seed reproduzierbar,
+ * und parallele Simulationen geben jedem Thread per {@link #split()} einen eigenen Strom, statt sich einen
+ * gemeinsamen Generator zu teilen.
+ * <p>
+ * Implementierungen müssen nur {@link #nextLong()}, {@link #split()} und das Lesen und Setzen ihres Zustands liefern.
+ * Alle anderen Methoden kommen aus {@link RandomGenerator}. Eine RandomSource ist nicht threadsicher.
+ */
+public interface RandomSource extends RandomGenerator {
+
+    /**
+     * Liefert den Zustand des Generators, z.B. um ein Spiel zu speichern oder eine fehlgeschlagene Aktion
+     * zurückzunehmen. Das Lesen verändert den Generator nicht.
+     * 
+     * @return Eine Kopie des Zustands
+     */
+    long[] getState();
+
+    /**
+     * Schreibt den Zustand wie {@link #getState()} in ein vorhandenes Array, z.B. um ihn wiederholt ohne
+     * Allokation zu sichern.
+     * 
+     * @param state Ein Array mit der Länge des Zustands aus {@link #getState()}
+     */
+    default void getState(long[] state) {
+
+        long[] current = this.getState();
+        System.arraycopy(current, 0, state, 0, current.length);
+    }
+
+    /**
+     * Setzt den Generator auf einen Zustand aus {@link #getState()} zurück. Danach liefert er dieselbe Folge wie zum
+     * Zeitpunkt des Lesens.
+     * 
+     * @param state Ein Zustand dieses Generatortyps
+     * @throws IllegalArgumentException Wenn der Zustand nicht zu diesem Generator passt
+     */
+    void setState(long[] state);
+
+    /**
+     * Erstellt einen neuen, unabhängigen Generator, z.B. für einen weiteren Thread. Danach liefern dieser Generator
+     * und der neue unterschiedliche Folgen.
+     * 
+     * @return Der abgespaltene Generator
+     */
+    RandomSource split();
+
+    /**
+     * Der Standard-Generator für Spiele: {@link XoshiroRandomSource}.
+     * 
+     * @param seed Der Startwert
+     * @return Ein neuer Generator
+     */
+    static RandomSource seeded(long seed) {
+
+        return new XoshiroRandomSource(seed);
+    }
+
+    /**
+     * @param seed Der Startwert
+     * @return Ein Generator auf Basis von {@link java.util.SplittableRandom}
+     */
+    static RandomSource splittable(long seed) {
+
+        return new SplittableRandomSource(seed);
+    }
+
+    /**
+     * @param seed Der Startwert
+     * @return Ein Generator auf Basis von {@link java.util.Random}, wie er bisher im Spiel verwendet wurde
+     */
+    static RandomSource jdk(long seed) {
+
+        return new JdkRandomSource(seed);
+    }
+}
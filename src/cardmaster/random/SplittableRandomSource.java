@@ -0,0 +1,120 @@
+package cardmaster.random;
+
+/**
+ * RandomSource mit dem Algorithmus von {@link java.util.SplittableRandom} (SplitMix64). Der Algorithmus ist hier
+ * nachgebaut, damit der Zustand aus Seed und Gamma gespeichert werden kann. Die Folgen sind dieselben wie die eines
+ * {@code SplittableRandom} mit gleichem Seed.
+ */
+public final class SplittableRandomSource implements RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long gamma;
+
+    /**
+     * @param seed Der Startwert
+     */
+    public SplittableRandomSource(long seed) {
+
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplittableRandomSource(long seed, long gamma) {
+
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Erstellt einen Generator mit dem Zustand aus {@link #getState()}.
+     * 
+     * @param state Seed und Gamma, Gamma ungerade
+     * @return Der Generator
+     */
+    public static SplittableRandomSource ofState(long[] state) {
+
+        SplittableRandomSource.checkState(state);
+        return new SplittableRandomSource(state[0], state[1]);
+    }
+
+    private static void checkState(long[] state) {
+
+        if (state.length != 2 || (state[1] & 1) == 0) {
+
+            throw new IllegalArgumentException("Invalid argument: state must be seed and an odd gamma");
+        }
+    }
+
+    @Override
+    public long nextLong() {
+
+        return SplittableRandomSource.mix64(this.nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+
+        return SplittableRandomSource.mix32(this.nextSeed());
+    }
+
+    @Override
+    public double nextDouble() {
+
+        return (this.nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public long[] getState() {
+
+        return new long[] { this.seed, this.gamma };
+    }
+
+    @Override
+    public void getState(long[] state) {
+
+        state[0] = this.seed;
+        state[1] = this.gamma;
+    }
+
+    @Override
+    public void setState(long[] state) {
+
+        SplittableRandomSource.checkState(state);
+        this.seed = state[0];
+        this.gamma = state[1];
+    }
+
+    @Override
+    public RandomSource split() {
+
+        return new SplittableRandomSource(this.nextLong(), SplittableRandomSource.mixGamma(this.nextSeed()));
+    }
+
+    private long nextSeed() {
+
+        return this.seed += this.gamma;
+    }
+
+    private static long mix64(long z) {
+
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+
+        return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
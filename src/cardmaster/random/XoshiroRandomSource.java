@@ -0,0 +1,147 @@
+package cardmaster.random;
+
+/**
+ * xoshiro256** von Blackman und Vigna. Sehr schnell, 256 Bit Zustand und eine Periode von {@code 2^256 - 1}.
+ * {@link #split()} liefert eine Kopie des aktuellen Zustands und springt selbst {@code 2^128} Schritte weiter, sodass
+ * sich die beiden Folgen praktisch nie überschneiden.
+ */
+public final class XoshiroRandomSource implements RandomSource {
+
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL };
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Erstellt einen Generator. Der Zustand wird per SplitMix64 aus dem Seed erzeugt.
+     * 
+     * @param seed Der Startwert
+     */
+    public XoshiroRandomSource(long seed) {
+
+        this.s0 = XoshiroRandomSource.splitMix(seed += 0x9E3779B97F4A7C15L);
+        this.s1 = XoshiroRandomSource.splitMix(seed += 0x9E3779B97F4A7C15L);
+        this.s2 = XoshiroRandomSource.splitMix(seed += 0x9E3779B97F4A7C15L);
+        this.s3 = XoshiroRandomSource.splitMix(seed + 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Erstellt einen Generator mit dem Zustand aus {@link #getState()}.
+     * 
+     * @param state Die vier Zustandswörter, nicht alle {@code 0}
+     * @return Der Generator
+     */
+    public static XoshiroRandomSource ofState(long[] state) {
+
+        XoshiroRandomSource.checkState(state);
+        return new XoshiroRandomSource(state[0], state[1], state[2], state[3]);
+    }
+
+    private static void checkState(long[] state) {
+
+        if (state.length != 4 || (state[0] | state[1] | state[2] | state[3]) == 0) {
+
+            throw new IllegalArgumentException("Invalid argument: state must be four words, not all zero");
+        }
+    }
+
+    private XoshiroRandomSource(long s0, long s1, long s2, long s3) {
+
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public long nextLong() {
+
+        long result = Long.rotateLeft(this.s1 * 5, 7) * 9;
+        long t = this.s1 << 17;
+
+        this.s2 ^= this.s0;
+        this.s3 ^= this.s1;
+        this.s1 ^= this.s2;
+        this.s0 ^= this.s3;
+        this.s2 ^= t;
+        this.s3 = Long.rotateLeft(this.s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public long[] getState() {
+
+        return new long[] { this.s0, this.s1, this.s2, this.s3 };
+    }
+
+    @Override
+    public void getState(long[] state) {
+
+        state[0] = this.s0;
+        state[1] = this.s1;
+        state[2] = this.s2;
+        state[3] = this.s3;
+    }
+
+    @Override
+    public void setState(long[] state) {
+
+        XoshiroRandomSource.checkState(state);
+        this.s0 = state[0];
+        this.s1 = state[1];
+        this.s2 = state[2];
+        this.s3 = state[3];
+    }
+
+    @Override
+    public RandomSource split() {
+
+        XoshiroRandomSource copy = new XoshiroRandomSource(this.s0, this.s1, this.s2, this.s3);
+        this.jump();
+
+        return copy;
+    }
+
+    /**
+     * Springt {@code 2^128} Schritte weiter.
+     */
+    private void jump() {
+
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+
+        for (long jump : JUMP) {
+
+            for (int b = 0; b < 64; b++) {
+
+                if ((jump & (1L << b)) != 0) {
+
+                    t0 ^= this.s0;
+                    t1 ^= this.s1;
+                    t2 ^= this.s2;
+                    t3 ^= this.s3;
+                }
+
+                this.nextLong();
+            }
+        }
+
+        this.s0 = t0;
+        this.s1 = t1;
+        this.s2 = t2;
+        this.s3 = t3;
+    }
+
+    private static long splitMix(long z) {
+
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
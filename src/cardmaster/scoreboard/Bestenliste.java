@@ -11,6 +11,8 @@ import java.util.List;
 
 import cardmaster.ScoreBoard;
 import cardmaster.collections.AlgoArrayList;
+import cardmaster.jfr.ScoreBoardEvent;
+import cardmaster.metrics.EngineMetrics;
 
 /**
  * Die Bestenliste des Spiels
@@ -45,6 +47,11 @@ public class Bestenliste implements ScoreBoard {
     @Override
     public void save(OutputStream out) throws Exception {
 
+        ScoreBoardEvent event = new ScoreBoardEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long bytes;
+
         try (out;DataOutputStream dataOut = new DataOutputStream(out)) {
 
             dataOut.writeInt(entries.size());
@@ -57,12 +64,26 @@ public class Bestenliste implements ScoreBoard {
                 dataOut.writeLong(entry.getTimeStamp().getNano());
                 
             }
+
+            bytes = dataOut.size();
+        }
+
+        EngineMetrics.get().recordScoreBoardSave(start);
+
+        if (event.shouldCommit()) {
+
+            event.setOperation(ScoreBoardEvent.SAVE, entries.size(), bytes);
+            event.commit();
         }
     }
 
     @Override
     public void load(InputStream in) throws Exception {
 
+        ScoreBoardEvent event = new ScoreBoardEvent();
+        event.begin();
+        long start = System.nanoTime();
+
         try (in;DataInputStream dataIn = new DataInputStream(in)) {
             
 
@@ -91,6 +112,15 @@ public class Bestenliste implements ScoreBoard {
         } catch (IOException e) {
             throw new IOException(e);
         }
+
+        EngineMetrics.get().recordScoreBoardLoad(start);
+
+        if (event.shouldCommit()) {
+
+            // int für die Anzahl, je Eintrag double, int und zwei long
+            event.setOperation(ScoreBoardEvent.LOAD, entries.size(), 4 + 28L * entries.size());
+            event.commit();
+        }
     }
 
     @Override
@@ -101,6 +131,10 @@ public class Bestenliste implements ScoreBoard {
             throw new IllegalArgumentException("Illegal score value: " + score);
         }
 
+        ScoreBoardEvent event = new ScoreBoardEvent();
+        event.begin();
+        EngineMetrics.get().countScoreBoardAdd();
+
         int newPlace = 1; // Beginne mit dem ersten Platz
         List<Eintrag> entriesToUpdate = new ArrayList<>();
 
@@ -126,14 +160,20 @@ public class Bestenliste implements ScoreBoard {
         }
 
         Eintrag newEntry = new Eintrag(score, Instant.now(), newPlace);
-        entries.add(newEntry); // Füge den neuen Eintrag hinzu
-        entries.sort();
+        entries.insertSorted(newEntry, null); // Füge den neuen Eintrag an der sortierten Stelle ein
 
         // Aktualisiere die Plätze der alten Einträge
         for (Eintrag entry : entriesToUpdate) {
             entry.increasePlace();
         }
 
+        if (event.shouldCommit()) {
+
+            event.setOperation(ScoreBoardEvent.ADD, entries.size(), 0);
+            event.setEntry(score, newPlace);
+            event.commit();
+        }
+
         return newPlace; // Rückgabe des Platzes des neuen Scores
     }
 
@@ -0,0 +1,367 @@
+package cardmaster.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import cardmaster.CardFactory;
+import cardmaster.ScoreBoard;
+import cardmaster.metrics.EngineMetrics;
+
+/**
+ * Ein Server, der viele unabhängige Spiele über TCP auf dem Loopback-Interface anbietet. Jede Verbindung ist eine
+ * Session mit einem eigenen {@link cardmaster.Game}, das Protokoll beschreibt {@link ServerProtocol}.
+ * <p>
+ * Ein Acceptor-Thread nimmt Verbindungen an und verteilt sie reihum auf eine feste Anzahl von {@link Reactor}-Threads,
+ * die jeweils per NIO-{@link java.nio.channels.Selector} tausende Verbindungen bedienen. Die Anzahl der Threads hängt
+ * damit nicht von der Anzahl der Sessions ab, und der Speicher ist durch {@link #setMaxSessions(int)} begrenzt:
+ * Darüber hinaus wird jede neue Verbindung mit {@code ERR Server full} abgewiesen.
+ * <p>
+ * Spiele im Speicher sind zusätzlich durch {@link #setMaxResidentGames(int)} begrenzt. Die am längsten nicht
+ * benutzten und alle länger als {@link #setIdleEvictionMillis(long)} ruhenden Spiele werden auf die Festplatte
+ * ausgelagert und beim nächsten Befehl der Session wieder eingelesen.
+ * <p>
+ * Die Einstellungen müssen vor {@link #start()} gesetzt werden.
+ */
+public class GameServer implements AutoCloseable {
+
+    private final int port;
+
+    private int reactorCount = Runtime.getRuntime().availableProcessors();
+    private int maxSessions = 16384;
+    private CardFactory cardFactory = CardFactory.getDefaultFactory();
+    private boolean recordScores = false;
+    private int maxResidentGames = 4096;
+    private long idleEvictionMillis = 30_000;
+    private Path spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+
+    private final AtomicInteger sessions = new AtomicInteger();
+    final AtomicInteger residentGames = new AtomicInteger();
+    final AtomicInteger spilledGames = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+    private Reactor[] reactors;
+    private Thread acceptor;
+    private volatile boolean acceptPaused;
+
+    /**
+     * @param port Der Port auf dem Loopback-Interface oder {@code 0} für einen freien Port
+     */
+    public GameServer(int port) {
+
+        if (port < 0 || port > 0xFFFF) {
+
+            throw new IllegalArgumentException("Invalid argument: port must be in [0, 65535], received: " + port);
+        }
+
+        this.port = port;
+    }
+
+    /**
+     * @param reactors Anzahl der Threads, die Verbindungen bedienen. Standardmäßig die Anzahl der Kerne.
+     */
+    public void setReactors(int reactors) {
+
+        if (reactors < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: reactors must be greater than 0, received: " + reactors);
+        }
+
+        this.reactorCount = reactors;
+    }
+
+    /**
+     * @param maxSessions Höchstzahl gleichzeitiger Verbindungen. Standardmäßig {@code 16384}.
+     */
+    public void setMaxSessions(int maxSessions) {
+
+        if (maxSessions < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: maxSessions must be greater than 0, received: " + maxSessions);
+        }
+
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * @param cardFactory Die Factory für alle Spiele. Standardmäßig {@link CardFactory#getDefaultFactory()}.
+     */
+    public void setCardFactory(CardFactory cardFactory) {
+
+        this.cardFactory = cardFactory;
+    }
+
+    /**
+     * @param recordScores {@code true}, wenn beendete Spiele in die {@link ScoreBoard} eingetragen werden sollen
+     */
+    public void setRecordScores(boolean recordScores) {
+
+        this.recordScores = recordScores;
+    }
+
+    /**
+     * @param maxResidentGames Höchstzahl der Spiele im Speicher über alle Reactors. Standardmäßig {@code 4096}.
+     */
+    public void setMaxResidentGames(int maxResidentGames) {
+
+        if (maxResidentGames < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: maxResidentGames must be greater than 0, received: " + maxResidentGames);
+        }
+
+        this.maxResidentGames = maxResidentGames;
+    }
+
+    /**
+     * @param idleEvictionMillis Leerlaufzeit, nach der ein Spiel ausgelagert wird, oder {@code 0}, um nur bei
+     *                           Überschreiten von {@link #setMaxResidentGames(int)} auszulagern. Standardmäßig
+     *                           {@code 30000}.
+     */
+    public void setIdleEvictionMillis(long idleEvictionMillis) {
+
+        if (idleEvictionMillis < 0) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: idleEvictionMillis must not be negative, received: " + idleEvictionMillis);
+        }
+
+        this.idleEvictionMillis = idleEvictionMillis;
+    }
+
+    /**
+     * @param spillDirectory Das Verzeichnis für ausgelagerte Spiele. Standardmäßig {@code java.io.tmpdir}.
+     */
+    public void setSpillDirectory(Path spillDirectory) {
+
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Öffnet den Port und startet Acceptor und Reactors. Die {@link EngineMetrics} werden dabei per JMX
+     * veröffentlicht.
+     *
+     * @throws IOException           Wenn der Port nicht geöffnet werden kann
+     * @throws IllegalStateException Wenn der Server bereits gestartet wurde
+     */
+    public synchronized void start() throws IOException {
+
+        if (this.serverChannel != null) {
+
+            throw new IllegalStateException("Server already started");
+        }
+
+        EngineMetrics.register();
+
+        this.serverChannel = ServerSocketChannel.open();
+        this.reactors = new Reactor[this.reactorCount];
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port), 4096);
+
+        for (int i = 0; i < this.reactors.length; i++) {
+
+            this.reactors[i] = new Reactor(this, this.spillDirectory,
+                    Math.max(1, this.maxResidentGames / this.reactors.length), this.idleEvictionMillis * 1_000_000L);
+
+            Thread thread = new Thread(this.reactors[i], "game-server-reactor-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        this.acceptor = new Thread(this::accept, "game-server-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    /**
+     * @return Der tatsächliche Port, auch wenn {@code 0} übergeben wurde
+     */
+    public int getPort() {
+
+        if (this.serverChannel == null) {
+
+            throw new IllegalStateException("Server not started");
+        }
+
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return Die Anzahl der aktuell offenen Verbindungen
+     */
+    public int getSessionCount() {
+
+        return this.sessions.get();
+    }
+
+    /**
+     * Schließt den Port und alle Verbindungen.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (this.serverChannel == null) {
+
+            return;
+        }
+
+        try {
+
+            this.serverChannel.close();
+
+            if (this.acceptor != null) {
+
+                LockSupport.unpark(this.acceptor);
+                this.acceptor.join();
+            }
+        } catch (IOException e) {
+
+            // Der Port ist dann bereits geschlossen
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+        }
+
+        for (Reactor reactor : this.reactors) {
+
+            if (reactor != null) {
+
+                reactor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @return Die Anzahl der Spiele im Speicher
+     */
+    public int getResidentGames() {
+
+        return this.residentGames.get();
+    }
+
+    /**
+     * @return Die Anzahl der ausgelagerten Spiele
+     */
+    public int getSpilledGames() {
+
+        return this.spilledGames.get();
+    }
+
+    CardFactory getCardFactory() {
+
+        return this.cardFactory;
+    }
+
+    boolean isRecordScores() {
+
+        return this.recordScores;
+    }
+
+    void sessionClosed() {
+
+        this.sessions.decrementAndGet();
+
+        if (this.acceptPaused) {
+
+            LockSupport.unpark(this.acceptor);
+        }
+    }
+
+    private void accept() {
+
+        int next = 0;
+        long pauseNanos = 0;
+
+        while (true) {
+
+            SocketChannel channel;
+
+            try {
+
+                channel = this.serverChannel.accept();
+            } catch (ClosedChannelException e) {
+
+                return;
+            } catch (IOException e) {
+
+                // z.B. zu viele offene Dateien. Sofort erneut anzunehmen würde nur wieder scheitern.
+                pauseNanos = this.pauseAccept(pauseNanos);
+                continue;
+            }
+
+            pauseNanos = 0;
+
+            if (this.sessions.incrementAndGet() > this.maxSessions) {
+
+                this.sessions.decrementAndGet();
+                GameServer.reject(channel);
+                continue;
+            }
+
+            try {
+
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+
+                this.sessions.decrementAndGet();
+                GameServer.closeQuietly(channel);
+                continue;
+            }
+
+            this.reactors[next].register(channel);
+            next = (next + 1) % this.reactors.length;
+        }
+    }
+
+    /**
+     * Pausiert das Annehmen, bis eine Session endet oder die Pause abläuft. Jede weitere Pause in Folge dauert
+     * doppelt so lange, höchstens eine Sekunde.
+     *
+     * @return Die Dauer dieser Pause für den nächsten Aufruf
+     */
+    private long pauseAccept(long previousNanos) {
+
+        long pauseNanos = Math.min(Math.max(1_000_000L, previousNanos * 2), 1_000_000_000L);
+
+        this.acceptPaused = true;
+        LockSupport.parkNanos(this, pauseNanos);
+        this.acceptPaused = false;
+
+        return pauseNanos;
+    }
+
+    private static void reject(SocketChannel channel) {
+
+        try {
+
+            channel.write(ByteBuffer.wrap((ServerProtocol.ERR + " Server full\n").getBytes(StandardCharsets.US_ASCII)));
+        } catch (IOException e) {
+
+            // Der Client ist bereits weg
+        }
+
+        GameServer.closeQuietly(channel);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+
+        try {
+
+            channel.close();
+        } catch (IOException e) {
+
+            // Nichts mehr zu tun
+        }
+    }
+}
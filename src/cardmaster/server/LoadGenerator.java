@@ -0,0 +1,335 @@
+package cardmaster.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import cardmaster.collections.LongAlgoArrayList;
+import cardmaster.random.RandomSource;
+
+/**
+ * Erzeugt Last auf einem lokalen {@link GameServer}. Es werden viele Verbindungen gleichzeitig geöffnet, die jeweils
+ * zufällig Spiele bis zum Ende spielen: bezahlbare Karten kaufen, zufällige Karten auf zufällige Stapel legen und
+ * danach ein neues Spiel starten. Jede Verbindung hat immer genau eine offene Anfrage. Alle Verbindungen werden von
+ * einem einzigen Thread über einen {@link Selector} bedient.
+ */
+public class LoadGenerator {
+
+    private final InetSocketAddress address;
+
+    private int connections = 1000;
+    private long durationMillis = 5000;
+    private int maxRounds = 3;
+    private long seed = System.nanoTime();
+
+    /**
+     * @param port Der Port des Servers auf dem Loopback-Interface
+     */
+    public LoadGenerator(int port) {
+
+        this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * @param connections Anzahl der gleichzeitigen Verbindungen. Standardmäßig {@code 1000}.
+     */
+    public void setConnections(int connections) {
+
+        if (connections < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: connections must be greater than 0, received: " + connections);
+        }
+
+        this.connections = connections;
+    }
+
+    /**
+     * @param durationMillis Dauer der Last in Millisekunden, ohne den Verbindungsaufbau. Standardmäßig {@code 5000}.
+     */
+    public void setDurationMillis(long durationMillis) {
+
+        if (durationMillis < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: durationMillis must be greater than 0, received: " + durationMillis);
+        }
+
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @param maxRounds Anzahl der Runden pro Spiel. Standardmäßig {@code 3}.
+     */
+    public void setMaxRounds(int maxRounds) {
+
+        if (maxRounds < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: maxRounds must be greater than 0, received: " + maxRounds);
+        }
+
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * @param seed Startwert für die Entscheidungen der Clients und die Seeds der Spiele
+     */
+    public void setSeed(long seed) {
+
+        this.seed = seed;
+    }
+
+    /**
+     * Öffnet alle Verbindungen, erzeugt Last für die eingestellte Dauer und schließt die Verbindungen wieder.
+     *
+     * @return Das Ergebnis des Laufs
+     * @throws IOException Wenn eine Verbindung nicht geöffnet werden kann
+     */
+    public LoadReport run() throws IOException {
+
+        RandomSource random = RandomSource.seeded(this.seed);
+        LongAlgoArrayList latencies = new LongAlgoArrayList(1 << 16);
+        ByteBuffer buffer = ByteBuffer.allocate(Reactor.READ_CHUNK * 4);
+        Client[] clients = new Client[this.connections];
+
+        try (Selector selector = Selector.open()) {
+
+            try {
+
+                for (int i = 0; i < clients.length; i++) {
+
+                    SocketChannel channel = SocketChannel.open(this.address);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    channel.configureBlocking(false);
+
+                    clients[i] = new Client(channel, random.split());
+                    channel.register(selector, SelectionKey.OP_READ, clients[i]);
+                }
+
+                long start = System.nanoTime();
+                long deadline = start + this.durationMillis * 1_000_000L;
+
+                for (Client client : clients) {
+
+                    client.send(client.newGame());
+                }
+
+                while (System.nanoTime() < deadline) {
+
+                    selector.select(Math.max(1, (deadline - System.nanoTime()) / 1_000_000L));
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+                    while (keys.hasNext()) {
+
+                        Client client = (Client) keys.next().attachment();
+                        keys.remove();
+                        client.onReadable(buffer, latencies);
+                    }
+                }
+
+                long requests = 0;
+                long games = 0;
+                long errors = 0;
+
+                for (Client client : clients) {
+
+                    requests += client.requests;
+                    games += client.games;
+                    errors += client.errors;
+                }
+
+                return new LoadReport(clients.length, requests, games, errors, System.nanoTime() - start, latencies);
+            } finally {
+
+                for (Client client : clients) {
+
+                    if (client != null) {
+
+                        client.channel.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Startet einen Server auf einem freien Port und erzeugt Last darauf.
+     *
+     * @param args Optional die Anzahl der Verbindungen und die Dauer in Sekunden
+     */
+    public static void main(String[] args) throws IOException {
+
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        try (GameServer server = new GameServer(0)) {
+
+            server.setMaxSessions(connections);
+            server.start();
+
+            LoadGenerator generator = new LoadGenerator(server.getPort());
+            generator.setConnections(connections);
+            generator.setDurationMillis(seconds * 1000L);
+
+            System.out.println(generator.run());
+        }
+    }
+
+    /**
+     * Eine Verbindung mit ihrer zufälligen Spielstrategie.
+     */
+    private final class Client {
+
+        private final SocketChannel channel;
+        private final RandomSource random;
+        private final StringBuilder line = new StringBuilder(128);
+
+        private long sentAt;
+        private boolean sentEnd;
+        private boolean boughtCard;
+
+        private long requests;
+        private long games;
+        private long errors;
+
+        Client(SocketChannel channel, RandomSource random) {
+
+            this.channel = channel;
+            this.random = random;
+        }
+
+        void onReadable(ByteBuffer buffer, LongAlgoArrayList latencies) throws IOException {
+
+            buffer.clear();
+
+            if (this.channel.read(buffer) < 0) {
+
+                throw new IOException("Server closed the connection");
+            }
+
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+
+                char c = (char) buffer.get();
+
+                if (c != '\n') {
+
+                    this.line.append(c);
+                    continue;
+                }
+
+                latencies.add(System.nanoTime() - this.sentAt);
+                this.requests++;
+
+                String next = this.next(this.line.toString());
+                this.line.setLength(0);
+                this.send(next);
+            }
+        }
+
+        void send(String command) throws IOException {
+
+            ByteBuffer bytes = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII));
+
+            this.sentEnd = command.equals(ServerProtocol.END);
+            this.sentAt = System.nanoTime();
+
+            while (bytes.hasRemaining()) {
+
+                this.channel.write(bytes);
+            }
+        }
+
+        String newGame() {
+
+            this.boughtCard = false;
+            return ServerProtocol.NEW + " " + maxRounds + " " + this.random.nextLong();
+        }
+
+        /**
+         * Wählt die nächste Anfrage anhand der Antwort.
+         */
+        private String next(String response) {
+
+            String[] fields = response.split(" ");
+
+            if (!fields[0].equals(ServerProtocol.OK)) {
+
+                this.errors++;
+                return this.newGame();
+            }
+
+            switch (fields[1]) {
+
+            case "SHOPPING":
+
+                return this.shop(fields);
+
+            case "PLAYING":
+
+                int handCards = Integer.parseInt(fields[6]);
+                int stacks = fields[5].split(",").length;
+
+                if (handCards == 0) {
+
+                    return this.newGame();
+                }
+
+                return ServerProtocol.PLAY + " " + this.random.nextInt(handCards) + " " + this.random.nextInt(stacks);
+
+            default:
+
+                this.games++;
+                return this.newGame();
+            }
+        }
+
+        private String shop(String[] fields) {
+
+            if (this.sentEnd) {
+
+                return this.newGame(); // Das Einkaufen konnte nicht beendet werden
+            }
+
+            if (this.boughtCard && this.random.nextDouble() < 0.4) {
+
+                return ServerProtocol.END;
+            }
+
+            double credits = Double.parseDouble(fields[4]);
+            int items = Integer.parseInt(fields[6]);
+            int candidates = 0;
+            int choice = -1;
+
+            for (int i = 0; i < items; i++) {
+
+                String item = fields[7 + i];
+                int colon = item.indexOf(':');
+
+                if (Integer.parseInt(item.substring(0, colon)) <= credits
+                        && !item.startsWith(ServerProtocol.UPGRADE, colon + 1)
+                        && this.random.nextInt(++candidates) == 0) {
+
+                    choice = i;
+                }
+            }
+
+            if (choice < 0) {
+
+                return ServerProtocol.END;
+            }
+
+            this.boughtCard = true;
+            return ServerProtocol.BUY + " " + choice;
+        }
+    }
+}
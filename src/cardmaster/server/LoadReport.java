@@ -0,0 +1,107 @@
+package cardmaster.server;
+
+import cardmaster.collections.LongAlgoArrayList;
+
+/**
+ * Ergebnis eines Laufs des {@link LoadGenerator}.
+ */
+public class LoadReport {
+
+    private final int connections;
+    private final long requests;
+    private final long games;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+
+    LoadReport(int connections, long requests, long games, long errors, long elapsedNanos,
+            LongAlgoArrayList latencies) {
+
+        this.connections = connections;
+        this.requests = requests;
+        this.games = games;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+
+        latencies.sort();
+        this.sortedLatencies = latencies.toArray();
+    }
+
+    /**
+     * @return Die Anzahl der gleichzeitig offenen Verbindungen
+     */
+    public int getConnections() {
+
+        return this.connections;
+    }
+
+    /**
+     * @return Die Anzahl der beantworteten Anfragen
+     */
+    public long getRequests() {
+
+        return this.requests;
+    }
+
+    /**
+     * @return Die Anzahl der bis zum Ende gespielten Spiele
+     */
+    public long getGames() {
+
+        return this.games;
+    }
+
+    /**
+     * @return Die Anzahl der Antworten mit {@code ERR}
+     */
+    public long getErrors() {
+
+        return this.errors;
+    }
+
+    /**
+     * @return Die Laufzeit in Nanosekunden
+     */
+    public long getElapsedNanos() {
+
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return Die beantworteten Anfragen pro Sekunde
+     */
+    public double getRequestsPerSecond() {
+
+        return this.elapsedNanos == 0 ? Double.NaN : this.requests * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Liefert ein Perzentil der Antwortzeiten nach der Nearest-Rank-Methode.
+     *
+     * @param p Das Perzentil aus dem Intervall {@code [0, 100]}
+     * @return Die Antwortzeit in Mikrosekunden oder {@code NaN}, wenn keine Anfrage beantwortet wurde
+     */
+    public double latencyMicros(double p) {
+
+        if (p < 0 || p > 100 || Double.isNaN(p)) {
+
+            throw new IllegalArgumentException("Invalid argument: p must be in [0, 100], received: " + p);
+        }
+
+        if (this.sortedLatencies.length == 0) {
+
+            return Double.NaN;
+        }
+
+        int rank = (int) Math.ceil(p / 100.0 * this.sortedLatencies.length);
+        return this.sortedLatencies[Math.max(0, rank - 1)] / 1e3;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("%d connections, %d requests (%.0f/s), %d games, %d errors, latency p50 %.0f us, "
+                + "p99 %.0f us, max %.0f us", this.connections, this.requests, this.getRequestsPerSecond(), this.games,
+                this.errors, this.latencyMicros(50), this.latencyMicros(99), this.latencyMicros(100));
+    }
+}
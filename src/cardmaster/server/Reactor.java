@@ -0,0 +1,172 @@
+package cardmaster.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Ein Thread mit eigenem {@link Selector}, der die Verbindungen eines Teils der Sessions bedient. Die Anfragen werden
+ * direkt im Reactor-Thread ausgeführt, da ein Spielzug nur wenige Mikrosekunden dauert. Lese-Puffer,
+ * Antwort-Builder und {@link SessionCache} werden von allen Sessions des Reactors geteilt.
+ */
+final class Reactor implements Runnable {
+
+    static final int READ_CHUNK = 4 * ServerProtocol.MAX_LINE;
+
+    private final GameServer server;
+    private final Selector selector;
+    private final SpillStore store;
+    private final SessionCache cache;
+    private final long idleNanos;
+    private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK);
+    private final StringBuilder response = new StringBuilder(256);
+
+    private volatile boolean running = true;
+
+    /**
+     * @param server         Der Server
+     * @param spillDirectory Das Verzeichnis für ausgelagerte Spiele
+     * @param maxResident    Höchstzahl der Spiele dieses Reactors im Speicher
+     * @param idleNanos      Leerlaufzeit, nach der ein Spiel ausgelagert wird, oder {@code 0}
+     */
+    Reactor(GameServer server, Path spillDirectory, int maxResident, long idleNanos) throws IOException {
+
+        this.server = server;
+        this.store = new SpillStore(spillDirectory);
+        this.cache = new SessionCache(server, this.store, maxResident);
+        this.idleNanos = idleNanos;
+
+        try {
+
+            this.selector = Selector.open();
+        } catch (IOException e) {
+
+            this.store.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Übergibt eine neue Verbindung an diesen Reactor. Kann aus jedem Thread aufgerufen werden.
+     */
+    void register(SocketChannel channel) {
+
+        this.pending.add(channel);
+        this.selector.wakeup();
+    }
+
+    /**
+     * Beendet den Reactor und schließt alle seine Verbindungen.
+     */
+    void shutdown() {
+
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+
+        long sweepNanos = this.idleNanos / 4;
+        long nextSweep = System.nanoTime() + sweepNanos;
+
+        try {
+
+            while (this.running) {
+
+                this.selector.select(this.idleNanos == 0 ? 0 : Math.max(1, sweepNanos / 1_000_000L));
+                this.registerPending();
+
+                if (this.idleNanos > 0 && System.nanoTime() - nextSweep >= 0) {
+
+                    this.cache.evictIdle(System.nanoTime() - this.idleNanos);
+                    nextSweep = System.nanoTime() + sweepNanos;
+                }
+
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+
+                while (keys.hasNext()) {
+
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    this.handle(key);
+                }
+            }
+        } catch (IOException e) {
+
+            // Der Selector ist defekt, alle Verbindungen dieses Reactors werden geschlossen
+        } finally {
+
+            this.closeAll();
+        }
+    }
+
+    private void handle(SelectionKey key) {
+
+        Session session = (Session) key.attachment();
+
+        try {
+
+            if (key.isWritable()) {
+
+                session.onWritable(this.buffer, this.response);
+            } else if (key.isReadable()) {
+
+                session.onReadable(this.buffer, this.response);
+            }
+        } catch (IOException | CancelledKeyException e) {
+
+            session.close();
+        }
+    }
+
+    private void registerPending() {
+
+        SocketChannel channel;
+
+        while ((channel = this.pending.poll()) != null) {
+
+            Session session = new Session(this.server, this.cache, channel);
+
+            try {
+
+                session.setKey(channel.register(this.selector, SelectionKey.OP_READ, session));
+            } catch (IOException e) {
+
+                session.close();
+            }
+        }
+    }
+
+    private void closeAll() {
+
+        for (SelectionKey key : this.selector.keys()) {
+
+            ((Session) key.attachment()).close();
+        }
+
+        SocketChannel channel;
+
+        while ((channel = this.pending.poll()) != null) {
+
+            new Session(this.server, this.cache, channel).close();
+        }
+
+        try {
+
+            this.selector.close();
+            this.store.close();
+        } catch (IOException e) {
+
+            // Nichts mehr zu tun
+        }
+    }
+}
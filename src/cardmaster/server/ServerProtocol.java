@@ -0,0 +1,159 @@
+package cardmaster.server;
+
+import cardmaster.Action;
+import cardmaster.Game;
+import cardmaster.Game.Mode;
+import cardmaster.Upgrade;
+import cardmaster.cards.Card;
+
+/**
+ * Das Zeilenprotokoll des {@link GameServer}. Jede Anfrage und jede Antwort ist eine ASCII-Zeile mit {@code '\n'} am
+ * Ende, Felder sind durch ein Leerzeichen getrennt.
+ * 
+ * <pre>
+ * NEW maxRounds [seed]  Startet ein neues Spiel für diese Verbindung
+ * BUY shopItemIndex
+ * END                   Beendet das Einkaufen
+ * PLAY handCardIndex stackIndex
+ * APPLY action...       Führt mehrere Aktionen atomar aus, siehe {@link Game#apply}
+ * STATE
+ * QUIT                  Schließt die Verbindung
+ * </pre>
+ * 
+ * Aktionen für {@code APPLY} sind {@code B<shopItemIndex>}, {@code E} und {@code P<handCardIndex>:<stackIndex>},
+ * z.B. {@code APPLY B0 B2 E}. Schlägt eine Aktion fehl, bleibt das Spiel unverändert und die Antwort ist
+ * {@code ERR Action <index> failed}.
+ * 
+ * Die Antwort ist {@code ERR <Meldung>} oder {@code OK} gefolgt vom Spielstand:
+ * 
+ * <pre>
+ * OK mode round maxRounds credits tops count entry...
+ * </pre>
+ * 
+ * {@code tops} sind die Formen der obersten Karten aller Stapel durch Komma getrennt, {@code -} für einen leeren
+ * Stapel. Im Shopping-Modus folgen {@code count} Gegenstände des Shops als {@code preis:FORM:Name} bzw.
+ * {@code preis:UPGRADE:NAME}, im Playing-Modus {@code count} Handkarten als {@code FORM:Name}.
+ */
+final class ServerProtocol {
+
+    static final int MAX_LINE = 256;
+
+    static final String NEW = "NEW";
+    static final String BUY = "BUY";
+    static final String END = "END";
+    static final String PLAY = "PLAY";
+    static final String APPLY = "APPLY";
+    static final String STATE = "STATE";
+    static final String QUIT = "QUIT";
+
+    static final String OK = "OK";
+    static final String ERR = "ERR";
+    static final String UPGRADE = "UPGRADE";
+
+    private ServerProtocol() {
+    }
+
+    /**
+     * Liest eine Aktion für {@code APPLY}.
+     *
+     * @param token z.B. {@code B3}, {@code E} oder {@code P0:1}
+     * @return Die Aktion
+     * @throws IllegalArgumentException bei einer unbekannten Aktion
+     */
+    static Action parseAction(String token) {
+
+        switch (token.charAt(0)) {
+
+        case 'B':
+            return Action.buy(Integer.parseInt(token, 1, token.length(), 10));
+
+        case 'E':
+            if (token.length() == 1) {
+
+                return Action.endShopping();
+            }
+            break;
+
+        case 'P':
+            int colon = token.indexOf(':');
+
+            if (colon > 1) {
+
+                return Action.play(Integer.parseInt(token, 1, colon, 10),
+                        Integer.parseInt(token, colon + 1, token.length(), 10));
+            }
+            break;
+
+        default:
+            break;
+        }
+
+        throw new IllegalArgumentException("Unknown action: " + token);
+    }
+
+    /**
+     * Hängt {@code OK} und den Spielstand an {@code out} an.
+     */
+    static void appendState(Game game, StringBuilder out) {
+
+        Mode mode = game.getMode();
+
+        out.append(OK).append(' ').append(mode.name()).append(' ').append(game.getCurrentRound()).append(' ')
+                .append(game.maxRounds()).append(' ').append(game.getCredits()).append(' ');
+
+        for (int i = 0; i < game.getStacksCount(); i++) {
+
+            Card top = game.getDiscardPileTopCard(i);
+
+            if (i > 0) {
+
+                out.append(',');
+            }
+
+            out.append(top == null ? "-" : top.getShape().name());
+        }
+
+        if (mode == Mode.SHOPPING) {
+
+            Object[] items = game.getAllShopItems();
+            int[] prices = game.getAllShopItemPrices();
+
+            out.append(' ').append(items.length);
+
+            for (int i = 0; i < items.length; i++) {
+
+                out.append(' ').append(prices[i]).append(':');
+                appendItem(items[i], out);
+            }
+        } else if (mode == Mode.PLAYING) {
+
+            int count = game.getHandCardsCount();
+
+            out.append(' ').append(count);
+
+            for (int i = 0; i < count; i++) {
+
+                out.append(' ');
+                appendItem(game.getHandCard(i), out);
+            }
+        } else {
+
+            out.append(" 0");
+        }
+    }
+
+    private static void appendItem(Object item, StringBuilder out) {
+
+        if (item instanceof Card) {
+
+            Card card = (Card) item;
+            out.append(card.getShape().name()).append(':').append(card.getName());
+        } else if (item instanceof Upgrade) {
+
+            out.append(UPGRADE).append(':').append(((Upgrade) item).getDescription().name());
+        } else {
+
+            out.append(String.valueOf(item).replace(' ', '_'));
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package cardmaster.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import cardmaster.Action;
+import cardmaster.Game;
+
+/**
+ * Eine Verbindung zum {@link GameServer} mit ihrem Spiel. Sessions werden nur vom Thread ihres {@link Reactor}
+ * bearbeitet und sind daher nicht synchronisiert.
+ * <p>
+ * Pro Verbindung ist immer nur eine Antwort unterwegs: Kann eine Antwort nicht vollständig gesendet werden, werden
+ * keine weiteren Zeilen bearbeitet und nichts gelesen, bis sie gesendet ist. Noch nicht bearbeitete Eingaben sind auf
+ * {@link Reactor#READ_CHUNK} Bytes begrenzt, eine Zeile auf {@link ServerProtocol#MAX_LINE} Bytes. Eine ruhende Session
+ * hält daher nur ihr Spiel, und auch das nur, solange der {@link SessionCache} es nicht ausgelagert hat.
+ */
+final class Session {
+
+    private final GameServer server;
+    private final SessionCache cache;
+    private final SocketChannel channel;
+    private SelectionKey key;
+
+    // Verwaltet vom SessionCache
+    Game game;
+    long spillHandle = -1;
+    long lastAccess;
+    Session prev;
+    Session next;
+
+    private byte[] input;
+    private int inputLength;
+    private ByteBuffer output;
+    private boolean closing;
+    private boolean closed;
+
+    Session(GameServer server, SessionCache cache, SocketChannel channel) {
+
+        this.server = server;
+        this.cache = cache;
+        this.channel = channel;
+    }
+
+    void setKey(SelectionKey key) {
+
+        this.key = key;
+    }
+
+    /**
+     * Liest verfügbare Daten und bearbeitet alle vollständigen Zeilen.
+     */
+    void onReadable(ByteBuffer buffer, StringBuilder response) throws IOException {
+
+        buffer.clear();
+
+        if (this.inputLength > 0) {
+
+            buffer.put(this.input, 0, this.inputLength);
+            this.inputLength = 0;
+        }
+
+        if (this.channel.read(buffer) < 0) {
+
+            this.close();
+            return;
+        }
+
+        buffer.flip();
+        this.process(buffer, response);
+    }
+
+    /**
+     * Sendet den Rest der letzten Antwort und bearbeitet danach die bereits gelesenen Zeilen.
+     */
+    void onWritable(ByteBuffer buffer, StringBuilder response) throws IOException {
+
+        this.channel.write(this.output);
+
+        if (this.output.hasRemaining()) {
+
+            return;
+        }
+
+        this.output = null;
+
+        if (this.closing) {
+
+            this.close();
+            return;
+        }
+
+        buffer.clear();
+        buffer.put(this.input, 0, this.inputLength);
+        this.inputLength = 0;
+        buffer.flip();
+
+        this.process(buffer, response);
+    }
+
+    private void process(ByteBuffer buffer, StringBuilder response) throws IOException {
+
+        byte[] bytes = buffer.array();
+
+        while (this.output == null && !this.closing) {
+
+            int start = buffer.position();
+            int end = Session.indexOfNewline(bytes, start, buffer.limit());
+
+            if (end < 0) {
+
+                break;
+            }
+
+            int length = end - start;
+
+            if (length > 0 && bytes[end - 1] == '\r') {
+
+                length--;
+            }
+
+            buffer.position(end + 1);
+            response.setLength(0);
+            this.closing = !this.execute(new String(bytes, start, length, StandardCharsets.US_ASCII), response);
+            this.send(response);
+        }
+
+        if (this.closing && this.output == null) {
+
+            this.close();
+            return;
+        }
+
+        int remaining = buffer.remaining();
+
+        if (this.output == null && remaining >= ServerProtocol.MAX_LINE) {
+
+            response.setLength(0);
+            response.append(ServerProtocol.ERR).append(" Line too long");
+            this.closing = true;
+            this.send(response);
+
+            if (this.output == null) {
+
+                this.close();
+                return;
+            }
+
+            remaining = 0;
+        }
+
+        if (remaining > 0) {
+
+            if (this.input == null) {
+
+                this.input = new byte[buffer.capacity()];
+            }
+
+            buffer.get(this.input, 0, remaining);
+            this.inputLength = remaining;
+        } else {
+
+            this.input = null;
+        }
+
+        this.key.interestOps(this.output != null ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void send(StringBuilder response) throws IOException {
+
+        response.append('\n');
+        ByteBuffer bytes = ByteBuffer.wrap(response.toString().getBytes(StandardCharsets.UTF_8));
+
+        this.channel.write(bytes);
+
+        if (bytes.hasRemaining()) {
+
+            this.output = bytes;
+        }
+    }
+
+    /**
+     * Führt eine Anfrage aus und schreibt die Antwort ohne Zeilenende in {@code response}.
+     *
+     * @return {@code false}, wenn die Verbindung danach geschlossen werden soll
+     */
+    boolean execute(String line, StringBuilder response) {
+
+        String[] args = line.trim().split(" +");
+        Game game;
+
+        try {
+
+            switch (args[0]) {
+
+            case ServerProtocol.NEW:
+
+                int maxRounds = Session.intArg(args, 1);
+
+                game = args.length > 2
+                        ? new Game(maxRounds, this.server.getCardFactory(), Long.parseLong(args[2]))
+                        : new Game(maxRounds, this.server.getCardFactory());
+                game.setRecordScore(this.server.isRecordScores());
+                this.cache.put(this, game);
+                break;
+
+            case ServerProtocol.BUY:
+
+                game = this.requireGame();
+
+                if (!game.buy(Session.intArg(args, 1))) {
+
+                    response.append(ServerProtocol.ERR).append(" Item not bought");
+                    return true;
+                }
+                break;
+
+            case ServerProtocol.END:
+
+                game = this.requireGame();
+                game.endShopping();
+                break;
+
+            case ServerProtocol.PLAY:
+
+                game = this.requireGame();
+                game.play(Session.intArg(args, 1), Session.intArg(args, 2));
+                break;
+
+            case ServerProtocol.APPLY:
+
+                game = this.requireGame();
+                Action[] actions = new Action[args.length - 1];
+
+                for (int i = 0; i < actions.length; i++) {
+
+                    actions[i] = ServerProtocol.parseAction(args[i + 1]);
+                }
+
+                int failed = game.apply(actions, new double[actions.length]);
+
+                if (failed >= 0) {
+
+                    response.append(ServerProtocol.ERR).append(" Action ").append(failed).append(" failed");
+                    return true;
+                }
+                break;
+
+            case ServerProtocol.STATE:
+
+                game = this.requireGame();
+                break;
+
+            case ServerProtocol.QUIT:
+
+                response.append(ServerProtocol.OK);
+                return false;
+
+            default:
+
+                response.append(ServerProtocol.ERR).append(" Unknown command: ").append(args[0]);
+                return true;
+            }
+        } catch (RuntimeException e) {
+
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            response.append(ServerProtocol.ERR).append(' ').append(message.replace('\n', ' '));
+            return true;
+        }
+
+        ServerProtocol.appendState(game, response);
+        return true;
+    }
+
+    void close() {
+
+        if (this.closed) {
+
+            return;
+        }
+
+        this.closed = true;
+        this.cache.remove(this);
+
+        if (this.key != null) {
+
+            this.key.cancel();
+        }
+
+        try {
+
+            this.channel.close();
+        } catch (IOException e) {
+
+            // Die Verbindung ist ohnehin beendet
+        }
+
+        this.server.sessionClosed();
+    }
+
+    private Game requireGame() {
+
+        Game game = this.cache.acquire(this);
+
+        if (game == null) {
+
+            throw new IllegalStateException("No game, send NEW first");
+        }
+
+        return game;
+    }
+
+    private static int intArg(String[] args, int index) {
+
+        if (index >= args.length) {
+
+            throw new IllegalArgumentException("Missing argument " + index + " for " + args[0]);
+        }
+
+        return Integer.parseInt(args[index]);
+    }
+
+    private static int indexOfNewline(byte[] bytes, int from, int to) {
+
+        for (int i = from; i < to; i++) {
+
+            if (bytes[i] == '\n') {
+
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,237 @@
+package cardmaster.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import cardmaster.Game;
+
+/**
+ * Hält die Spiele der Sessions eines {@link Reactor} im Speicher, höchstens aber eine feste Anzahl. Die Sessions mit
+ * Spiel im Speicher bilden eine doppelt verkettete LRU-Liste über ihre eigenen Felder, Zugriff und Verdrängung kosten
+ * daher O(1) ohne zusätzliche Objekte.
+ * <p>
+ * Wird die Grenze überschritten oder war eine Session länger als die Leerlaufzeit nicht aktiv, wird ihr Spiel per
+ * {@link Game#writeTo(java.io.OutputStream)} in den {@link SpillStore} ausgelagert. Beim nächsten Zugriff wird es transparent wieder
+ * eingelesen.
+ */
+final class SessionCache {
+
+    private final GameServer server;
+    private final SpillStore store;
+    private final int maxResident;
+    private final Buffer buffer = new Buffer();
+
+    private Session head;
+    private Session tail;
+    private int resident;
+
+    /**
+     * @param server      Der Server, für Factory und Zähler
+     * @param store       Der Store für ausgelagerte Spiele
+     * @param maxResident Höchstzahl der Spiele im Speicher
+     */
+    SessionCache(GameServer server, SpillStore store, int maxResident) {
+
+        this.server = server;
+        this.store = store;
+        this.maxResident = maxResident;
+    }
+
+    /**
+     * Liefert das Spiel einer Session und liest es bei Bedarf wieder ein.
+     *
+     * @return Das Spiel oder {@code null}, wenn die Session noch kein Spiel hat
+     * @throws UncheckedIOException Wenn das ausgelagerte Spiel nicht gelesen werden kann. Das Spiel ist dann verloren.
+     */
+    Game acquire(Session session) {
+
+        if (session.game == null) {
+
+            if (session.spillHandle < 0) {
+
+                return null;
+            }
+
+            long handle = session.spillHandle;
+            session.spillHandle = -1;
+            this.server.spilledGames.decrementAndGet();
+
+            try {
+
+                byte[] data = this.store.take(handle);
+                session.game = Game.readFrom(new ByteArrayInputStream(data), this.server.getCardFactory());
+                session.game.setRecordScore(this.server.isRecordScores());
+            } catch (IOException e) {
+
+                throw new UncheckedIOException("Game state lost", e);
+            }
+        }
+
+        this.touch(session);
+        return session.game;
+    }
+
+    /**
+     * Setzt ein neues Spiel für eine Session. Ein ausgelagertes altes Spiel wird verworfen.
+     */
+    void put(Session session, Game game) {
+
+        this.discardSpilled(session);
+        session.game = game;
+        this.touch(session);
+    }
+
+    /**
+     * Entfernt eine geschlossene Session.
+     */
+    void remove(Session session) {
+
+        if (this.isLinked(session)) {
+
+            this.unlink(session);
+        }
+
+        this.discardSpilled(session);
+        session.game = null;
+    }
+
+    /**
+     * Lagert alle Spiele aus, deren Session seit {@code cutoffNanos} nicht aktiv war.
+     */
+    void evictIdle(long cutoffNanos) {
+
+        while (this.tail != null && this.tail.lastAccess - cutoffNanos < 0) {
+
+            if (!this.spill(this.tail)) {
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return Die Anzahl der Spiele im Speicher
+     */
+    int getResident() {
+
+        return this.resident;
+    }
+
+    private void touch(Session session) {
+
+        session.lastAccess = System.nanoTime();
+
+        if (this.head == session) {
+
+            return;
+        }
+
+        if (this.isLinked(session)) {
+
+            this.unlink(session);
+        }
+
+        session.next = this.head;
+
+        if (this.head != null) {
+
+            this.head.prev = session;
+        } else {
+
+            this.tail = session;
+        }
+
+        this.head = session;
+        this.resident++;
+        this.server.residentGames.incrementAndGet();
+
+        while (this.resident > this.maxResident) {
+
+            if (!this.spill(this.tail)) {
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Lagert das Spiel einer Session aus.
+     *
+     * @return {@code false}, wenn nicht geschrieben werden konnte. Das Spiel bleibt dann im Speicher.
+     */
+    private boolean spill(Session session) {
+
+        try {
+
+            this.buffer.reset();
+            session.game.writeTo(this.buffer);
+            session.spillHandle = this.store.write(this.buffer.array(), this.buffer.size());
+        } catch (IOException e) {
+
+            return false;
+        }
+
+        this.unlink(session);
+        session.game = null;
+        this.server.spilledGames.incrementAndGet();
+
+        return true;
+    }
+
+    private void discardSpilled(Session session) {
+
+        if (session.spillHandle >= 0) {
+
+            this.store.free(session.spillHandle);
+            session.spillHandle = -1;
+            this.server.spilledGames.decrementAndGet();
+        }
+    }
+
+    private boolean isLinked(Session session) {
+
+        return session.prev != null || this.head == session;
+    }
+
+    private void unlink(Session session) {
+
+        if (session.prev != null) {
+
+            session.prev.next = session.next;
+        } else {
+
+            this.head = session.next;
+        }
+
+        if (session.next != null) {
+
+            session.next.prev = session.prev;
+        } else {
+
+            this.tail = session.prev;
+        }
+
+        session.prev = null;
+        session.next = null;
+        this.resident--;
+        this.server.residentGames.decrementAndGet();
+    }
+
+    /**
+     * Ein {@link ByteArrayOutputStream}, dessen Array ohne Kopie gelesen werden kann.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+
+            super(512);
+        }
+
+        byte[] array() {
+
+            return this.buf;
+        }
+    }
+}
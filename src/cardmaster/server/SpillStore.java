@@ -0,0 +1,178 @@
+package cardmaster.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cardmaster.collections.LongAlgoArrayList;
+
+/**
+ * Eine Datei, in die ausgelagerte Spiele geschrieben werden. Jeder Eintrag belegt einen Slot, dessen Größe die
+ * nächste Zweierpotenz seiner Länge ist (mindestens {@code 64} Byte). Freigegebene Slots werden pro Größe in einer
+ * Free-List gehalten und wiederverwendet, die Datei wächst daher nur mit der größten Anzahl gleichzeitig
+ * ausgelagerter Spiele und muss nie kompaktiert werden.
+ * <p>
+ * Ein Eintrag wird über ein {@code long}-Handle angesprochen: Offset und Slotgröße. Der Store gehört einem
+ * {@link Reactor} und ist nicht threadsicher. Die Datei wird beim Schließen gelöscht.
+ */
+final class SpillStore implements AutoCloseable {
+
+    private static final int MIN_SLOT_BITS = 6;
+    private static final int SLOT_MASK = 0x3F;
+
+    private final FileChannel channel;
+    private final LongAlgoArrayList[] freeSlots = new LongAlgoArrayList[32];
+    private final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+
+    private long end;
+    private int records;
+
+    /**
+     * @param directory Das Verzeichnis für die Datei
+     * @throws IOException Wenn die Datei nicht angelegt werden kann
+     */
+    SpillStore(Path directory) throws IOException {
+
+        Path file = Files.createTempFile(directory, "cardmaster-spill-", ".bin");
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * Schreibt einen Eintrag. Schlägt das Schreiben fehl, bleibt der Slot frei.
+     *
+     * @return Das Handle des Eintrags
+     */
+    long write(byte[] data, int length) throws IOException {
+
+        int bits = Math.max(MIN_SLOT_BITS, 32 - Integer.numberOfLeadingZeros(length + Integer.BYTES - 1));
+        LongAlgoArrayList free = this.freeSlots[bits];
+        boolean reused = free != null && free.size() > 0;
+        long offset;
+
+        if (reused) {
+
+            offset = free.getItemAtIndex(free.size() - 1);
+            free.delete(free.size() - 1);
+        } else {
+
+            offset = this.end;
+            this.end += 1L << bits;
+        }
+
+        this.header.clear();
+        this.header.putInt(length).flip();
+
+        ByteBuffer[] buffers = { this.header, ByteBuffer.wrap(data, 0, length) };
+        long position = offset;
+
+        try {
+
+            // Auch bei leeren Einträgen muss der Header geschrieben werden
+            while (buffers[0].hasRemaining() || buffers[1].hasRemaining()) {
+
+                position += this.channel.position(position).write(buffers);
+            }
+        } catch (IOException e) {
+
+            if (reused) {
+
+                free.add(offset);
+            } else {
+
+                this.end = offset;
+            }
+
+            throw e;
+        }
+
+        this.records++;
+        return offset << MIN_SLOT_BITS | bits;
+    }
+
+    /**
+     * Liest einen Eintrag und gibt seinen Slot frei.
+     */
+    byte[] take(long handle) throws IOException {
+
+        long offset = handle >>> MIN_SLOT_BITS;
+
+        try {
+
+            this.header.clear();
+            this.readFully(this.header, offset);
+
+            int length = this.header.flip().getInt();
+
+            if (length < 0 || length + Integer.BYTES > 1L << (handle & SLOT_MASK)) {
+
+                throw new IOException("Corrupt spill entry at " + offset);
+            }
+
+            byte[] data = new byte[length];
+            this.readFully(ByteBuffer.wrap(data), offset + Integer.BYTES);
+
+            return data;
+        } finally {
+
+            this.free(handle);
+        }
+    }
+
+    /**
+     * Gibt den Slot eines Eintrags frei, ohne ihn zu lesen.
+     */
+    void free(long handle) {
+
+        int bits = (int) (handle & SLOT_MASK);
+
+        if (this.freeSlots[bits] == null) {
+
+            this.freeSlots[bits] = new LongAlgoArrayList();
+        }
+
+        this.freeSlots[bits].add(handle >>> MIN_SLOT_BITS);
+        this.records--;
+    }
+
+    /**
+     * @return Die Anzahl der Einträge
+     */
+    int getRecords() {
+
+        return this.records;
+    }
+
+    /**
+     * @return Die Größe der Datei in Byte
+     */
+    long getFileSize() {
+
+        return this.end;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        this.channel.close();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+
+        while (buffer.hasRemaining()) {
+
+            int read = this.channel.read(buffer, position);
+
+            if (read < 0) {
+
+                throw new IOException("Unexpected end of spill file at " + position);
+            }
+
+            position += read;
+        }
+    }
+}
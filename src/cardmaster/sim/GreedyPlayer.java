@@ -0,0 +1,33 @@
+package cardmaster.sim;
+
+import java.util.random.RandomGenerator;
+
+import cardmaster.Game;
+import cardmaster.MoveBuffer;
+
+/**
+ * Ein Spieler, der wie {@link RandomPlayer} einkauft, aber immer den Zug mit den meisten Punkten legt. Die Züge
+ * werden per {@link Game#legalPlays(MoveBuffer)} in einen wiederverwendeten Puffer geschrieben, eine Entscheidung
+ * allokiert daher nichts.
+ */
+public class GreedyPlayer extends RandomPlayer {
+
+    private final MoveBuffer moves = new MoveBuffer();
+
+    /**
+     * @param random Zufallsgenerator für die Einkäufe
+     */
+    public GreedyPlayer(RandomGenerator random) {
+
+        super(random);
+    }
+
+    @Override
+    public void playCard(Game game) {
+
+        game.legalPlays(this.moves);
+
+        int best = this.moves.best();
+        game.play(this.moves.getHandCardIndex(best), this.moves.getStackIndex(best));
+    }
+}
@@ -0,0 +1,559 @@
+package cardmaster.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import cardmaster.CardFactory;
+import cardmaster.Game;
+import cardmaster.Game.Mode;
+import cardmaster.GameSnapshot;
+import cardmaster.Player;
+import cardmaster.Shape;
+import cardmaster.cards.Card;
+import cardmaster.collections.IntAlgoArrayList;
+import cardmaster.random.RandomSource;
+
+/**
+ * Ein Spieler, der Käufe und gelegte Karten per Monte-Carlo-Baumsuche (MCTS) bestimmt. Für jede Entscheidung wird
+ * der aktuelle Spielstand per {@link Game#snapshot()} festgehalten. Jeder Worker baut davon ausgehend einen eigenen
+ * Suchbaum: Er steigt per UCB1 bis zu einem Knoten mit noch nicht geprüfter Aktion ab, fügt für diese einen Knoten
+ * hinzu, spielt zufällig bis zum Ende ({@link RandomPlayer}) und trägt den Endpunktestand entlang des Pfads ein. Am
+ * Ende wird die Aktion der Wurzel mit den meisten Besuchen über alle Worker gewählt (Root-Parallelisierung).
+ * <p>
+ * Da Nachziehen und Auffüllen des Shops zufällig sind, stehen die Knoten für Aktionsfolgen und nicht für
+ * Spielstände (Open-Loop). Der Spielstand wird in jeder Iteration neu ausgespielt, ein Knoten wählt daher nur unter
+ * den Aktionen, die im aktuellen Spielstand möglich sind.
+ * <p>
+ * Gleichwertige Aktionen werden nur einmal geprüft: gleiche Karten-Instanzen auf der Hand und Stapel mit gleicher
+ * oberster Form (oder leere Stapel) führen zu denselben Punkten.
+ * <p>
+ * Der Spieler hält einen eigenen Thread-Pool und muss mit {@link #close()} beendet werden.
+ */
+public class MctsPlayer extends Player implements AutoCloseable {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /** Aktion {@link Game#endShopping()}, {@link Game#buy(int)} ist {@code BUY - index}. */
+    private static final int END_SHOPPING = -1;
+    private static final int BUY = -2;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final Worker[] workers;
+    private final RandomSource random;
+
+    private long timeBudgetNanos = 40_000_000L;
+    private long iterationBudget = Long.MAX_VALUE;
+
+    private long lastRollouts;
+    private long lastTreeSize;
+    private long lastElapsedNanos;
+    private long totalRollouts;
+
+    /**
+     * Erstellt einen Spieler, der alle Kerne nutzt.
+     *
+     * @param seed Startwert für die Zufallsgeneratoren der Worker
+     */
+    public MctsPlayer(long seed) {
+
+        this(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param seed        Startwert für die Zufallsgeneratoren der Worker
+     * @param parallelism Anzahl der Worker-Threads
+     */
+    public MctsPlayer(long seed, int parallelism) {
+
+        if (parallelism < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: parallelism must be greater than 0, received: " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+        this.workers = new Worker[parallelism];
+        this.random = RandomSource.seeded(seed);
+    }
+
+    /**
+     * @param millis Zeit pro Entscheidung in Millisekunden. Standardmäßig {@code 40}. Jeder Worker macht trotzdem
+     *               mindestens einen Rollout.
+     */
+    public void setTimeBudgetMillis(long millis) {
+
+        if (millis < 1) {
+
+            throw new IllegalArgumentException("Invalid argument: millis must be greater than 0, received: " + millis);
+        }
+
+        this.timeBudgetNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * @param rollouts Höchstzahl der Rollouts pro Entscheidung über alle Worker. Standardmäßig unbegrenzt, es gilt
+     *                 dann nur das Zeitbudget.
+     */
+    public void setIterationBudget(long rollouts) {
+
+        if (rollouts < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: rollouts must be greater than 0, received: " + rollouts);
+        }
+
+        this.iterationBudget = rollouts;
+    }
+
+    @Override
+    public int shop(Game game) {
+
+        IntAlgoArrayList actions = new IntAlgoArrayList();
+        MctsPlayer.legalActions(game, actions);
+
+        if (actions.size() == 0) {
+
+            return -1;
+        }
+
+        int action = this.search(game, actions);
+
+        return action == END_SHOPPING ? -1 : BUY - action;
+    }
+
+    @Override
+    public void playCard(Game game) {
+
+        IntAlgoArrayList actions = new IntAlgoArrayList();
+        MctsPlayer.legalActions(game, actions);
+
+        int stacks = game.getStacksCount();
+        int action = this.search(game, actions);
+        game.play(action / stacks, action % stacks);
+    }
+
+    /**
+     * @return Die Anzahl der Rollouts der letzten Entscheidung
+     */
+    public long getLastRollouts() {
+
+        return this.lastRollouts;
+    }
+
+    /**
+     * @return Die Anzahl der Knoten in den Suchbäumen aller Worker nach der letzten Entscheidung
+     */
+    public long getLastTreeSize() {
+
+        return this.lastTreeSize;
+    }
+
+    /**
+     * @return Die Rollouts pro Sekunde der letzten Entscheidung über alle Worker
+     */
+    public double getLastRolloutsPerSecond() {
+
+        return this.lastElapsedNanos == 0 ? 0 : this.lastRollouts * 1e9 / this.lastElapsedNanos;
+    }
+
+    /**
+     * @return Die Anzahl aller Rollouts dieses Spielers
+     */
+    public long getTotalRollouts() {
+
+        return this.totalRollouts;
+    }
+
+    /**
+     * Beendet den Thread-Pool des Spielers.
+     */
+    @Override
+    public void close() {
+
+        this.pool.shutdown();
+    }
+
+    /**
+     * Sucht die beste Aktion unter {@code actions} und liefert sie.
+     */
+    private int search(Game game, IntAlgoArrayList actions) {
+
+        if (actions.size() == 1) {
+
+            this.lastRollouts = 0;
+            this.lastTreeSize = 0;
+            this.lastElapsedNanos = 0;
+            return actions.getItemAtIndex(0);
+        }
+
+        GameSnapshot snapshot = game.snapshot();
+        long start = System.nanoTime();
+        long deadline = start + this.timeBudgetNanos;
+        long budgetPerWorker = Math.max(1, this.iterationBudget / this.parallelism);
+
+        List<Callable<Worker>> tasks = new ArrayList<>(this.parallelism);
+
+        for (int w = 0; w < this.parallelism; w++) {
+
+            if (this.workers[w] == null) {
+
+                Game workerGame = new Game(1, new CardFactory(), this.random.split());
+                workerGame.setRecordScore(false);
+                this.workers[w] = new Worker(workerGame);
+            }
+
+            Worker worker = this.workers[w];
+            RandomSource workerRandom = this.random.split();
+            tasks.add(() -> worker.run(snapshot, workerRandom, deadline, budgetPerWorker));
+        }
+
+        long[] visits = new long[actions.size()];
+        double[] sums = new double[actions.size()];
+        long rollouts = 0;
+        long treeSize = 0;
+
+        try {
+
+            for (Future<Worker> future : this.pool.invokeAll(tasks)) {
+
+                Worker worker = future.get();
+
+                for (int i = 0; i < visits.length; i++) {
+
+                    int child = worker.child(0, actions.getItemAtIndex(i));
+
+                    if (child >= 0) {
+
+                        visits[i] += worker.visits[child];
+                        sums[i] += worker.sums[child];
+                    }
+                }
+
+                rollouts += worker.rollouts;
+                treeSize += worker.nodes;
+            }
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        }
+
+        this.lastRollouts = rollouts;
+        this.lastTreeSize = treeSize;
+        this.lastElapsedNanos = System.nanoTime() - start;
+        this.totalRollouts += rollouts;
+
+        int best = 0;
+
+        for (int i = 1; i < visits.length; i++) {
+
+            if (visits[i] > visits[best]
+                    || (visits[i] == visits[best] && sums[i] * visits[best] > sums[best] * visits[i])) {
+
+                best = i;
+            }
+        }
+
+        return actions.getItemAtIndex(best);
+    }
+
+    /**
+     * Füllt {@code actions} mit den Aktionen, die im aktuellen Modus möglich sind. Im Shop ist das
+     * {@link #END_SHOPPING} (falls der Nachziehstapel nicht leer ist) und {@code BUY - i} für jeden bezahlbaren
+     * Gegenstand {@code i}, beim Legen {@code h * stacks + s}.
+     */
+    private static void legalActions(Game game, IntAlgoArrayList actions) {
+
+        actions.clear();
+
+        if (game.getMode() == Mode.SHOPPING) {
+
+            boolean mustBuyCard = game.isDrawPileEmpty();
+
+            if (!mustBuyCard) {
+
+                actions.add(END_SHOPPING);
+            }
+
+            Object[] items = game.getAllShopItems();
+
+            for (int i = 0; i < items.length; i++) {
+
+                if (game.getShopItemPrice(i) <= game.getCredits() && (!mustBuyCard || items[i] instanceof Card)) {
+
+                    actions.add(BUY - i);
+                }
+            }
+        } else if (game.getMode() == Mode.PLAYING) {
+
+            int handCards = game.getHandCardsCount();
+            int stacks = game.getStacksCount();
+            Shape[] topShapes = game.getTopShapes();
+
+            for (int h = 0; h < handCards; h++) {
+
+                if (MctsPlayer.isDuplicateCard(game, h)) {
+
+                    continue;
+                }
+
+                for (int s = 0; s < stacks; s++) {
+
+                    if (!MctsPlayer.isDuplicateStack(topShapes, s)) {
+
+                        actions.add(h * stacks + s);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isDuplicateCard(Game game, int handCardIndex) {
+
+        Card card = game.getHandCard(handCardIndex);
+
+        for (int i = 0; i < handCardIndex; i++) {
+
+            if (game.getHandCard(i) == card) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isDuplicateStack(Shape[] topShapes, int stackIndex) {
+
+        for (int i = 0; i < stackIndex; i++) {
+
+            if (topShapes[i] == topShapes[stackIndex]) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Hält den Suchbaum und das Spiel eines Worker-Threads. Die Knoten liegen in primitiven Arrays, Kinder als
+     * einfach verkettete Liste ({@code firstChild}, {@code nextSibling}). Die Arrays bleiben zwischen den
+     * Entscheidungen erhalten, Knoten {@code 0} ist die Wurzel.
+     */
+    private static final class Worker {
+
+        private final Game game;
+        private final IntAlgoArrayList legal = new IntAlgoArrayList();
+        private final IntAlgoArrayList path = new IntAlgoArrayList();
+        private RandomPlayer policy;
+
+        private int[] action = new int[256];
+        private int[] firstChild = new int[256];
+        private int[] nextSibling = new int[256];
+        private long[] visits = new long[256];
+        private double[] sums = new double[256];
+        private int nodes;
+
+        private long rollouts;
+        private double maxReward;
+
+        Worker(Game game) {
+
+            this.game = game;
+        }
+
+        Worker run(GameSnapshot root, RandomSource random, long deadline, long budget) {
+
+            this.policy = new RandomPlayer(random);
+            this.nodes = 0;
+            this.rollouts = 0;
+            this.maxReward = 1;
+            this.addNode(0);
+
+            // Mindestens ein Rollout, auch wenn der Thread erst nach Ablauf der Frist startet
+            do {
+
+                this.game.restore(root);
+                this.descend();
+
+                double reward = this.rollout();
+
+                for (int i = 0; i < this.path.size(); i++) {
+
+                    int node = this.path.getItemAtIndex(i);
+                    this.visits[node]++;
+                    this.sums[node] += reward;
+                }
+
+                this.maxReward = Math.max(this.maxReward, reward);
+                this.rollouts++;
+            } while (this.rollouts < budget && System.nanoTime() < deadline);
+
+            return this;
+        }
+
+        /**
+         * Auswahl und Erweiterung: Steigt per UCB1 ab, bis eine mögliche Aktion noch keinen Knoten hat. Für diese
+         * wird ein Knoten angelegt. Der Pfad landet in {@link #path}, das Spiel steht danach am Beginn des Rollouts.
+         */
+        private void descend() {
+
+            int node = 0;
+
+            this.path.clear();
+            this.path.add(node);
+
+            while (this.game.getMode() != Mode.END) {
+
+                MctsPlayer.legalActions(this.game, this.legal);
+
+                if (this.legal.size() == 0) {
+
+                    return;
+                }
+
+                double logN = Math.log(Math.max(1, this.visits[node]));
+                double bestScore = Double.NEGATIVE_INFINITY;
+                int bestAction = 0;
+                int bestChild = -1;
+
+                for (int i = 0; i < this.legal.size(); i++) {
+
+                    int a = this.legal.getItemAtIndex(i);
+                    int child = this.child(node, a);
+
+                    if (child < 0) {
+
+                        bestAction = a;
+                        bestChild = -1;
+                        break;
+                    }
+
+                    double mean = this.sums[child] / this.visits[child] / this.maxReward;
+                    double score = mean + EXPLORATION * Math.sqrt(logN / this.visits[child]);
+
+                    if (score > bestScore) {
+
+                        bestScore = score;
+                        bestAction = a;
+                        bestChild = child;
+                    }
+                }
+
+                this.apply(bestAction);
+
+                if (bestChild < 0) {
+
+                    this.path.add(this.addChild(node, bestAction));
+                    return;
+                }
+
+                node = bestChild;
+                this.path.add(node);
+            }
+        }
+
+        /**
+         * @return Der Kindknoten von {@code parent} für {@code a} oder {@code -1}
+         */
+        int child(int parent, int a) {
+
+            for (int c = this.firstChild[parent]; c >= 0; c = this.nextSibling[c]) {
+
+                if (this.action[c] == a) {
+
+                    return c;
+                }
+            }
+
+            return -1;
+        }
+
+        private int addChild(int parent, int a) {
+
+            int node = this.addNode(a);
+            this.nextSibling[node] = this.firstChild[parent];
+            this.firstChild[parent] = node;
+
+            return node;
+        }
+
+        private int addNode(int a) {
+
+            if (this.nodes == this.action.length) {
+
+                int capacity = this.nodes * 2;
+                this.action = Arrays.copyOf(this.action, capacity);
+                this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+                this.nextSibling = Arrays.copyOf(this.nextSibling, capacity);
+                this.visits = Arrays.copyOf(this.visits, capacity);
+                this.sums = Arrays.copyOf(this.sums, capacity);
+            }
+
+            int node = this.nodes++;
+            this.action[node] = a;
+            this.firstChild[node] = -1;
+            this.nextSibling[node] = -1;
+            this.visits[node] = 0;
+            this.sums[node] = 0;
+
+            return node;
+        }
+
+        private void apply(int a) {
+
+            if (a >= 0) {
+
+                int stacks = this.game.getStacksCount();
+                this.game.play(a / stacks, a % stacks);
+            } else if (a == END_SHOPPING) {
+
+                this.game.endShopping();
+            } else {
+
+                this.game.buy(BUY - a);
+            }
+        }
+
+        /**
+         * Spielt zufällig bis zum Ende und liefert den Endpunktestand.
+         */
+        private double rollout() {
+
+            while (this.game.getMode() != Mode.END) {
+
+                if (this.game.getMode() == Mode.PLAYING) {
+
+                    this.policy.playCard(this.game);
+                    continue;
+                }
+
+                int choice = this.game.isShopEmpty() ? -1 : this.policy.shop(this.game);
+
+                if (choice >= 0) {
+
+                    this.game.buy(choice);
+                } else if (!this.game.isDrawPileEmpty()) {
+
+                    this.game.endShopping();
+                } else {
+
+                    break; // Keine Karte bezahlbar, das Spiel kann nicht weiterlaufen
+                }
+            }
+
+            return this.game.getCredits();
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package cardmaster.sim;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import cardmaster.Game;
+import cardmaster.Shape;
+import cardmaster.TableState;
+import cardmaster.cards.Card;
+import cardmaster.cards.CardPool;
+import cardmaster.collections.AlgoArrayList;
+
+/**
+ * Löst die Playing-Phase einer Runde exakt per Expectimax. Die einzige Unsicherheit ist die Ziehreihenfolge, und die
+ * Punkte einer Karte hängen nur von der {@link TableState} ab. Ein Zustand besteht deshalb nur aus:
+ * <ul>
+ * <li>der Hand als Multimenge von Kartenarten,</li>
+ * <li>dem Nachziehstapel als Multimenge von Kartenarten,</li>
+ * <li>der {@link TableState} (nicht leere Stapel und Anzahl oberster Formen).</li>
+ * </ul>
+ * Welcher von mehreren gleichwertigen Stapeln (alle leeren Stapel, alle Stapel mit gleicher oberster Form) gewählt
+ * wird, spielt keine Rolle.
+ * <p>
+ * Bewertete Zustände werden in einer Transpositionstabelle fester Größe unter einem 64-Bit-Zobrist-Hash gespeichert.
+ * Je zwei Einträge bilden einen Bucket. Ist ein Bucket voll, wird der Eintrag mit dem kleineren Teilbaum verdrängt.
+ * Die Tabelle bleibt zwischen Aufrufen von {@link #solve(Game)} erhalten, sodass spätere Züge derselben Runde die
+ * bereits bewerteten Teilbäume wiederverwenden.
+ */
+public class PlaySolver {
+
+    private static final int DEFAULT_TABLE_BITS = 18;
+
+    private static final long TAG_HAND = 1L << 56;
+    private static final long TAG_DRAW = 2L << 56;
+    private static final long TAG_NON_EMPTY = 3L << 56;
+    private static final long TAG_SHAPE = 4L << 56;
+    private static final long TAG_STACKS = 5L << 56;
+
+    private static final Shape[] SHAPES = Shape.values();
+
+    // Transpositionstabelle
+    private final long[] keys;
+    private final double[] values;
+    private final int[] depths;
+    private final int mask;
+
+    private long probes;
+    private long hits;
+    private long stores;
+    private long evictions;
+    private long nodes;
+
+    // Kartenarten, über alle Aufrufe hinweg stabil, damit die Hashes gültig bleiben. Karten ohne Unterkarten über
+    // ihren Code, Kombi-Karten über ihre Darstellung.
+    private final int[] leafKindIds = PlaySolver.noKinds();
+    private final Map<String, Integer> kombiKindIds = new HashMap<>();
+    private final AlgoArrayList<Card> kinds = new AlgoArrayList<>(16);
+
+    // Zustand der laufenden Suche
+    private Card[] cards;
+    private int[] hand;
+    private int[] draw;
+    private int handTotal;
+    private int drawTotal;
+    private int stacks;
+    private TableState table;
+    private long multisetHash;
+
+    /**
+     * Erstellt einen Solver mit einer Tabelle von {@code 2^18} Einträgen.
+     */
+    public PlaySolver() {
+
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * @param tableBits Die Tabelle hat {@code 2^tableBits} Einträge mit je 20 Byte. Aus dem Intervall
+     *                  {@code [1, 28]}.
+     */
+    public PlaySolver(int tableBits) {
+
+        if (tableBits < 1 || tableBits > 28) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: tableBits must be in [1, 28], received: " + tableBits);
+        }
+
+        int size = 1 << tableBits;
+
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.depths = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Bestimmt den Zug mit dem höchsten Erwartungswert an Punkten bis zum Ende der aktuellen Playing-Phase.
+     *
+     * @param game Ein Spiel im Modus {@link Game.Mode#PLAYING}
+     * @return Der beste Zug
+     * @throws cardmaster.IllegalCallException Wenn das Spiel nicht im Playing-Modus ist
+     */
+    public Choice solve(Game game) {
+
+        int handCards = game.getHandCardsCount();
+        Card[] handCardsArray = new Card[handCards];
+
+        for (int i = 0; i < handCards; i++) {
+
+            handCardsArray[i] = game.getHandCard(i);
+        }
+
+        Card[] drawCards = game.getAllDrawPileCards();
+        int[] handKinds = new int[handCards];
+
+        for (int i = 0; i < handCards; i++) {
+
+            handKinds[i] = this.kindOf(handCardsArray[i]);
+        }
+
+        for (Card card : drawCards) {
+
+            this.kindOf(card);
+        }
+
+        this.cards = new Card[this.kinds.size()];
+
+        for (int i = 0; i < this.cards.length; i++) {
+
+            this.cards[i] = (Card) this.kinds.getItemAtIndex(i);
+        }
+
+        this.hand = new int[this.kinds.size()];
+        this.draw = new int[this.kinds.size()];
+        this.handTotal = 0;
+        this.drawTotal = 0;
+        this.stacks = game.getStacksCount();
+        this.table = game.getTableState();
+        this.multisetHash = PlaySolver.zobrist(TAG_STACKS, 0, this.stacks);
+
+        for (int kind : handKinds) {
+
+            this.addHand(kind, 1);
+        }
+
+        for (Card card : drawCards) {
+
+            this.addDraw(this.kindOf(card), 1);
+        }
+
+        Shape[] topShapes = game.getTopShapes();
+        int bestHand = -1;
+        int bestStack = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (int h = 0; h < handCards; h++) {
+
+            if (PlaySolver.seenBefore(handKinds, h)) {
+
+                continue;
+            }
+
+            for (int s = 0; s < topShapes.length; s++) {
+
+                if (PlaySolver.seenBefore(topShapes, s)) {
+
+                    continue;
+                }
+
+                double value = this.playValue(handKinds[h], topShapes[s]);
+
+                if (value > bestValue) {
+
+                    bestValue = value;
+                    bestHand = h;
+                    bestStack = s;
+                }
+            }
+        }
+
+        return new Choice(bestHand, bestStack, bestValue);
+    }
+
+    /**
+     * @return Anzahl der Nachschläge in der Tabelle
+     */
+    public long getProbes() {
+
+        return this.probes;
+    }
+
+    /**
+     * @return Anzahl der Nachschläge, die einen gespeicherten Zustand gefunden haben
+     */
+    public long getHits() {
+
+        return this.hits;
+    }
+
+    /**
+     * @return Anteil der Treffer an allen Nachschlägen oder {@code 0}, wenn noch nichts nachgeschlagen wurde
+     */
+    public double getHitRate() {
+
+        return this.probes == 0 ? 0 : (double) this.hits / this.probes;
+    }
+
+    /**
+     * @return Anzahl der gespeicherten Zustände
+     */
+    public long getStores() {
+
+        return this.stores;
+    }
+
+    /**
+     * @return Anzahl der Einträge, die verdrängt wurden
+     */
+    public long getEvictions() {
+
+        return this.evictions;
+    }
+
+    /**
+     * @return Anzahl der bewerteten Zustände, die nicht in der Tabelle gefunden wurden
+     */
+    public long getNodes() {
+
+        return this.nodes;
+    }
+
+    /**
+     * Setzt die Statistiken zurück. Die Tabelle bleibt erhalten.
+     */
+    public void resetStatistics() {
+
+        this.probes = 0;
+        this.hits = 0;
+        this.stores = 0;
+        this.evictions = 0;
+        this.nodes = 0;
+    }
+
+    /**
+     * Leert die Tabelle.
+     */
+    public void clear() {
+
+        Arrays.fill(this.keys, 0);
+    }
+
+    /**
+     * Erwartete Punkte bis zum Ende der Phase im aktuellen Zustand.
+     */
+    private double value() {
+
+        if (this.handTotal == 0) {
+
+            return 0;
+        }
+
+        long hash = this.hash();
+        int bucket = (int) hash & this.mask & ~1;
+
+        this.probes++;
+
+        for (int i = bucket; i <= bucket + 1; i++) {
+
+            if (this.keys[i] == hash) {
+
+                this.hits++;
+                return this.values[i];
+            }
+        }
+
+        this.nodes++;
+        double best = Double.NEGATIVE_INFINITY;
+        boolean hasEmptyPile = this.table.getNonEmptyPiles() < this.stacks;
+
+        for (int kind = 0; kind < this.hand.length; kind++) {
+
+            if (this.hand[kind] == 0) {
+
+                continue;
+            }
+
+            if (hasEmptyPile) {
+
+                best = Math.max(best, this.playValue(kind, null));
+            }
+
+            for (Shape shape : SHAPES) {
+
+                if (this.table.getTopCount(shape) > 0) {
+
+                    best = Math.max(best, this.playValue(kind, shape));
+                }
+            }
+        }
+
+        this.store(bucket, hash, best, this.handTotal + this.drawTotal);
+        return best;
+    }
+
+    /**
+     * Erwartete Punkte, wenn eine Karte der Art {@code kind} auf einen Stapel mit oberster Form {@code target}
+     * (oder einen leeren Stapel) gelegt wird.
+     */
+    private double playValue(int kind, Shape target) {
+
+        Card card = this.cards[kind];
+        Shape shape = card.getShape();
+
+        this.addHand(kind, -1);
+        this.table.place(target, shape);
+
+        double result = card.calcCredits(this.table);
+
+        if (this.drawTotal == 0) {
+
+            result += this.value();
+        } else {
+
+            double expected = 0;
+            int total = this.drawTotal;
+
+            for (int drawn = 0; drawn < this.draw.length; drawn++) {
+
+                int count = this.draw[drawn];
+
+                if (count == 0) {
+
+                    continue;
+                }
+
+                this.addDraw(drawn, -1);
+                this.addHand(drawn, 1);
+
+                expected += count * this.value();
+
+                this.addHand(drawn, -1);
+                this.addDraw(drawn, 1);
+            }
+
+            result += expected / total;
+        }
+
+        this.table.undoPlace(target, shape);
+        this.addHand(kind, 1);
+
+        return result;
+    }
+
+    private void store(int bucket, long hash, double value, int depth) {
+
+        int slot;
+
+        if (this.keys[bucket] == 0) {
+
+            slot = bucket;
+        } else if (this.keys[bucket + 1] == 0) {
+
+            slot = bucket + 1;
+        } else {
+
+            slot = this.depths[bucket] <= this.depths[bucket + 1] ? bucket : bucket + 1;
+            this.evictions++;
+        }
+
+        this.keys[slot] = hash;
+        this.values[slot] = value;
+        this.depths[slot] = depth;
+        this.stores++;
+    }
+
+    private void addHand(int kind, int delta) {
+
+        int before = this.hand[kind];
+
+        this.hand[kind] += delta;
+        this.handTotal += delta;
+        this.multisetHash ^= PlaySolver.zobrist(TAG_HAND, kind, before)
+                ^ PlaySolver.zobrist(TAG_HAND, kind, this.hand[kind]);
+    }
+
+    private void addDraw(int kind, int delta) {
+
+        int before = this.draw[kind];
+
+        this.draw[kind] += delta;
+        this.drawTotal += delta;
+        this.multisetHash ^= PlaySolver.zobrist(TAG_DRAW, kind, before)
+                ^ PlaySolver.zobrist(TAG_DRAW, kind, this.draw[kind]);
+    }
+
+    private long hash() {
+
+        long hash = this.multisetHash ^ PlaySolver.zobrist(TAG_NON_EMPTY, 0, this.table.getNonEmptyPiles());
+
+        for (Shape shape : SHAPES) {
+
+            hash ^= PlaySolver.zobrist(TAG_SHAPE, shape.ordinal(), this.table.getTopCount(shape));
+        }
+
+        return hash == 0 ? 1 : hash; // 0 markiert leere Einträge
+    }
+
+    /**
+     * Zufälliger, aber fester 64-Bit-Schlüssel für eine Komponente des Zustands (SplitMix64-Finalizer).
+     */
+    private static long zobrist(long tag, int index, int count) {
+
+        long z = tag ^ ((long) index << 24) ^ count;
+
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Liefert die Art einer Karte. Karten ohne Unterkarten punkten bei gleichem Code gleich. Kombi-Karten gleicher
+     * Form und gleicher Darstellung punkten gleich, die Darstellung enthält beide Teilkarten.
+     */
+    private int kindOf(Card card) {
+
+        if (card.getType().isLeaf()) {
+
+            int code = card.getCode();
+
+            if (this.leafKindIds[code] < 0) {
+
+                this.leafKindIds[code] = this.addKind(card);
+            }
+
+            return this.leafKindIds[code];
+        }
+
+        String key = card.getShape() + ":" + card;
+        Integer id = this.kombiKindIds.get(key);
+
+        if (id == null) {
+
+            id = this.addKind(card);
+            this.kombiKindIds.put(key, id);
+        }
+
+        return id;
+    }
+
+    private int addKind(Card card) {
+
+        this.kinds.add(card);
+        return this.kinds.size() - 1;
+    }
+
+    private static int[] noKinds() {
+
+        int[] ids = new int[CardPool.codeCount()];
+
+        Arrays.fill(ids, -1);
+        return ids;
+    }
+
+    private static boolean seenBefore(int[] values, int index) {
+
+        for (int i = 0; i < index; i++) {
+
+            if (values[i] == values[index]) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean seenBefore(Shape[] values, int index) {
+
+        for (int i = 0; i < index; i++) {
+
+            if (values[i] == values[index]) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Ein Zug mit seinem Erwartungswert
+     */
+    public static final class Choice {
+
+        private final int handCardIndex;
+        private final int stackIndex;
+        private final double expectedCredits;
+
+        Choice(int handCardIndex, int stackIndex, double expectedCredits) {
+
+            this.handCardIndex = handCardIndex;
+            this.stackIndex = stackIndex;
+            this.expectedCredits = expectedCredits;
+        }
+
+        /**
+         * @return Der Index der zu legenden Handkarte
+         */
+        public int getHandCardIndex() {
+
+            return this.handCardIndex;
+        }
+
+        /**
+         * @return Der Index des Ablagestapels
+         */
+        public int getStackIndex() {
+
+            return this.stackIndex;
+        }
+
+        /**
+         * @return Die erwarteten Punkte bis zum Ende der Playing-Phase, einschließlich dieses Zugs
+         */
+        public double getExpectedCredits() {
+
+            return this.expectedCredits;
+        }
+
+        @Override
+        public String toString() {
+
+            return "play(" + this.handCardIndex + ", " + this.stackIndex + ") -> " + this.expectedCredits;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cardmaster.sim;
+
+import java.util.random.RandomGenerator;
+
+import cardmaster.Game;
+import cardmaster.Player;
+import cardmaster.cards.Card;
+
+/**
+ * Ein einfacher Spieler für Simulationen, der zufällig bezahlbare Gegenstände kauft und zufällige Karten auf
+ * zufällige Stapel legt. Er dient als Vergleichswert für bessere Strategien.
+ */
+public class RandomPlayer extends Player {
+
+    private final RandomGenerator random;
+    private final double stopShoppingChance;
+
+    /**
+     * @param random Zufallsgenerator dieses Spielers, z.B. der Generator des Simulations-Workers
+     */
+    public RandomPlayer(RandomGenerator random) {
+
+        this(random, 0.3);
+    }
+
+    /**
+     * @param random             Zufallsgenerator dieses Spielers
+     * @param stopShoppingChance Wahrscheinlichkeit, mit der nach einem Kauf nicht weiter eingekauft wird
+     */
+    public RandomPlayer(RandomGenerator random, double stopShoppingChance) {
+
+        this.random = random;
+        this.stopShoppingChance = stopShoppingChance;
+    }
+
+    @Override
+    public int shop(Game game) {
+
+        // Ohne Karte im Nachziehstapel muss eine Karte gekauft werden
+        boolean cardsOnly = game.isDrawPileEmpty();
+
+        if (!cardsOnly && this.random.nextDouble() < this.stopShoppingChance) {
+
+            return -1;
+        }
+
+        Object[] items = game.getAllShopItems();
+        int candidates = 0;
+        int choice = -1;
+
+        for (int i = 0; i < items.length; i++) {
+
+            if (game.getShopItemPrice(i) <= game.getCredits() && (!cardsOnly || items[i] instanceof Card)) {
+
+                // Reservoir-Sampling über alle passenden Gegenstände
+                if (this.random.nextInt(++candidates) == 0) {
+
+                    choice = i;
+                }
+            }
+        }
+
+        return choice;
+    }
+
+    @Override
+    public void playCard(Game game) {
+
+        game.play(this.random.nextInt(game.getHandCardsCount()), this.random.nextInt(game.getStacksCount()));
+    }
+}
@@ -0,0 +1,187 @@
+package cardmaster.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import cardmaster.CardFactory;
+import cardmaster.Game;
+import cardmaster.Player;
+import cardmaster.ScoreBoard;
+import cardmaster.collections.DoubleAlgoArrayList;
+import cardmaster.random.RandomSource;
+
+/**
+ * Spielt viele Spiele ohne Oberfläche parallel auf allen Kernen. Die Spiele werden in einem eigenen
+ * {@link ForkJoinPool} rekursiv in Blöcke geteilt. Jeder Block bekommt eine eigene, per
+ * {@link RandomSource#split()} abgeleitete {@link RandomSource} und einen eigenen {@link Player} aus der
+ * Strategie-Factory. Auch jedes Spiel zieht aus einem eigenen Strom des Blocks, sodass sich die Threads keinen
+ * Generator teilen und ein Lauf mit gleichem Seed dieselben Ergebnisse liefert.
+ * <p>
+ * Die Spiele tragen ihren Punktestand nicht in die {@link ScoreBoard} ein. Erst wenn
+ * {@link #setRecordScores(boolean)} gesetzt ist, werden alle Ergebnisse am Ende nacheinander im aufrufenden Thread
+ * eingetragen.
+ */
+public class Simulation {
+
+    private final Function<? super RandomSource, ? extends Player> playerFactory;
+    private final int games;
+    private final int maxRounds;
+
+    private CardFactory cardFactory = CardFactory.getDefaultFactory();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long seed = System.nanoTime();
+    private boolean recordScores = false;
+
+    /**
+     * @param playerFactory Erzeugt für jeden Block von Spielen einen Spieler. Bekommt den Zufallsgenerator des
+     *                      Blocks.
+     * @param games         Anzahl der Spiele. Muss mindestens {@code 0} sein.
+     * @param maxRounds     Anzahl der Runden pro Spiel. Muss mindestens {@code 1} sein.
+     */
+    public Simulation(Function<? super RandomSource, ? extends Player> playerFactory, int games, int maxRounds) {
+
+        if (games < 0) {
+
+            throw new IllegalArgumentException("Invalid argument: games must not be negative, received: " + games);
+        }
+
+        if (maxRounds < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: maxRounds must be greater than 0, received: " + maxRounds);
+        }
+
+        this.playerFactory = playerFactory;
+        this.games = games;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * @param cardFactory Die Factory für die Spiele. Standardmäßig {@link CardFactory#getDefaultFactory()}.
+     */
+    public void setCardFactory(CardFactory cardFactory) {
+
+        this.cardFactory = cardFactory;
+    }
+
+    /**
+     * @param parallelism Anzahl der Worker-Threads. Standardmäßig die Anzahl der Kerne.
+     */
+    public void setParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+
+            throw new IllegalArgumentException(
+                    "Invalid argument: parallelism must be greater than 0, received: " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param seed Startwert für die Zufallsgeneratoren der Blöcke
+     */
+    public void setSeed(long seed) {
+
+        this.seed = seed;
+    }
+
+    /**
+     * @param recordScores {@code true}, um die Ergebnisse am Ende in die {@link ScoreBoard} einzutragen
+     */
+    public void setRecordScores(boolean recordScores) {
+
+        this.recordScores = recordScores;
+    }
+
+    /**
+     * Führt die Simulation aus und wartet auf alle Spiele.
+     *
+     * @return Die aggregierten Ergebnisse
+     */
+    public SimulationResult run() {
+
+        int batchSize = Math.max(1, this.games / (this.parallelism * 16));
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+
+        long start = System.nanoTime();
+        DoubleAlgoArrayList credits;
+
+        try {
+
+            credits = pool.invoke(new GameBatch(0, this.games, batchSize, RandomSource.seeded(this.seed)));
+        } finally {
+
+            pool.shutdown();
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        if (this.recordScores) {
+
+            ScoreBoard scoreBoard = ScoreBoard.getInstance();
+            credits.forEach(scoreBoard::add);
+        }
+
+        return new SimulationResult(credits, elapsed);
+    }
+
+    /**
+     * Spielt die Spiele {@code [from, to)} oder teilt den Bereich in zwei Hälften.
+     */
+    private final class GameBatch extends RecursiveTask<DoubleAlgoArrayList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        private final transient RandomSource random;
+
+        GameBatch(int from, int to, int batchSize, RandomSource random) {
+
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+            this.random = random;
+        }
+
+        @Override
+        protected DoubleAlgoArrayList compute() {
+
+            if (this.to - this.from <= this.batchSize) {
+
+                return this.play();
+            }
+
+            int mid = (this.from + this.to) >>> 1;
+            GameBatch left = new GameBatch(this.from, mid, this.batchSize, this.random.split());
+            GameBatch right = new GameBatch(mid, this.to, this.batchSize, this.random.split());
+
+            left.fork();
+            DoubleAlgoArrayList rightCredits = right.compute();
+            DoubleAlgoArrayList credits = left.join();
+
+            credits.addAll(rightCredits);
+            return credits;
+        }
+
+        private DoubleAlgoArrayList play() {
+
+            DoubleAlgoArrayList credits = new DoubleAlgoArrayList(this.to - this.from);
+            Player player = playerFactory.apply(this.random.split());
+
+            for (int i = this.from; i < this.to; i++) {
+
+                Game game = new Game(maxRounds, cardFactory, this.random.split());
+                game.setRecordScore(false);
+
+                player.run(game);
+                credits.add(game.getCredits());
+            }
+
+            return credits;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package cardmaster.sim;
+
+import cardmaster.collections.DoubleAlgoArrayList;
+
+/**
+ * Aggregierte Ergebnisse eines Simulationslaufs. Die Endpunktestände aller Spiele werden sortiert gehalten, damit
+ * beliebige Perzentile abgefragt werden können.
+ */
+public class SimulationResult {
+
+    private final double[] sortedCredits;
+    private final long elapsedNanos;
+    private final double mean;
+    private final double standardDeviation;
+
+    /**
+     * @param credits      Die Endpunktestände aller Spiele, in beliebiger Reihenfolge
+     * @param elapsedNanos Die Laufzeit der Simulation in Nanosekunden
+     */
+    SimulationResult(DoubleAlgoArrayList credits, long elapsedNanos) {
+
+        credits.sort();
+        this.sortedCredits = credits.toArray();
+        this.elapsedNanos = elapsedNanos;
+
+        double sum = 0;
+        for (double value : this.sortedCredits) {
+
+            sum += value;
+        }
+        this.mean = this.sortedCredits.length == 0 ? Double.NaN : sum / this.sortedCredits.length;
+
+        double squares = 0;
+        for (double value : this.sortedCredits) {
+
+            squares += (value - this.mean) * (value - this.mean);
+        }
+        this.standardDeviation = this.sortedCredits.length == 0 ? Double.NaN
+                : Math.sqrt(squares / this.sortedCredits.length);
+    }
+
+    /**
+     * @return Die Anzahl der gespielten Spiele
+     */
+    public int getGames() {
+
+        return this.sortedCredits.length;
+    }
+
+    /**
+     * @return Der durchschnittliche Endpunktestand
+     */
+    public double getMean() {
+
+        return this.mean;
+    }
+
+    /**
+     * @return Die Standardabweichung der Endpunktestände
+     */
+    public double getStandardDeviation() {
+
+        return this.standardDeviation;
+    }
+
+    /**
+     * @return Der kleinste Endpunktestand
+     */
+    public double getMin() {
+
+        return this.percentile(0);
+    }
+
+    /**
+     * @return Der größte Endpunktestand
+     */
+    public double getMax() {
+
+        return this.percentile(100);
+    }
+
+    /**
+     * Liefert ein Perzentil der Endpunktestände nach der Nearest-Rank-Methode.
+     *
+     * @param p Das Perzentil aus dem Intervall {@code [0, 100]}, z.B. {@code 50} für den Median
+     * @return Der Endpunktestand an diesem Perzentil oder {@code NaN}, wenn kein Spiel gespielt wurde
+     */
+    public double percentile(double p) {
+
+        if (p < 0 || p > 100 || Double.isNaN(p)) {
+
+            throw new IllegalArgumentException("Invalid argument: p must be in [0, 100], received: " + p);
+        }
+
+        if (this.sortedCredits.length == 0) {
+
+            return Double.NaN;
+        }
+
+        int rank = (int) Math.ceil(p / 100.0 * this.sortedCredits.length);
+        return this.sortedCredits[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * @return Die Laufzeit der Simulation in Nanosekunden
+     */
+    public long getElapsedNanos() {
+
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return Die Anzahl der Spiele pro Sekunde
+     */
+    public double getGamesPerSecond() {
+
+        return this.elapsedNanos == 0 ? Double.NaN : this.sortedCredits.length * 1e9 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("%d games, mean %.2f (sd %.2f), min %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f, %.0f games/s",
+                this.getGames(), this.mean, this.standardDeviation, this.getMin(), this.percentile(50),
+                this.percentile(90), this.percentile(99), this.getMax(), this.getGamesPerSecond());
+    }
+}
@@ -26,6 +26,9 @@ public class GameController {
 
     private Button selectedDiscardPileButton;
     private Stage scoreboardStage;
+
+    // Punkte der ausgewählten Handkarte je Stapel, wird wiederverwendet
+    private double[] previews = new double[0];
     
     /**
      * Setzt die stage des controller, damit der exit button die gui
@@ -38,6 +41,10 @@ public class GameController {
         this.scoreboardStage = new Stage();
         this.scoreboardGui = new ScoreboardGui();
 
+        // Hinweis: Bei jeder neuen Auswahl zeigen die Stapel, wie viele Punkte die Karte dort bringt
+        this.handList.getSelectionModel().selectedIndexProperty()
+                .addListener((obs, old, index) -> this.updatePreviews());
+
         this.updateUI();
         this.updateAblageStapel();
     }
@@ -118,10 +125,10 @@ public class GameController {
     @FXML
     private void playCard() {
 
-        Card playedCard = this.handList.getItems().get(this.handList.getSelectionModel().getSelectedIndex());
+        int handCardIndex = this.handList.getSelectionModel().getSelectedIndex();
         int stackIndex = this.ablageStapel.getChildren().indexOf(this.selectedDiscardPileButton);
 
-        this.game.play(playedCard, stackIndex);
+        this.game.play(handCardIndex, stackIndex);
         this.updateUI();
     }
 
@@ -176,13 +183,18 @@ public class GameController {
 
         this.shopList.getItems().clear();
         
-        for (Object o : this.game.getAllShopItems()) {
+        Object[] items = this.game.getAllShopItems();
+        int[] prices = this.game.getAllShopItemPrices();
+
+        for (int i = 0; i < items.length; i++) {
+
+            Object o = items[i];
             
             if (o instanceof Card) {
 
                 Card card = (Card) o;
 
-                String formattedItem = String.format("(%d) %s", card.getPrice(), card.toString());
+                String formattedItem = String.format("(%d) %s", prices[i], card.toString());
                 this.shopList.getItems().add(formattedItem);
             } else {
 
@@ -200,6 +212,45 @@ public class GameController {
         for (int i = 0; i < discardPiles.length; i++) {
             this.addDiscardPileButton(discardPiles[i].toString() + " " + (i+1));
         }
+
+        this.updatePreviews();
+    }
+
+    /**
+     * Beschriftet jeden Stapel mit der Änderung der Credits, die die ausgewählte Handkarte dort bringen würde. Ohne
+     * spielbare Auswahl bleibt nur der Name des Stapels.
+     */
+    private void updatePreviews() {
+
+        if (this.game == null) {
+
+            return;
+        }
+
+        DiscardPile[] discardPiles = this.game.getDiscardPiles();
+        int handCardIndex = this.handList.getSelectionModel().getSelectedIndex();
+        boolean preview = this.game.getMode() == Game.Mode.PLAYING && handCardIndex >= 0
+                && handCardIndex < this.game.getHandCardsCount();
+
+        if (preview) {
+
+            if (this.previews.length < discardPiles.length) {
+
+                this.previews = new double[discardPiles.length];
+            }
+
+            this.game.previewCredits(handCardIndex, this.previews);
+        }
+
+        int buttons = Math.min(discardPiles.length, this.ablageStapel.getChildren().size());
+
+        for (int i = 0; i < buttons; i++) {
+
+            Button button = (Button) this.ablageStapel.getChildren().get(i);
+            String label = discardPiles[i].toString() + " " + (i+1);
+
+            button.setText(preview ? String.format("%s (%+.1fc)", label, this.previews[i]) : label);
+        }
     }
 
     /*
@@ -0,0 +1,160 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.collections.AlgoArrayDeque;
+
+public class TestAlgoArrayDeque {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void pushAndPopAtBothEnds() {
+		final var deque = new AlgoArrayDeque<Integer>(2);
+		deque.addLast(2);
+		deque.addFirst(1);
+		deque.addLast(3);
+		deque.addFirst(0);
+		assertArrayEquals(new Object[] { 0, 1, 2, 3 }, deque.toArray());
+		assertEquals(0, (int) deque.removeFirst());
+		assertEquals(3, (int) deque.removeLast());
+		assertEquals(1, (int) deque.getFirst());
+		assertEquals(2, (int) deque.getLast());
+		assertEquals(2, deque.size());
+	}
+
+	@Test
+	public void emptyDequeThrows() {
+		final var deque = new AlgoArrayDeque<Integer>();
+		assertThrows(NoSuchElementException.class, deque::removeFirst);
+		assertThrows(NoSuchElementException.class, deque::removeLast);
+		assertThrows(IndexOutOfBoundsException.class, () -> deque.getItemAtIndex(0));
+		assertFalse(deque.delete(0));
+	}
+
+	@Test
+	public void deleteMatchesListAcrossWrapAround() {
+		final var random = new Random(42);
+		final var deque = new AlgoArrayDeque<Integer>(4);
+		final List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			switch (random.nextInt(4)) {
+			case 0 -> {
+				deque.addFirst(i);
+				expected.add(0, i);
+			}
+			case 1 -> {
+				deque.addLast(i);
+				expected.add(i);
+			}
+			default -> {
+				if (!expected.isEmpty()) {
+					final var index = random.nextInt(expected.size());
+					assertTrue(deque.delete(index));
+					expected.remove(index);
+				}
+			}
+			}
+			assertEquals(expected.size(), deque.size());
+		}
+		assertArrayEquals(expected.toArray(), deque.toArray());
+	}
+
+	@Test
+	public void deleteItemUsesEquals() {
+		final var deque = new AlgoArrayDeque<String>();
+		deque.add("a");
+		deque.add("b");
+		deque.add("c");
+		assertTrue(deque.delete((Object) "b"));
+		assertFalse(deque.delete((Object) "x"));
+		assertArrayEquals(new Object[] { "a", "c" }, deque.toArray());
+	}
+	@Test
+	public void copyIsIndependentOfOriginal() {
+		final var deque = new AlgoArrayDeque<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			deque.addLast(i);
+		}
+		deque.removeFirst();
+		deque.addLast(4);
+		final var copy = deque.copy();
+		copy.set(0, 10);
+		copy.removeSwapped(1);
+		deque.addFirst(-1);
+		assertArrayEquals(new Object[] { -1, 1, 2, 3, 4 }, deque.toArray());
+		assertArrayEquals(new Object[] { 10, 4, 3 }, copy.toArray());
+		copy.clear();
+		assertArrayEquals(new Object[] { -1, 1, 2, 3, 4 }, deque.toArray());
+	}
+
+	@Test
+	public void copyFromSharesUntilWrite() {
+		final var deque = new AlgoArrayDeque<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			deque.addLast(i);
+		}
+		deque.removeFirst();
+		deque.addLast(4);
+		final var target = new AlgoArrayDeque<Integer>(8);
+		target.addLast(99);
+		target.copyFrom(deque);
+		deque.addFirst(-1);
+		target.removeSwapped(0);
+		assertArrayEquals(new Object[] { -1, 1, 2, 3, 4 }, deque.toArray());
+		assertArrayEquals(new Object[] { 4, 2, 3 }, target.toArray());
+	}
+
+	@Test
+	public void removeSwappedMovesLastItemIntoGap() {
+		final var deque = new AlgoArrayDeque<Integer>(8);
+		for (int i = 0; i < 5; i++) {
+			deque.addLast(i);
+		}
+		assertEquals(0, (int) deque.removeSwapped(0));
+		assertArrayEquals(new Object[] { 4, 1, 2, 3 }, deque.toArray());
+		assertEquals(1, (int) deque.removeSwapped(1));
+		assertArrayEquals(new Object[] { 4, 3, 2 }, deque.toArray());
+		assertEquals(2, (int) deque.removeSwapped(2));
+		assertArrayEquals(new Object[] { 4, 3 }, deque.toArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> deque.removeSwapped(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> deque.removeSwapped(-1));
+	}
+
+	@Test
+	public void removeSwappedAcrossWrapAround() {
+		final var deque = new AlgoArrayDeque<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			deque.addLast(i);
+		}
+		deque.removeFirst();
+		deque.removeFirst();
+		deque.addLast(4);
+		deque.addLast(5);
+		assertArrayEquals(new Object[] { 2, 3, 4, 5 }, deque.toArray());
+		assertEquals(2, (int) deque.removeSwapped(0));
+		assertArrayEquals(new Object[] { 5, 3, 4 }, deque.toArray());
+		assertEquals(3, (int) deque.removeSwapped(1));
+		assertArrayEquals(new Object[] { 5, 4 }, deque.toArray());
+		assertEquals(4, (int) deque.removeSwapped(1));
+		assertEquals(5, (int) deque.removeSwapped(0));
+		assertEquals(0, deque.size());
+		deque.addFirst(6);
+		deque.addLast(7);
+		assertArrayEquals(new Object[] { 6, 7 }, deque.toArray());
+	}
+}
@@ -0,0 +1,180 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.collections.AlgoArrayList;
+
+public class TestAlgoArrayList {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void addGrowsBeyondInitialSize() {
+		final var list = new AlgoArrayList<Integer>(0);
+		for (int i = 0; i < 100_000; i++) {
+			list.add(i);
+		}
+		assertEquals(100_000, list.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(i, list.getItemAtIndex(i));
+		}
+	}
+
+	@Test
+	public void invalidGrowthFactorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AlgoArrayList<Integer>(4, 1.0));
+		assertThrows(IllegalArgumentException.class, () -> new AlgoArrayList<Integer>(-1));
+	}
+
+	@Test
+	public void addAllArraySlice() {
+		final var list = new AlgoArrayList<String>(1);
+		list.add("a");
+		list.addAll(new String[] { "x", "b", "c", "y" }, 1, 2);
+		assertArrayEquals(new Object[] { "a", "b", "c" }, list.toArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new String[] { "x" }, 1, 1));
+	}
+
+	@Test
+	public void addAllList() {
+		final var first = new AlgoArrayList<String>(2);
+		first.add("a");
+		final var second = new AlgoArrayList<String>(2);
+		second.add("b");
+		second.add("c");
+		first.addAll(second);
+		assertArrayEquals(new Object[] { "a", "b", "c" }, first.toArray());
+		assertEquals(2, second.size());
+	}
+
+	@Test
+	public void trimToSizeKeepsContent() {
+		final var list = new AlgoArrayList<Integer>(64);
+		list.ensureCapacity(1000);
+		list.add(1);
+		list.add(2);
+		list.trimToSize();
+		list.add(3);
+		assertArrayEquals(new Object[] { 1, 2, 3 }, list.toArray());
+	}
+
+	@Test
+	public void sortMatchesStableReference() {
+		final var random = new Random(7);
+		final var list = new AlgoArrayList<int[]>();
+		final List<int[]> expected = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			final int[] item = { random.nextInt(50), i };
+			list.add(item);
+			expected.add(item);
+		}
+		final Comparator<int[]> byKey = Comparator.comparingInt(item -> item[0]);
+		list.sort(byKey);
+		expected.sort(byKey); // List.sort ist stabil
+		assertArrayEquals(expected.toArray(), list.toArray());
+	}
+
+	@Test
+	public void sortUsesNaturalOrder() {
+		final var list = new AlgoArrayList<String>();
+		list.add("c");
+		list.add("a");
+		list.add("b");
+		list.sort();
+		assertArrayEquals(new Object[] { "a", "b", "c" }, list.toArray());
+	}
+
+	@Test
+	public void insertSortedKeepsOrderAndStability() {
+		final var list = new AlgoArrayList<int[]>(0);
+		final Comparator<int[]> byKey = Comparator.comparingInt(item -> item[0]);
+		final int[] first = { 2, 0 };
+		final int[] second = { 2, 1 };
+		assertEquals(0, list.insertSorted(new int[] { 5, 0 }, byKey));
+		assertEquals(0, list.insertSorted(first, byKey));
+		assertEquals(1, list.insertSorted(second, byKey));
+		assertEquals(0, list.insertSorted(new int[] { 1, 0 }, byKey));
+		assertEquals(4, list.insertSorted(new int[] { 9, 0 }, byKey));
+		assertEquals(first, list.getItemAtIndex(1));
+		assertEquals(second, list.getItemAtIndex(2));
+	}
+
+	@Test
+	public void iteratorIsFailFast() {
+		final var list = new AlgoArrayList<Integer>();
+		list.add(1);
+		list.add(2);
+		final var iterator = list.iterator();
+		iterator.next();
+		list.add(3);
+		assertThrows(ConcurrentModificationException.class, iterator::next);
+	}
+
+	@Test
+	public void iteratorDoesNotStopAtNull() {
+		final var list = new AlgoArrayList<String>();
+		list.add("a");
+		list.add(null);
+		list.add("b");
+		int count = 0;
+		for (String ignored : list) {
+			count++;
+		}
+		assertEquals(3, count);
+	}
+
+	@Test
+	public void parallelStreamSeesAllItems() {
+		final var list = new AlgoArrayList<Integer>();
+		for (int i = 1; i <= 100_000; i++) {
+			list.add(i);
+		}
+		assertEquals(5_000_050_000L, list.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals(100_000, list.stream().count());
+	}
+	@Test
+	public void copyIsIndependentOfOriginal() {
+		final var list = new AlgoArrayList<String>(4);
+		list.add("a");
+		list.add("b");
+		final var copy = list.copy();
+		copy.add("c");
+		list.delete(0);
+		assertArrayEquals(new Object[] { "b" }, list.toArray());
+		assertArrayEquals(new Object[] { "a", "b", "c" }, copy.toArray());
+		final var again = copy.copy();
+		again.sort(Comparator.reverseOrder());
+		assertArrayEquals(new Object[] { "a", "b", "c" }, copy.toArray());
+		assertArrayEquals(new Object[] { "c", "b", "a" }, again.toArray());
+	}
+
+	@Test
+	public void copyFromSharesUntilWrite() {
+		final var list = new AlgoArrayList<String>(4);
+		list.add("a");
+		list.add("b");
+		final var target = new AlgoArrayList<String>(1);
+		target.add("x");
+		target.copyFrom(list);
+		list.add("c");
+		assertArrayEquals(new Object[] { "a", "b" }, target.toArray());
+		target.delete(0);
+		assertArrayEquals(new Object[] { "a", "b", "c" }, list.toArray());
+		assertArrayEquals(new Object[] { "b" }, target.toArray());
+		target.clear();
+		assertArrayEquals(new Object[] { "a", "b", "c" }, list.toArray());
+	}
+}
@@ -0,0 +1,232 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.cards.Card;
+import cardmaster.interfaces.GameListener;
+import cardmaster.journal.GameJournal;
+import cardmaster.journal.JournalReplayer;
+import cardmaster.metrics.EngineMetrics;
+import cardmaster.random.RandomSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestBatchActions {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	@Before
+	public void clearScoreBoard() {
+		ScoreBoard.getInstance().clear();
+	}
+
+	private static int affordableCard(Game game) {
+		final var items = game.getAllShopItems();
+		for (int i = 0; i < items.length; i++) {
+			if (items[i] instanceof Card && game.getShopItemPrice(i) <= game.getCredits()) {
+				return i;
+			}
+		}
+		throw new AssertionError("No affordable card");
+	}
+
+	private static Game newGame(long seed) {
+		final var game = new Game(1, new CardFactory(), seed);
+		game.setRecordScore(false);
+		return game;
+	}
+
+	@Test
+	public void batchMatchesSingleCalls() {
+		final var single = newGame(3);
+		final var batched = newGame(3);
+		final var card = affordableCard(single);
+		final var price = single.getShopItemPrice(card);
+
+		single.buy(card);
+		single.endShopping();
+		single.play(0, 0);
+
+		final var results = new double[3];
+		assertEquals(-1, batched.apply(
+				new Action[] { Action.buy(card), Action.endShopping(), Action.play(0, 0) }, results));
+		assertEquals(single.getMode(), batched.getMode());
+		assertEquals(single.getCredits(), batched.getCredits(), 0);
+		assertEquals(-price, results[0], 0);
+		assertEquals(0, results[1], 0);
+		assertEquals(single.getCredits() - 10 + price, results[2], 0);
+	}
+
+	@Test
+	public void failingActionRollsBackWholeBatch() {
+		final var game = newGame(5);
+		final var twin = newGame(5);
+		final var card = affordableCard(game);
+		final var prices = game.getAllShopItemPrices();
+
+		final var results = new double[4];
+		assertEquals(2, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.buy(0),
+				Action.play(0, 0) }, results));
+		assertEquals(Mode.SHOPPING, game.getMode());
+		assertEquals(10, game.getCredits(), 0);
+		assertArrayEquals(prices, game.getAllShopItemPrices());
+
+		// Auch der Zufallsgenerator ist zurückgesetzt
+		game.buy(card);
+		game.endShopping();
+		twin.buy(card);
+		twin.endShopping();
+		assertEquals(twin.getHandCard(0), game.getHandCard(0));
+	}
+
+	@Test
+	public void failingBatchRestoresEveryGenerator() {
+		final List<LongFunction<RandomSource>> generators = List.of(RandomSource::seeded, RandomSource::splittable,
+				RandomSource::jdk);
+		for (final var generator : generators) {
+			final var game = new Game(2, new CardFactory(), generator.apply(9));
+			final var twin = new Game(2, new CardFactory(), generator.apply(9));
+			game.setRecordScore(false);
+			final var card = affordableCard(game);
+			assertEquals(2, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.buy(0) },
+					new double[3]));
+			assertArrayEquals(twin.getRandomSource().getState(), game.getRandomSource().getState());
+		}
+	}
+
+	@Test
+	public void failingBatchIsNotCountedOrRecorded() throws IOException {
+		final var metrics = EngineMetrics.get();
+		final var game = newGame(5);
+		final var card = affordableCard(game);
+		final var file = Files.createTempFile("cardmaster", ".jfr");
+		try {
+			try (final var recording = new Recording()) {
+				recording.enable("cardmaster.Buy").withoutThreshold();
+				recording.enable("cardmaster.Play").withoutThreshold();
+				recording.start();
+				metrics.reset();
+				assertEquals(2, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.buy(0) },
+						new double[3]));
+				assertEquals(0, metrics.getBuysByItemType().values().stream().mapToLong(Long::longValue).sum());
+				assertEquals(-1, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.play(0, 0) },
+						new double[3]));
+				recording.stop();
+				recording.dump(file);
+			}
+			assertEquals(1, metrics.getBuysByItemType().values().stream().mapToLong(Long::longValue).sum());
+			assertEquals(1, Arrays.stream(metrics.getPlaysPerStack()).sum());
+			final var events = RecordingFile.readAllEvents(file);
+			assertEquals(1, events.stream().filter(e -> e.getEventType().getName().equals("cardmaster.Buy")).count());
+			assertEquals(1, events.stream().filter(e -> e.getEventType().getName().equals("cardmaster.Play")).count());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void failingBatchRestoresUpgradedTable() {
+		final var game = newGame(8);
+		final var twin = newGame(8);
+		final var card = affordableCard(game);
+		final var stacks = game.getStacksCount();
+		// Index 1 ist das Upgrade für einen weiteren Ablagestapel
+		assertEquals(3, game.apply(new Action[] { Action.buy(1), Action.buy(card - 1), Action.endShopping(),
+				Action.play(0, stacks + 1) }, new double[4]));
+		assertEquals(stacks, game.getStacksCount());
+		assertEquals(twin.getShopItemCount(), game.getShopItemCount());
+
+		// Der wiederverwendete Zwischenstand bleibt auch über mehrere Stapel korrekt
+		for (final var g : new Game[] { game, twin }) {
+			assertEquals(-1, g.apply(new Action[] { Action.buy(1), Action.buy(card - 1), Action.endShopping(),
+					Action.play(0, stacks) }, new double[4]));
+		}
+		assertEquals(stacks + 1, game.getStacksCount());
+		assertEquals(twin.getCredits(), game.getCredits(), 0);
+		assertEquals(twin.getMode(), game.getMode());
+	}
+
+	@Test
+	public void batchOnEndedGameDoesNotReportEndAgain() {
+		final var game = newGame(2);
+		final var card = affordableCard(game);
+		final var ended = new int[1];
+		game.setGameListener(new GameListener() {
+			@Override
+			public void bought(Game game, int shopItemIndex, double creditsDelta) {
+			}
+
+			@Override
+			public void shoppingEnded(Game game) {
+			}
+
+			@Override
+			public void played(Game game, int handCardIndex, int stackIndex, double creditsDelta) {
+			}
+
+			@Override
+			public void ended(Game game) {
+				ended[0]++;
+			}
+		});
+		assertEquals(-1, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.play(0, 0) },
+				new double[3]));
+		assertEquals(Mode.END, game.getMode());
+		assertEquals(1, ended[0]);
+		assertEquals(-1, game.apply(new Action[0], new double[0]));
+		assertEquals(0, game.apply(new Action[] { Action.play(0, 0) }, new double[1]));
+		assertEquals(1, ended[0]);
+	}
+
+	@Test
+	public void invalidActionsFailWithoutException() {
+		final var game = newGame(7);
+		final var results = new double[1];
+		assertEquals(0, game.apply(new Action[] { Action.endShopping() }, results));
+		assertEquals(0, game.apply(new Action[] { Action.play(0, 0) }, results));
+		assertEquals(0, game.apply(new Action[] { Action.buy(-1) }, results));
+		assertEquals(0, game.apply(new Action[] { Action.buy(99) }, results));
+		assertEquals(-1, game.apply(new Action[0], results));
+		assertEquals(Mode.SHOPPING, game.getMode());
+	}
+
+	@Test
+	public void batchedGameIsJournaledAndScored() throws IOException {
+		final var game = new Game(1, new CardFactory(), 11);
+		final var bytes = new ByteArrayOutputStream();
+		final var card = affordableCard(game);
+		try (final var journal = new GameJournal(bytes)) {
+			journal.record(game);
+			assertEquals(-1, game.apply(new Action[] { Action.buy(card), Action.endShopping(), Action.play(0, 2) },
+					new double[3]));
+		}
+		assertEquals(Mode.END, game.getMode());
+		assertEquals(1, ScoreBoard.getInstance().size());
+
+		final var replayed = new JournalReplayer(new ByteArrayInputStream(bytes.toByteArray()), new CardFactory())
+				.next();
+		assertEquals(Mode.END, replayed.getMode());
+		assertEquals(game.getCredits(), replayed.getCredits(), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void resultsMustFitActions() {
+		newGame(1).apply(new Action[] { Action.endShopping() }, new double[0]);
+	}
+}
@@ -0,0 +1,57 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.HashSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+
+public class TestCardPool {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void factoryReturnsSharedLeafCards() {
+		final var factory = CardFactory.getDefaultFactory();
+		for (CardType type : CardType.values()) {
+			for (Shape shape : Shape.values()) {
+				final var card0 = factory.create(type.getName(), shape);
+				final var card1 = factory.create(type.getName(), shape);
+				if (type.isLeaf()) {
+					assertSame(card0, card1);
+				} else {
+					assertNotSame(card0, card1);
+				}
+				assertEquals(type, card0.getType());
+			}
+		}
+	}
+
+	@Test
+	public void codesAreUniqueAndRoundTrip() {
+		final var codes = new HashSet<Integer>();
+		for (CardType type : CardType.values()) {
+			for (Shape shape : Shape.values()) {
+				final var code = CardPool.code(type, shape);
+				assertEquals(type, CardPool.typeOf(code));
+				assertEquals(shape, CardPool.shapeOf(code));
+				codes.add(code);
+				if (type.isLeaf()) {
+					assertEquals(code, CardPool.fromCode(code).getCode());
+				} else {
+					assertThrows(IllegalArgumentException.class, () -> CardPool.fromCode(code));
+				}
+			}
+		}
+		assertEquals(CardPool.codeCount(), codes.size());
+	}
+}
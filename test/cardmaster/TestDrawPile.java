@@ -0,0 +1,82 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.IdentityHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.cards.Card;
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+import cardmaster.random.RandomSource;
+
+public class TestDrawPile {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(2000);
+
+	private static Card[] leafCards() {
+		final var cards = new Card[CardPool.codeCount() - Shape.values().length];
+		int i = 0;
+		for (CardType type : CardType.values()) {
+			if (type.isLeaf()) {
+				for (Shape shape : Shape.values()) {
+					cards[i++] = CardPool.get(type, shape);
+				}
+			}
+		}
+		return cards;
+	}
+
+	@Test
+	public void lazyPileDrawsEveryCardOnce() {
+		final var cards = leafCards();
+		final var pile = new DrawPile(true, RandomSource.seeded(7));
+		pile.addAllCards(cards);
+		final var drawn = new IdentityHashMap<Card, Integer>();
+		while (!pile.isEmpty()) {
+			drawn.merge(pile.getTopCard(), 1, Integer::sum);
+		}
+		assertEquals(cards.length, drawn.size());
+		for (Card card : cards) {
+			assertEquals(1, (int) drawn.get(card));
+		}
+	}
+
+	@Test
+	public void lazyPileIsReproducibleWithSeed() {
+		final var cards = leafCards();
+		final var first = new DrawPile(true, RandomSource.seeded(11));
+		final var second = new DrawPile(true, RandomSource.seeded(11));
+		first.addAllCards(cards);
+		second.addAllCards(cards);
+		while (!first.isEmpty()) {
+			assertTrue(first.getTopCard() == second.getTopCard());
+		}
+		assertTrue(second.isEmpty());
+	}
+
+	@Test
+	public void lazyFirstCardIsRoughlyUniform() {
+		final var cards = leafCards();
+		final var index = new IdentityHashMap<Card, Integer>();
+		for (int i = 0; i < cards.length; i++) {
+			index.put(cards[i], i);
+		}
+		final var trials = 12_000;
+		final var counts = new int[cards.length];
+		for (int seed = 0; seed < trials; seed++) {
+			final var pile = new DrawPile(true, RandomSource.seeded(seed));
+			pile.addAllCards(cards);
+			counts[index.get(pile.getTopCard())]++;
+		}
+		// Erwartet 1000 pro Karte, die Grenzen liegen bei etwa sechs Standardabweichungen
+		for (int count : counts) {
+			assertTrue("count " + count, count > 820 && count < 1180);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.metrics.EngineMetrics;
+import cardmaster.metrics.LatencyHistogram;
+import cardmaster.random.RandomSource;
+import cardmaster.sim.GreedyPlayer;
+
+public class TestEngineMetrics {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	private final EngineMetrics metrics = EngineMetrics.get();
+
+	@Before
+	public void resetMetrics() {
+		this.metrics.reset();
+		ScoreBoard.getInstance().clear();
+	}
+
+	@Test
+	public void gameActionsAreCounted() {
+		final var game = new Game(3, new CardFactory(), 4);
+		game.setRecordScore(false);
+		assertThrows(IllegalCallException.class, () -> game.play(0, 0));
+		new GreedyPlayer(new SplittableRandom(4)).run(game);
+
+		long plays = 0;
+		for (long stack : this.metrics.getPlaysPerStack()) {
+			plays += stack;
+		}
+		long buys = 0;
+		for (long type : this.metrics.getBuysByItemType().values()) {
+			buys += type;
+		}
+		assertTrue(plays > 0);
+		assertTrue(this.metrics.getPlayLatency().getCount() <= plays);
+		assertTrue(buys >= this.metrics.getUpgradePurchases() + 1);
+		assertEquals(2, this.metrics.getRoundTransitions());
+		assertTrue(this.metrics.getEndShoppingLatency().getCount() <= 3);
+		// Das Spiel mischt lazy beim Ziehen
+		assertEquals(0, this.metrics.getShuffles());
+		assertEquals(1, this.metrics.getIllegalCalls());
+	}
+
+	@Test
+	public void onlyRealShufflesAreCounted() {
+		new DrawPile(true, RandomSource.seeded(1)).mischen();
+		assertEquals(0, this.metrics.getShuffles());
+		new DrawPile(false, RandomSource.seeded(1)).mischen();
+		assertEquals(1, this.metrics.getShuffles());
+	}
+
+	@Test
+	public void scoreBoardCallsAreCounted() throws Exception {
+		final var scoreBoard = ScoreBoard.getInstance();
+		scoreBoard.add(12);
+		final var bytes = new ByteArrayOutputStream();
+		scoreBoard.save(bytes);
+		scoreBoard.load(new ByteArrayInputStream(bytes.toByteArray()));
+		assertEquals(1, this.metrics.getScoreBoardAdds());
+		assertEquals(1, this.metrics.getScoreBoardSaves());
+		assertEquals(1, this.metrics.getScoreBoardLoadLatency().getCount());
+	}
+
+	@Test
+	public void metricsAreReadableOverJmx() throws Exception {
+		final var name = EngineMetrics.register();
+		try {
+			assertEquals(name, EngineMetrics.register());
+			this.metrics.countShuffle();
+			final var server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(1L, server.getAttribute(name, "Shuffles"));
+			this.metrics.recordPlay(System.nanoTime());
+			final var latency = (CompositeData) server.getAttribute(name, "PlayLatency");
+			assertEquals(1L, latency.get("count"));
+		} finally {
+			EngineMetrics.unregister();
+		}
+	}
+
+	@Test
+	public void histogramRoundsPercentilesUpToBucketBound() {
+		final var histogram = new LatencyHistogram();
+		for (int i = 0; i < 99; i++) {
+			histogram.record(1_000);
+		}
+		histogram.record(1_000_000);
+		final var snapshot = histogram.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(1.024, snapshot.getP50Micros(), 1e-9);
+		assertEquals(1.024, snapshot.getP99Micros(), 1e-9);
+		assertEquals(1000, snapshot.getMaxMicros(), 1e-9);
+		assertEquals(1000, snapshot.percentileMicros(100), 1e-9);
+		assertEquals(10.99, snapshot.getMeanMicros(), 1e-9);
+	}
+}
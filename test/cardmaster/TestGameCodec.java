@@ -0,0 +1,255 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.cards.Card;
+import cardmaster.cards.CardType;
+import cardmaster.random.RandomSource;
+import cardmaster.sim.RandomPlayer;
+
+public class TestGameCodec {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	private static Game roundTrip(Game game) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		game.writeTo(bytes);
+		return Game.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	private static String[] describe(Object[] items) {
+		final var result = new String[items.length];
+		for (int i = 0; i < items.length; i++) {
+			result[i] = items[i].toString();
+		}
+		return result;
+	}
+
+	private static void assertSameState(Game expected, Game actual) {
+		assertEquals(expected.getMode(), actual.getMode());
+		assertEquals(expected.getCredits(), actual.getCredits(), 0);
+		assertEquals(expected.getCurrentRound(), actual.getCurrentRound());
+		assertEquals(expected.maxRounds(), actual.maxRounds());
+		assertEquals(expected.getStacksCount(), actual.getStacksCount());
+		assertEquals(expected.getAllHandCardsMax(), actual.getAllHandCardsMax());
+		assertArrayEquals(describe(expected.getAllShopItems()), describe(actual.getAllShopItems()));
+		assertArrayEquals(expected.getAllShopItemPrices(), actual.getAllShopItemPrices());
+		assertArrayEquals(describe(expected.getAllHandCards()), describe(actual.getAllHandCards()));
+		final var expectedDraw = describe(expected.getAllDrawPileCards());
+		final var actualDraw = describe(actual.getAllDrawPileCards());
+		Arrays.sort(expectedDraw);
+		Arrays.sort(actualDraw);
+		assertArrayEquals(expectedDraw, actualDraw);
+		for (int i = 0; i < expected.getStacksCount(); i++) {
+			assertArrayEquals(describe(expected.getDiscardPiles()[i].getAllCards()),
+					describe(actual.getDiscardPiles()[i].getAllCards()));
+		}
+	}
+
+	@Test
+	public void freshGameRoundTripsCompactly() throws IOException {
+		final var game = new Game(3, CardFactory.getDefaultFactory(), 1);
+		final var bytes = new ByteArrayOutputStream();
+		game.writeTo(bytes);
+		assertTrue(bytes.size() < 96);
+		final var copy = Game.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+		assertSameState(game, copy);
+		assertTrue(copy.hasSeed());
+		assertEquals(1, copy.getSeed());
+	}
+
+	@Test
+	public void savingDoesNotChangeTheGameAndRestoredGameContinuesExactly() throws IOException {
+		final var factory = CardFactory.getDefaultFactory();
+		final var saved = new Game(3, factory, 8);
+		final var reference = new Game(3, factory, 8);
+		saved.setRecordScore(false);
+		reference.setRecordScore(false);
+		final var a = new RandomPlayer(RandomSource.seeded(1));
+		final var b = new RandomPlayer(RandomSource.seeded(1));
+		Game current = saved;
+		while (reference.getMode() != Mode.END) {
+			current = roundTrip(current);
+			current.setRecordScore(false);
+			assertSameState(reference, current);
+			final var moved = step(a, current);
+			if (!step(b, reference) || !moved) {
+				break;
+			}
+		}
+		assertSameState(reference, current);
+	}
+
+	private static boolean step(RandomPlayer player, Game game) {
+		if (game.getMode() == Mode.PLAYING) {
+			player.playCard(game);
+			return true;
+		}
+		final var choice = game.isShopEmpty() ? -1 : player.shop(game);
+		if (choice >= 0) {
+			game.buy(choice);
+		} else if (!game.isDrawPileEmpty()) {
+			game.endShopping();
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	@Test
+	public void gamesCanBeConcatenatedInOneStream() throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < 3; i++) {
+			new Game(i + 1, CardFactory.getDefaultFactory(), i).writeTo(bytes);
+		}
+		final var in = new ByteArrayInputStream(bytes.toByteArray());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(i + 1, Game.readFrom(in).maxRounds());
+		}
+		assertEquals(-1, in.read());
+	}
+
+	@Test(expected = EOFException.class)
+	public void truncatedGameIsRejected() throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		new Game(1, CardFactory.getDefaultFactory(), 1).writeTo(bytes);
+		Game.readFrom(new ByteArrayInputStream(bytes.toByteArray(), 0, bytes.size() - 1));
+	}
+
+	@Test(expected = IOException.class)
+	public void unknownVersionIsRejected() throws IOException {
+		Game.readFrom(new ByteArrayInputStream(new byte[] { 99, 0 }));
+	}
+
+	@Test
+	public void gameWithOtherGeneratorRoundTrips() throws IOException {
+		final List<LongFunction<RandomSource>> generators = List.of(RandomSource::splittable, RandomSource::jdk);
+		for (final var generator : generators) {
+			final var game = new Game(2, CardFactory.getDefaultFactory(), generator.apply(3));
+			final var reference = new Game(2, CardFactory.getDefaultFactory(), generator.apply(3));
+			game.setRecordScore(false);
+			reference.setRecordScore(false);
+			final var copy = roundTrip(game);
+			copy.setRecordScore(false);
+			assertSameState(game, copy);
+			assertFalse(copy.hasSeed());
+			assertEquals(game.getRandomSource().getClass(), copy.getRandomSource().getClass());
+			// Speichern zieht nicht aus dem Generator, beide Spiele laufen wie das unberührte weiter
+			final var a = new RandomPlayer(RandomSource.seeded(2));
+			final var b = new RandomPlayer(RandomSource.seeded(2));
+			final var c = new RandomPlayer(RandomSource.seeded(2));
+			while (reference.getMode() != Mode.END && step(a, reference)) {
+				step(b, game);
+				step(c, copy);
+				assertSameState(reference, game);
+				assertSameState(reference, copy);
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void gameWithUnknownGeneratorIsRejected() throws IOException {
+		final var inner = RandomSource.seeded(1);
+		final var game = new Game(1, CardFactory.getDefaultFactory(), new RandomSource() {
+			@Override
+			public long nextLong() {
+				return inner.nextLong();
+			}
+
+			@Override
+			public RandomSource split() {
+				return inner.split();
+			}
+
+			@Override
+			public long[] getState() {
+				return inner.getState();
+			}
+
+			@Override
+			public void setState(long[] state) {
+				inner.setState(state);
+			}
+		});
+		game.writeTo(new ByteArrayOutputStream());
+	}
+
+	@Test
+	public void gamesInEveryPhaseRoundTrip() throws IOException {
+		final var random = RandomSource.seeded(4);
+		final var player = new RandomPlayer(random);
+		for (int g = 0; g < 50; g++) {
+			final var game = new Game(3, CardFactory.getDefaultFactory(), g);
+			game.setRecordScore(false);
+			while (game.getMode() != Mode.END) {
+				assertSameState(game, roundTrip(game));
+				if (game.getMode() == Mode.PLAYING) {
+					player.playCard(game);
+				} else {
+					final var choice = game.isShopEmpty() ? -1 : player.shop(game);
+					if (choice >= 0) {
+						game.buy(choice);
+					} else if (!game.isDrawPileEmpty()) {
+						game.endShopping();
+					} else {
+						break;
+					}
+				}
+			}
+			assertSameState(game, roundTrip(game));
+		}
+	}
+
+	@Test
+	public void restoredGameKeepsPlaying() throws IOException {
+		final var game = new Game(2, CardFactory.getDefaultFactory(), 5);
+		game.setRecordScore(false);
+		TestUtils.buyAnyCard(game);
+		game.endShopping();
+		final var copy = roundTrip(game);
+		copy.setRecordScore(false);
+		copy.play(0, 0);
+		game.play(0, 0);
+		// Neue Karten im Shop stammen aus einem anderen Zufallsstrom
+		assertEquals(game.getMode(), copy.getMode());
+		assertEquals(game.getCredits(), copy.getCredits(), 0);
+		assertEquals(game.getCurrentRound(), copy.getCurrentRound());
+	}
+
+	@Test
+	public void kombiCardsKeepTheirParts() throws IOException {
+		final var factory = CardFactory.getDefaultFactory();
+		final var kombi = factory.combine(factory.createByType(CardType.PAAR, Shape.STAR),
+				factory.createByType(CardType.TRIPEL, Shape.STAR));
+		final var game = new Game(2, new CardFactory() {
+			@Override
+			public Card createRandom(RandomSource random) {
+				return kombi;
+			}
+		}, 2);
+		game.setRecordScore(false);
+		TestUtils.buyAnyCard(game);
+		TestUtils.buyAnyCard(game);
+		game.endShopping();
+		game.play(0, 1);
+		final var copy = roundTrip(game);
+		assertEquals(kombi.toString(), copy.getDiscardPiles()[1].getTopCard().toString());
+	}
+}
@@ -0,0 +1,83 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.jfr.PlayEvent;
+import cardmaster.jfr.ScoreBoardEvent;
+import cardmaster.sim.GreedyPlayer;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestGameEvents {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(20000);
+
+	@Test
+	public void eventsAreDisabledByDefault() {
+		assertFalse(EventType.getEventType(PlayEvent.class).isEnabled());
+		assertFalse(EventType.getEventType(ScoreBoardEvent.class).isEnabled());
+	}
+
+	@Test
+	public void recordingCapturesGameTransitions() throws Exception {
+		final var file = Files.createTempFile("cardmaster", ".jfr");
+		try {
+			ScoreBoard.getInstance().clear();
+			try (final var recording = new Recording()) {
+				for (String name : new String[] { "Buy", "Play", "EndShopping", "ShopRefill", "Shuffle",
+						"ScoreBoard" }) {
+					recording.enable("cardmaster." + name).withoutThreshold();
+				}
+				recording.start();
+				final var game = new Game(2, new CardFactory(), 6);
+				new GreedyPlayer(new SplittableRandom(6)).run(game);
+				final var bytes = new ByteArrayOutputStream();
+				ScoreBoard.getInstance().save(bytes);
+				ScoreBoard.getInstance().load(new ByteArrayInputStream(bytes.toByteArray()));
+				recording.stop();
+				recording.dump(file);
+			}
+
+			final var counts = new HashMap<String, Integer>();
+			double lastCredits = -1;
+			long savedBytes = -1;
+			for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+				final var name = event.getEventType().getName();
+				counts.merge(name, 1, Integer::sum);
+				if (name.equals("cardmaster.Play")) {
+					lastCredits = event.getDouble("credits");
+					assertTrue(event.getInt("round") >= 1);
+				}
+				if (name.equals("cardmaster.ScoreBoard") && event.getString("operation").equals("save")) {
+					savedBytes = event.getLong("bytes");
+				}
+			}
+			assertTrue(counts.get("cardmaster.Buy") >= 2);
+			assertTrue(counts.get("cardmaster.Play") >= 2);
+			assertEquals(2, (int) counts.get("cardmaster.EndShopping"));
+			// Das Spiel mischt lazy beim Ziehen, es gibt also kein Mischen aufzuzeichnen
+			assertFalse(counts.containsKey("cardmaster.Shuffle"));
+			assertTrue(counts.get("cardmaster.ShopRefill") >= 2);
+			assertEquals(3, (int) counts.get("cardmaster.ScoreBoard"));
+			assertEquals(4 + 28, savedBytes);
+			assertTrue(lastCredits >= 0);
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
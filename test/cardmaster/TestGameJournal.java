@@ -0,0 +1,99 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.journal.GameJournal;
+import cardmaster.journal.JournalReplayer;
+import cardmaster.random.RandomSource;
+import cardmaster.sim.RandomPlayer;
+
+public class TestGameJournal {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	@Test
+	public void replayReproducesRecordedGames() throws IOException {
+		final var factory = CardFactory.getDefaultFactory();
+		final var bytes = new ByteArrayOutputStream();
+		final var credits = new double[20];
+		try (final var journal = new GameJournal(bytes)) {
+			final var player = new RandomPlayer(new SplittableRandom(5));
+			for (int i = 0; i < credits.length; i++) {
+				final var game = new Game(3, factory);
+				game.setRecordScore(false);
+				journal.record(game);
+				player.run(game);
+				credits[i] = game.getCredits();
+			}
+		}
+		try (final var replayer = new JournalReplayer(new ByteArrayInputStream(bytes.toByteArray()), factory)) {
+			for (int i = 0; i < credits.length; i++) {
+				final var game = replayer.next();
+				assertEquals(Mode.END, game.getMode());
+				assertEquals(credits[i], game.getCredits(), 0);
+			}
+			assertNull(replayer.next());
+		}
+	}
+
+	@Test
+	public void unfinishedGameIsReplayedUpToLastAction() throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		final var game = new Game(2, new CardFactory(), 9);
+		game.setRecordScore(false);
+		try (final var journal = new GameJournal(bytes)) {
+			journal.record(game);
+			TestUtils.buyChance(game);
+			game.endShopping();
+			game.play(0, 1);
+		}
+		final var replayed = new JournalReplayer(new ByteArrayInputStream(bytes.toByteArray()), new CardFactory())
+				.next();
+		assertEquals(game.getMode(), replayed.getMode());
+		assertEquals(game.getCredits(), replayed.getCredits(), 0);
+		assertEquals(game.getCurrentRound(), replayed.getCurrentRound());
+	}
+
+	@Test
+	public void appendingToFileKeepsSingleHeader() throws IOException {
+		final var file = Files.createTempFile("journal", ".bin");
+		try {
+			for (int i = 0; i < 2; i++) {
+				try (final var journal = GameJournal.open(file)) {
+					final var game = new Game(1, CardFactory.getDefaultFactory(), i);
+					game.setRecordScore(false);
+					journal.record(game);
+					new RandomPlayer(new SplittableRandom(i)).run(game);
+					assertTrue(journal.getRecords() > 3);
+				}
+			}
+			try (final var replayer = JournalReplayer.open(file, CardFactory.getDefaultFactory())) {
+				assertEquals(0, replayer.next().getSeed());
+				assertEquals(1, replayer.next().getSeed());
+				assertNull(replayer.next());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void gameWithoutSeedCannotBeRecorded() {
+		final var journal = new GameJournal(new ByteArrayOutputStream());
+		journal.record(new Game(1, new CardFactory(), RandomSource.seeded(1)));
+	}
+}
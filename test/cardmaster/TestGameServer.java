@@ -0,0 +1,248 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.server.GameServer;
+import cardmaster.server.LoadGenerator;
+
+public class TestGameServer {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(20000);
+
+	private static final class Client implements AutoCloseable {
+		private final Socket socket;
+		private final BufferedReader in;
+		private final OutputStream out;
+
+		Client(int port) throws IOException {
+			this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+			this.in = new BufferedReader(new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8));
+			this.out = this.socket.getOutputStream();
+		}
+
+		String send(String line) throws IOException {
+			this.out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+			this.out.flush();
+			return this.in.readLine();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.socket.close();
+		}
+	}
+
+	private static void awaitSessions(GameServer server, int count) throws InterruptedException {
+		while (server.getSessionCount() != count) {
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	public void sessionPlaysGameOverProtocol() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.setReactors(2);
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				assertTrue(client.send("STATE").startsWith("ERR "));
+				final var state = client.send("NEW 1 7").split(" ");
+				assertEquals("OK", state[0]);
+				assertEquals("SHOPPING", state[1]);
+				assertEquals("1", state[2]);
+				assertEquals("1", state[3]);
+				assertEquals("10.0", state[4]);
+				assertEquals("-,-,-", state[5]);
+				assertEquals(Integer.parseInt(state[6]), state.length - 7);
+
+				int card = -1;
+				for (int i = 0; i < state.length - 7 && card < 0; i++) {
+					final var item = state[7 + i].split(":");
+					if (!item[1].equals("UPGRADE") && Integer.parseInt(item[0]) <= 10) {
+						card = i;
+					}
+				}
+				assertTrue(client.send("BUY " + card).startsWith("OK SHOPPING"));
+				assertTrue(client.send("BUY 99").startsWith("ERR "));
+				assertTrue(client.send("PLAY 0 0").startsWith("ERR "));
+
+				final var playing = client.send("END").split(" ");
+				assertEquals("PLAYING", playing[1]);
+				assertEquals("1", playing[6]);
+				final var end = client.send("PLAY 0 1").split(" ");
+				assertEquals("END", end[1]);
+				assertEquals("-," + playing[7].split(":")[0] + ",-", end[5]);
+
+				assertTrue(client.send("FOO").startsWith("ERR Unknown command"));
+				assertEquals("OK", client.send("QUIT"));
+				assertEquals(null, client.in.readLine());
+			}
+			awaitSessions(server, 0);
+		}
+	}
+
+	@Test
+	public void seededSessionsMatchLocalGame() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				final var state = client.send("NEW 2 42").split(" ");
+				final var game = new Game(2, CardFactory.getDefaultFactory(), 42);
+				final var prices = game.getAllShopItemPrices();
+				for (int i = 0; i < prices.length; i++) {
+					assertEquals(prices[i], Integer.parseInt(state[7 + i].split(":")[0]));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void applyRunsActionsAtomically() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				final var state = client.send("NEW 1 42");
+				final var game = new Game(1, CardFactory.getDefaultFactory(), 42);
+				final var items = game.getAllShopItems();
+				int card = 0;
+				while (!(items[card] instanceof cardmaster.cards.Card) || game.getShopItemPrice(card) > 10) {
+					card++;
+				}
+				assertEquals("ERR Action 2 failed", client.send("APPLY B" + card + " E B0"));
+				assertEquals(state, client.send("STATE"));
+				assertTrue(client.send("APPLY X1").startsWith("ERR Unknown action"));
+				final var end = client.send("APPLY B" + card + " E P0:1").split(" ");
+				assertEquals("END", end[1]);
+			}
+		}
+	}
+
+	@Test
+	public void linesCanBePipelined() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				client.out.write("NEW 1\nSTATE\r\nSTATE\n".getBytes(StandardCharsets.US_ASCII));
+				client.out.flush();
+				for (int i = 0; i < 3; i++) {
+					assertTrue(client.in.readLine().startsWith("OK SHOPPING"));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void tooLongLineClosesConnection() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				assertEquals("ERR Line too long", client.send("STATE" + " ".repeat(2000)));
+				assertEquals(null, client.in.readLine());
+			}
+			awaitSessions(server, 0);
+		}
+	}
+
+	@Test
+	public void sessionsAboveLimitAreRejected() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.setMaxSessions(1);
+			server.start();
+			try (final var first = new Client(server.getPort()); final var second = new Client(server.getPort())) {
+				assertEquals("ERR Server full", second.in.readLine());
+				assertTrue(first.send("NEW 1").startsWith("OK"));
+			}
+		}
+	}
+
+	@Test
+	public void leastRecentlyUsedGamesAreSpilledAndRestored() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.setReactors(1);
+			server.setMaxResidentGames(2);
+			server.setIdleEvictionMillis(0);
+			server.start();
+			final var clients = new Client[5];
+			final var states = new String[clients.length];
+			try {
+				for (int i = 0; i < clients.length; i++) {
+					clients[i] = new Client(server.getPort());
+					states[i] = clients[i].send("NEW 2 " + i);
+				}
+				assertEquals(2, server.getResidentGames());
+				assertEquals(3, server.getSpilledGames());
+				for (int i = 0; i < clients.length; i++) {
+					assertEquals(states[i], clients[i].send("STATE"));
+				}
+				assertEquals(2, server.getResidentGames());
+				assertEquals(3, server.getSpilledGames());
+				final var bought = clients[0].send("BUY 3");
+				assertTrue(bought, bought.startsWith("OK SHOPPING"));
+				clients[1].send("STATE");
+				clients[2].send("STATE");
+				assertEquals(bought, clients[0].send("STATE"));
+			} finally {
+				for (final var client : clients) {
+					if (client != null) {
+						client.close();
+					}
+				}
+			}
+			awaitSessions(server, 0);
+			assertEquals(0, server.getResidentGames());
+			assertEquals(0, server.getSpilledGames());
+		}
+	}
+
+	@Test
+	public void idleGamesAreSpilled() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.setReactors(1);
+			server.setIdleEvictionMillis(40);
+			server.start();
+			try (final var client = new Client(server.getPort())) {
+				final var state = client.send("NEW 1 3");
+				assertEquals(1, server.getResidentGames());
+				while (server.getSpilledGames() != 1) {
+					Thread.sleep(10);
+				}
+				assertEquals(0, server.getResidentGames());
+				assertEquals(state, client.send("STATE"));
+				assertEquals(1, server.getResidentGames());
+			}
+		}
+	}
+
+	@Test
+	public void loadGeneratorPlaysManyConcurrentGames() throws Exception {
+		try (final var server = new GameServer(0)) {
+			server.setReactors(2);
+			server.start();
+			final var generator = new LoadGenerator(server.getPort());
+			generator.setConnections(200);
+			generator.setDurationMillis(1500);
+			generator.setMaxRounds(1);
+			generator.setSeed(3);
+			final var report = generator.run();
+			assertEquals(200, report.getConnections());
+			assertEquals(0, report.getErrors());
+			assertTrue(report.getGames() > 0);
+			assertTrue(report.getRequests() >= 200);
+			assertTrue(report.latencyMicros(50) <= report.latencyMicros(100));
+			awaitSessions(server, 0);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package cardmaster;
+
+import static cardmaster.TestUtils.createGameWithChanceCard;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+
+public class TestGameSnapshot {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void restoreUndoesPlays() {
+		final var game = createGameWithChanceCard(2, true);
+		game.endShopping();
+		final var snapshot = game.snapshot();
+		final var credits = game.getCredits();
+		final var hand = game.getAllHandCards();
+		final var shapes = game.getTopShapes();
+
+		for (int i = 0; i < 2; i++) {
+			while (game.getMode() == Mode.PLAYING) {
+				game.play(0, 0);
+			}
+			game.restore(snapshot);
+			assertEquals(Mode.PLAYING, game.getMode());
+			assertEquals(credits, game.getCredits(), 1E-12);
+			assertArrayEquals(hand, game.getAllHandCards());
+			assertArrayEquals(shapes, game.getTopShapes());
+		}
+	}
+
+	@Test
+	public void snapshotCanBeRestoredInOtherGame() {
+		final var game = createGameWithChanceCard(1, true);
+		final var snapshot = game.snapshot();
+		final var other = new Game(3);
+		other.restore(snapshot);
+		assertEquals(Mode.SHOPPING, other.getMode());
+		assertEquals(1, other.maxRounds());
+		assertEquals(game.getShopItemCount(), other.getShopItemCount());
+		other.endShopping();
+		assertEquals(Mode.SHOPPING, game.getMode());
+		assertEquals(snapshot.getCredits(), game.getCredits(), 1E-12);
+	}
+}
@@ -0,0 +1,73 @@
+package cardmaster;
+
+import static cardmaster.TestUtils.createGameWhereAllCardsCanBeBought;
+import static cardmaster.TestUtils.createGameWithChanceCard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.sim.GreedyPlayer;
+import cardmaster.sim.Simulation;
+
+public class TestLegalPlays {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	@Test
+	public void deltasMatchPlayedCredits() {
+		final var game = createGameWhereAllCardsCanBeBought(1);
+		game.setRecordScore(false);
+		TestUtils.buyAllCards(game);
+		game.endShopping();
+		final var moves = new MoveBuffer(1);
+		while (game.getMode() == Mode.PLAYING) {
+			final var count = game.legalPlays(moves);
+			assertEquals(game.getHandCardsCount() * game.getStacksCount(), count);
+			final var snapshot = game.snapshot();
+			for (int i = 0; i < count; i++) {
+				final var credits = game.getCredits();
+				game.play(moves.getHandCardIndex(i), moves.getStackIndex(i));
+				assertEquals(game.getCredits() - credits, moves.getCreditsDelta(i), 0);
+				game.restore(snapshot);
+			}
+			final var best = moves.best();
+			game.play(moves.getHandCardIndex(best), moves.getStackIndex(best));
+		}
+	}
+
+	@Test
+	public void movesAreOrderedByHandCardAndStack() {
+		final var game = createGameWithChanceCard(1, true);
+		game.endShopping();
+		final var moves = new MoveBuffer();
+		final var credits = game.getCredits();
+		game.legalPlays(moves);
+		assertEquals(credits, game.getCredits(), 0);
+		for (int i = 0; i < moves.size(); i++) {
+			assertEquals(i / game.getStacksCount(), moves.getHandCardIndex(i));
+			assertEquals(i % game.getStacksCount(), moves.getStackIndex(i));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> moves.getCreditsDelta(moves.size()));
+	}
+
+	@Test
+	public void legalPlaysRequiresPlayingMode() {
+		final var game = createGameWithChanceCard(1, false);
+		assertThrows(IllegalCallException.class, () -> game.legalPlays(new MoveBuffer()));
+	}
+
+	@Test
+	public void greedyPlayerFinishesGames() {
+		final var simulation = new Simulation(GreedyPlayer::new, 200, 2);
+		simulation.setSeed(3);
+		final var result = simulation.run();
+		assertEquals(200, result.getGames());
+		assertTrue(result.getMean() > 0);
+	}
+}
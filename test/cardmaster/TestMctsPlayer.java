@@ -0,0 +1,76 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.sim.MctsPlayer;
+
+public class TestMctsPlayer {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	@Test
+	public void mctsPlayerBuildsTreeBelowRoot() {
+		try (final var player = new MctsPlayer(3, 1)) {
+			player.setTimeBudgetMillis(4000);
+			player.setIterationBudget(400);
+			final var game = new Game(2);
+			game.setRecordScore(false);
+			assertTrue(player.shop(game) < game.getShopItemCount());
+			assertEquals(400, player.getLastRollouts());
+			assertTrue(player.getLastTreeSize() > 1 + game.getShopItemCount() + 1);
+		}
+	}
+
+	@Test
+	public void mctsPlayerFinishesGame() {
+		try (final var player = new MctsPlayer(42, 2)) {
+			player.setIterationBudget(64);
+			final var game = new Game(2);
+			game.setRecordScore(false);
+			player.run(game);
+			assertEquals(Mode.END, game.getMode());
+			assertTrue(player.getTotalRollouts() > 0);
+		}
+	}
+
+	@Test
+	public void mctsPlayerReportsRolloutRate() {
+		try (final var player = new MctsPlayer(1, 2)) {
+			player.setTimeBudgetMillis(4000);
+			player.setIterationBudget(8);
+			final var game = TestUtils.createGameWhereAllCardsCanBeBought(1);
+			game.setRecordScore(false);
+			player.shop(game);
+			assertEquals(8, player.getLastRollouts());
+			assertTrue(player.getLastRolloutsPerSecond() > 0);
+			TestUtils.buyAllCards(game);
+			game.endShopping();
+			while (game.getMode() == Mode.PLAYING) {
+				player.playCard(game);
+				// Bei nur einer möglichen Aktion wird nicht gesucht
+				assertTrue(player.getLastRollouts() == 0 || player.getLastRollouts() == 8);
+			}
+			assertEquals(Mode.END, game.getMode());
+		}
+	}
+
+	@Test
+	public void everyWorkerRollsOutEvenAfterDeadline() {
+		try (final var player = new MctsPlayer(1, 2)) {
+			player.setTimeBudgetMillis(1);
+			final var game = TestUtils.createGameWhereAllCardsCanBeBought(1);
+			game.setRecordScore(false);
+			for (int i = 0; i < 20; i++) {
+				player.shop(game);
+				assertTrue(player.getLastRollouts() >= 2);
+			}
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package cardmaster;
+
+import static cardmaster.TestUtils.createGameWithChanceCard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+
+public class TestPhaseViews {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void phaseViewsMatchMode() {
+		final var game = new Game(1);
+		assertNotNull(game.shopping());
+		final var e = assertThrows(IllegalCallException.class, game::playing);
+		assertEquals(Mode.PLAYING, e.getExpectedMode());
+		assertEquals(Mode.SHOPPING, e.getCurrentMode());
+		assertTrue(e.getMessage().contains("playing"));
+	}
+
+	@Test
+	public void endShoppingReturnsPlayingView() {
+		final var game = createGameWithChanceCard(1, true);
+		final var shopping = game.shopping();
+		final var playing = shopping.endShopping();
+		assertNotNull(playing);
+		assertTrue(playing.isActive());
+		assertEquals(game.getHandCardsCount(), playing.getHandCardsCount());
+		assertThrows(IllegalCallException.class, shopping::getItemCount);
+	}
+
+	@Test
+	public void illegalCallExceptionHasNoStackTrace() {
+		final var game = new Game(1);
+		final var e = assertThrows(IllegalCallException.class, game::getHandCardsCount);
+		assertEquals(0, e.getStackTrace().length);
+		assertEquals("getHandCardsCount", e.getMethodName());
+	}
+}
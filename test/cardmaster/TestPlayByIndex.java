@@ -0,0 +1,67 @@
+package cardmaster;
+
+import static cardmaster.TestUtils.ANY_CARD;
+import static cardmaster.TestUtils.createGameWhereAllCardsCanBeBought;
+import static cardmaster.TestUtils.createGameWithChanceCard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.cards.Card;
+
+public class TestPlayByIndex {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void playByIndexRemovesCardAndAddsCredits() {
+		final var game = createGameWithChanceCard(1, true);
+		game.endShopping();
+		final var handCards = game.getHandCardsCount();
+		final var credits = game.getCredits();
+		game.play(0, 0);
+		assertTrue(game.getCredits() > credits);
+		if (game.getMode() == Mode.PLAYING) {
+			assertEquals(handCards - 1, game.getHandCardsCount());
+		}
+	}
+
+	@Test
+	public void playByIndexChecksIndices() {
+		final var game = createGameWithChanceCard(1, true);
+		game.endShopping();
+		assertThrows(IndexOutOfBoundsException.class, () -> game.play(-1, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> game.play(game.getHandCardsCount(), 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> game.play(0, game.getStacksCount()));
+	}
+
+	@Test
+	public void drawnCardTakesSlotOfPlayedCard() {
+		final var game = createGameWhereAllCardsCanBeBought(1);
+		for (int i = game.getShopItemCount() - 1; i >= 0; i--) {
+			if (ANY_CARD.test(game.getShopItemDescription(i))) {
+				assertTrue(game.buy(i));
+			}
+		}
+		game.endShopping();
+		final var handCards = game.getHandCardsCount();
+		final var before = new Card[handCards];
+		for (int i = 0; i < handCards; i++) {
+			before[i] = game.getHandCard(i);
+		}
+		game.play(1, 0);
+		assertEquals(handCards, game.getHandCardsCount());
+		for (int i = 0; i < handCards; i++) {
+			if (i != 1) {
+				assertSame(before[i], game.getHandCard(i));
+			}
+		}
+	}
+}
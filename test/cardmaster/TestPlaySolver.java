@@ -0,0 +1,195 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+import cardmaster.cards.Card;
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+import cardmaster.random.RandomSource;
+import cardmaster.sim.PlaySolver;
+
+public class TestPlaySolver {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	private static Game createGame(Card... cards) {
+		final var game = new Game(1, new CardFactory() {
+			private int next;
+
+			@Override
+			public Card createRandom(RandomSource random) {
+				return cards[next++ % cards.length];
+			}
+		});
+		game.setRecordScore(false);
+		for (int i = game.getShopItemCount() - 1; i >= 0; i--) {
+			if (game.getAllShopItems()[i] instanceof Card) {
+				game.buy(i);
+			}
+		}
+		game.endShopping();
+		return game;
+	}
+
+	private static Game createSmallGame() {
+		return createGame(CardPool.get(CardType.PAAR, Shape.STAR), CardPool.get(CardType.CHANCE, Shape.CIRCLE),
+				CardPool.get(CardType.PAAR, Shape.STAR), CardPool.get(CardType.TRIPEL, Shape.STAR),
+				CardPool.get(CardType.CHANCE, Shape.SQUARE));
+	}
+
+	@Test
+	public void followingSolverReachesExpectedCredits() {
+		// Nur eine Karte im Nachziehstapel: Der Ablauf ist deterministisch
+		final var game = createSmallGame();
+		final var solver = new PlaySolver();
+		final var expected = solver.solve(game).getExpectedCredits();
+		final var start = game.getCredits();
+		while (game.getMode() == Mode.PLAYING) {
+			final var choice = solver.solve(game);
+			game.play(choice.getHandCardIndex(), choice.getStackIndex());
+		}
+		assertEquals(expected, game.getCredits() - start, 1E-9);
+	}
+
+	/**
+	 * Zieht beim nächsten {@link #nextInt(int)} den vorgegebenen Index, sonst wie ein
+	 * geseedeter Generator.
+	 */
+	private static final class ScriptedRandom implements RandomSource {
+		private final RandomSource random = RandomSource.seeded(0);
+		private int next = -1;
+
+		@Override
+		public int nextInt(int bound) {
+			if (this.next < 0) {
+				return this.random.nextInt(bound);
+			}
+			final var index = this.next;
+			this.next = -1;
+			return index;
+		}
+
+		@Override
+		public long nextLong() {
+			return this.random.nextLong();
+		}
+
+		@Override
+		public long[] getState() {
+			return this.random.getState();
+		}
+
+		@Override
+		public void setState(long[] state) {
+			this.random.setState(state);
+		}
+
+		@Override
+		public RandomSource split() {
+			return this.random.split();
+		}
+	}
+
+	/**
+	 * Zweite Runde mit sechs Karten: vier auf der Hand, zwei verschiedene im
+	 * Nachziehstapel. In der ersten Runde wird nur eine Karte gekauft und gelegt.
+	 */
+	private static Game createGameWithDrawCards(ScriptedRandom random) {
+		final var cards = new Card[] { CardPool.get(CardType.PAAR, Shape.STAR),
+				CardPool.get(CardType.CHANCE, Shape.CIRCLE), CardPool.get(CardType.TRIPEL, Shape.STAR),
+				CardPool.get(CardType.CHANCE, Shape.SQUARE), CardPool.get(CardType.PAAR, Shape.CIRCLE),
+				CardPool.get(CardType.QUADRUPEL, Shape.SQUARE), CardPool.get(CardType.PAAR, Shape.SQUARE) };
+		final var game = new Game(2, new CardFactory() {
+			private int next;
+
+			@Override
+			public Card createRandom(RandomSource random) {
+				return cards[next++ % cards.length];
+			}
+		}, random);
+		game.setRecordScore(false);
+		TestUtils.buyAnyCard(game);
+		game.endShopping();
+		game.play(0, 0);
+		for (int i = game.getShopItemCount() - 1; i >= 0; i--) {
+			if (game.getAllShopItems()[i] instanceof Card) {
+				game.buy(i);
+			}
+		}
+		game.endShopping();
+		return game;
+	}
+
+	/**
+	 * Expectimax direkt auf dem Spiel: Jeder mögliche gezogene Index wird über
+	 * {@link ScriptedRandom} erzwungen und von einem Snapshot aus durchgespielt.
+	 */
+	private static double bruteForce(Game game, ScriptedRandom random) {
+		if (game.getMode() != Mode.PLAYING) {
+			return 0;
+		}
+		final var snapshot = game.snapshot();
+		final var start = game.getCredits();
+		final var draws = game.getAllDrawPileCards().length;
+		final var handCards = game.getHandCardsCount();
+		final var stacks = game.getStacksCount();
+		var best = Double.NEGATIVE_INFINITY;
+		for (int h = 0; h < handCards; h++) {
+			for (int s = 0; s < stacks; s++) {
+				var sum = 0.0;
+				for (int drawn = 0; drawn < Math.max(1, draws); drawn++) {
+					game.restore(snapshot);
+					random.next = draws == 0 ? -1 : drawn;
+					game.play(h, s);
+					assertEquals(-1, random.next);
+					sum += game.getCredits() - start + bruteForce(game, random);
+				}
+				best = Math.max(best, sum / Math.max(1, draws));
+			}
+		}
+		game.restore(snapshot);
+		return best;
+	}
+
+	@Test
+	public void expectedCreditsAverageOverDrawOrders() {
+		final var random = new ScriptedRandom();
+		final var game = createGameWithDrawCards(random);
+		final var draws = game.getAllDrawPileCards();
+		assertEquals(2, draws.length);
+		assertTrue(draws[0].getCode() != draws[1].getCode());
+
+		final var expected = new PlaySolver().solve(game).getExpectedCredits();
+		assertEquals(bruteForce(game, random), expected, 1E-9);
+	}
+
+	@Test
+	public void tinyTableGivesSameResult() {
+		final var game = createSmallGame();
+		final var large = new PlaySolver(16).solve(game);
+		final var small = new PlaySolver(1);
+		assertEquals(large.getExpectedCredits(), small.solve(game).getExpectedCredits(), 1E-9);
+		assertTrue(small.getEvictions() > 0);
+	}
+
+	@Test
+	public void repeatedSolveHitsTable() {
+		final var game = createSmallGame();
+		final var solver = new PlaySolver();
+		solver.solve(game);
+		final var nodes = solver.getNodes();
+		solver.resetStatistics();
+		solver.solve(game);
+		assertEquals(0, solver.getNodes());
+		assertTrue(solver.getHits() > 0);
+		assertEquals(1.0, solver.getHitRate(), 1E-12);
+		assertTrue(nodes > 0);
+	}
+}
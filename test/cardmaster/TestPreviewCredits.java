@@ -0,0 +1,56 @@
+package cardmaster;
+
+import static cardmaster.TestUtils.createGameWhereAllCardsCanBeBought;
+import static cardmaster.TestUtils.createGameWithChanceCard;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.Game.Mode;
+
+public class TestPreviewCredits {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(5000);
+
+	@Test
+	public void previewMatchesPlayedCredits() {
+		final var game = createGameWhereAllCardsCanBeBought(1);
+		game.setRecordScore(false);
+		TestUtils.buyAllCards(game);
+		game.endShopping();
+		final var previews = new double[game.getStacksCount()];
+		while (game.getMode() == Mode.PLAYING) {
+			final var snapshot = game.snapshot();
+			final var topShapes = game.getTopShapes();
+			for (int s = 0; s < game.getStacksCount(); s++) {
+				final var preview = game.previewCredits(0, s);
+				assertArrayEquals(topShapes, game.getTopShapes());
+				final var credits = game.getCredits();
+				game.play(0, s);
+				assertEquals(game.getCredits() - credits, preview, 0);
+				game.restore(snapshot);
+			}
+			assertEquals(game.getStacksCount(), game.previewCredits(0, previews));
+			for (int s = 0; s < game.getStacksCount(); s++) {
+				assertEquals(game.previewCredits(0, s), previews[s], 0);
+			}
+			game.play(0, game.getStacksCount() - 1);
+		}
+	}
+
+	@Test
+	public void previewChecksModeAndIndices() {
+		final var shopping = createGameWithChanceCard(1, true);
+		assertThrows(IllegalCallException.class, () -> shopping.previewCredits(0, 0));
+		shopping.endShopping();
+		assertThrows(IndexOutOfBoundsException.class, () -> shopping.previewCredits(-1, 0));
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> shopping.previewCredits(0, shopping.getStacksCount()));
+		assertThrows(IllegalArgumentException.class, () -> shopping.previewCredits(0, new double[0]));
+	}
+}
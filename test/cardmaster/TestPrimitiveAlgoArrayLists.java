@@ -0,0 +1,77 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.collections.DoubleAlgoArrayList;
+import cardmaster.collections.IntAlgoArrayList;
+import cardmaster.collections.LongAlgoArrayList;
+
+public class TestPrimitiveAlgoArrayLists {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void intListAddDeleteSort() {
+		final var list = new IntAlgoArrayList(0);
+		for (int value : new int[] { 5, 3, 9, 1 }) {
+			list.add(value);
+		}
+		assertTrue(list.delete(2));
+		assertFalse(list.delete(3));
+		list.sort();
+		assertArrayEquals(new int[] { 1, 3, 5 }, list.toArray());
+		assertEquals(1, list.getIndexFromItem(3));
+		assertEquals(-1, list.getIndexFromItem(9));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.getItemAtIndex(3));
+	}
+
+	@Test
+	public void intListCopyFromSharesUntilWrite() {
+		final var list = new IntAlgoArrayList(2);
+		list.add(1);
+		list.add(2);
+		final var target = new IntAlgoArrayList(0);
+		target.copyFrom(list);
+		target.add(3);
+		list.delete(0);
+		assertArrayEquals(new int[] { 2 }, list.toArray());
+		assertArrayEquals(new int[] { 1, 2, 3 }, target.toArray());
+	}
+
+	@Test
+	public void longListBulkAppendAndForEach() {
+		final var list = new LongAlgoArrayList(1);
+		list.addAll(new long[] { 1, 2, 3, 4 }, 1, 3);
+		final var other = new LongAlgoArrayList();
+		other.add(10);
+		list.addAll(other);
+		final long[] sum = { 0 };
+		list.forEach(value -> sum[0] += value);
+		assertEquals(19, sum[0]);
+		assertEquals(4, list.size());
+	}
+
+	@Test
+	public void doubleListSetClearAndTrim() {
+		final var list = new DoubleAlgoArrayList();
+		list.add(0.5);
+		list.add(Double.NaN);
+		list.set(0, 2.5);
+		assertEquals(2.5, list.getItemAtIndex(0), 0);
+		assertEquals(1, list.getIndexFromItem(Double.NaN));
+		list.clear();
+		assertEquals(0, list.size());
+		list.add(1.0);
+		list.trimToSize();
+		assertArrayEquals(new double[] { 1.0 }, list.toArray(), 0);
+	}
+}
@@ -0,0 +1,211 @@
+package cardmaster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.cards.CardType;
+import cardmaster.random.RandomSource;
+import cardmaster.sim.RandomPlayer;
+import cardmaster.sim.Simulation;
+
+public class TestRandomSource {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(10000);
+
+	private static final List<LongFunction<RandomSource>> GENERATORS = List.of(RandomSource::seeded,
+			RandomSource::splittable, RandomSource::jdk);
+
+	private static long[] draw(RandomSource random, int count) {
+		final var values = new long[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = random.nextLong();
+		}
+		return values;
+	}
+
+	@Test
+	public void sameSeedGivesSameSequence() {
+		for (final var generator : GENERATORS) {
+			final var a = generator.apply(17);
+			final var b = generator.apply(17);
+			final var c = generator.apply(18);
+			final var first = draw(a, 32);
+			assertArrayEquals(first, draw(b, 32));
+			assertFalse(Arrays.equals(first, draw(c, 32)));
+		}
+	}
+
+	@Test
+	public void splitGivesIndependentReproducibleStream() {
+		for (final var generator : GENERATORS) {
+			final var a = generator.apply(3);
+			final var b = generator.apply(3);
+			final var childA = a.split();
+			final var childB = b.split();
+			final var child = draw(childA, 32);
+			assertArrayEquals(child, draw(childB, 32));
+			final var parent = draw(a, 32);
+			assertFalse(Arrays.equals(child, parent));
+			assertArrayEquals(parent, draw(b, 32));
+		}
+	}
+
+	@Test
+	public void restoredStateRepeatsSequence() {
+		for (final var generator : GENERATORS) {
+			final var random = generator.apply(23);
+			draw(random, 5);
+			final var state = random.getState();
+			final var first = draw(random, 32);
+			final var bounded = random.nextInt(7);
+			random.setState(state);
+			assertArrayEquals(first, draw(random, 32));
+			assertEquals(bounded, random.nextInt(7));
+		}
+	}
+
+	@Test
+	public void rebuiltGeneratorsMatchJavaUtil() {
+		final var splittable = RandomSource.splittable(31);
+		final var splittableReference = new SplittableRandom(31);
+		final var jdk = RandomSource.jdk(31);
+		final var jdkReference = new Random(31);
+		for (int i = 0; i < 1000; i++) {
+			final var bound = 1 + i % 17 + (i % 5 == 0 ? 1 << 20 : 0);
+			assertEquals(splittableReference.nextLong(), splittable.nextLong());
+			assertEquals(splittableReference.nextInt(bound), splittable.nextInt(bound));
+			assertEquals(splittableReference.nextDouble(0.8, 1.2), splittable.nextDouble(0.8, 1.2), 0);
+			assertEquals(jdkReference.nextLong(), jdk.nextLong());
+			assertEquals(jdkReference.nextInt(bound), jdk.nextInt(bound));
+			assertEquals(jdkReference.nextDouble(0.8, 1.2), jdk.nextDouble(0.8, 1.2), 0);
+		}
+		final var child = splittable.split();
+		final var childReference = splittableReference.split();
+		for (int i = 0; i < 100; i++) {
+			assertEquals(childReference.nextLong(), child.nextLong());
+		}
+	}
+
+	@Test
+	public void boundedValuesStayInRange() {
+		final var random = RandomSource.seeded(1);
+		final var counts = new int[3];
+		for (int i = 0; i < 30000; i++) {
+			counts[random.nextInt(3)]++;
+			final var d = random.nextDouble(0.8, 1.2);
+			assertTrue(d >= 0.8 && d < 1.2);
+		}
+		for (final var count : counts) {
+			assertTrue(count > 9000 && count < 11000);
+		}
+	}
+
+	@Test
+	public void gameWithSameRandomSourceSeedIsReproducible() {
+		final var factory = CardFactory.getDefaultFactory();
+		final var a = new Game(3, factory, RandomSource.splittable(11));
+		final var b = new Game(3, factory, RandomSource.splittable(11));
+		assertFalse(a.hasSeed());
+		assertEquals(a.getAllShopItems().length, b.getAllShopItems().length);
+		for (int i = 0; i < a.getAllShopItems().length; i++) {
+			assertEquals(a.getAllShopItems()[i].toString(), b.getAllShopItems()[i].toString());
+			assertEquals(a.getShopItemPrice(i), b.getShopItemPrice(i));
+		}
+	}
+
+	@Test
+	public void sharedFactoryStaysReproducibleAcrossThreads() throws Exception {
+		final var factory = CardFactory.getDefaultFactory();
+		final var expected = Arrays.toString(new Game(1, factory, 21).getAllShopItems());
+		final var pool = Executors.newFixedThreadPool(4);
+		try {
+			final var results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 200; i++) {
+				results.add(pool.submit(() -> Arrays.toString(new Game(1, factory, 21).getAllShopItems())));
+			}
+			for (final var result : results) {
+				assertEquals(expected, result.get());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void factoryAndPricesDrawOnlyFromPassedSource() {
+		final var factory = CardFactory.getDefaultFactory();
+		final var a = RandomSource.seeded(5);
+		final var b = RandomSource.seeded(5);
+		for (int i = 0; i < 50; i++) {
+			final var cardA = factory.createByType(CardType.KOMBI, Shape.getRandomShape(a), a);
+			final var cardB = factory.createByType(CardType.KOMBI, Shape.getRandomShape(b), b);
+			assertEquals(cardA.toString(), cardB.toString());
+			assertEquals(cardA.calcPrice(40, a), cardB.calcPrice(40, b));
+			assertEquals(factory.createRandom(a).toString(), factory.createRandom(b).toString());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void gameWithoutSeedHasNoSeed() {
+		new Game(1, new CardFactory(), RandomSource.seeded(1)).getSeed();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void gameRejectsNullRandomSource() {
+		new Game(1, new CardFactory(), (RandomSource) null);
+	}
+
+	@Test
+	public void seededGameHasSeed() {
+		final var game = new Game(1, new CardFactory(), 42);
+		assertTrue(game.hasSeed());
+		assertEquals(42, game.getSeed());
+	}
+
+	@Test
+	public void drawPileShufflesWithItsGenerator() {
+		final var factory = CardFactory.getDefaultFactory();
+		final var cards = new String[2][20];
+		for (int run = 0; run < 2; run++) {
+			final var pile = new DrawPile(false, RandomSource.seeded(5));
+			for (int i = 0; i < 20; i++) {
+				pile.addCard(factory.createByType(CardType.CHANCE, Shape.values()[i % 3]));
+			}
+			pile.mischen();
+			for (int i = 0; i < 20; i++) {
+				cards[run][i] = pile.getTopCard().toString();
+			}
+		}
+		assertArrayEquals(cards[0], cards[1]);
+	}
+
+	@Test
+	public void simulationWithSameSeedIsReproducible() {
+		final var results = new double[2];
+		for (int i = 0; i < 2; i++) {
+			final var simulation = new Simulation(RandomPlayer::new, 200, 3);
+			simulation.setSeed(7);
+			simulation.setParallelism(2);
+			results[i] = simulation.run().getMean();
+		}
+		assertEquals(results[0], results[1], 0);
+		assertNotEquals(0, results[0], 0);
+	}
+}
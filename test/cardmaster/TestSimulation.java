@@ -0,0 +1,45 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.sim.RandomPlayer;
+import cardmaster.sim.Simulation;
+
+public class TestSimulation {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(10000);
+
+	@Before
+	public void clearScoreBoard() {
+		ScoreBoard.getInstance().clear();
+	}
+
+	@Test
+	public void simulationPlaysAllGamesWithoutTouchingScoreBoard() {
+		final var simulation = new Simulation(RandomPlayer::new, 500, 3);
+		simulation.setSeed(1);
+		final var result = simulation.run();
+		assertEquals(500, result.getGames());
+		assertTrue(result.getMin() <= result.percentile(50));
+		assertTrue(result.percentile(50) <= result.getMax());
+		assertTrue(result.getMin() <= result.getMean() && result.getMean() <= result.getMax());
+		assertTrue(result.getGamesPerSecond() > 0);
+		assertEquals(0, ScoreBoard.getInstance().size());
+	}
+
+	@Test
+	public void simulationRecordsScoresWhenAsked() {
+		final var simulation = new Simulation(RandomPlayer::new, 20, 1);
+		simulation.setParallelism(2);
+		simulation.setRecordScores(true);
+		simulation.run();
+		assertEquals(20, ScoreBoard.getInstance().size());
+	}
+}
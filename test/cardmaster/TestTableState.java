@@ -0,0 +1,65 @@
+package cardmaster;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import cardmaster.cards.CardPool;
+import cardmaster.cards.CardType;
+
+public class TestTableState {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(1000);
+
+	@Test
+	public void placeTracksNonEmptyPilesAndTopShapes() {
+		final var table = new TableState();
+		table.place(null, Shape.STAR);
+		table.place(null, Shape.STAR);
+		table.place(Shape.STAR, Shape.CIRCLE);
+		assertEquals(2, table.getNonEmptyPiles());
+		assertEquals(1, table.getTopCount(Shape.STAR));
+		assertEquals(1, table.getTopCount(Shape.CIRCLE));
+		assertEquals(0, table.getTopCount(Shape.SQUARE));
+		assertEquals(2, table.getUniqueShapes());
+		table.clear();
+		assertEquals(0, table.getNonEmptyPiles());
+		assertEquals(0, table.getUniqueShapes());
+	}
+
+	@Test
+	public void ofMatchesPiles() {
+		final var piles = new DiscardPile[] { new DiscardPile(), new DiscardPile(), new DiscardPile(),
+				new DiscardPile() };
+		piles[0].addCard(CardPool.get(CardType.PAAR, Shape.SQUARE));
+		piles[0].addCard(CardPool.get(CardType.CHANCE, Shape.CIRCLE));
+		piles[2].addCard(CardPool.get(CardType.PAAR, Shape.CIRCLE));
+		final var table = TableState.of(piles);
+		assertEquals(2, table.getNonEmptyPiles());
+		assertEquals(2, table.getTopCount(Shape.CIRCLE));
+		assertEquals(0, table.getTopCount(Shape.SQUARE));
+		assertEquals(2.0, CardPool.get(CardType.PAAR, Shape.CIRCLE).calcCredits(piles), 1E-12);
+		assertEquals(1.5, CardPool.get(CardType.CHANCE, Shape.STAR).calcCredits(table), 1E-12);
+	}
+
+	@Test
+	public void returnedPilesDoNotChangeScoring() {
+		final var game = TestUtils.createGameWhereAllCardsCanBeBought(2);
+		TestUtils.buyAllCards(game);
+		game.endShopping();
+		game.play(0, 0);
+		final var preview = game.previewCredits(0, 1);
+		final var piles = game.getDiscardPiles();
+		piles[0].clear();
+		piles[1].addCard(CardPool.get(CardType.PAAR, Shape.STAR));
+		assertEquals(1, game.getDiscardPiles()[0].size());
+		assertEquals(0, game.getDiscardPiles()[1].size());
+		assertEquals(1, game.getTableState().getNonEmptyPiles());
+		assertEquals(preview, game.previewCredits(0, 1), 0);
+		game.getTableState().clear();
+		assertEquals(1, game.getTableState().getNonEmptyPiles());
+	}
+}
@@ -0,0 +1,59 @@
+package cardmaster.server;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+public class TestSpillStore {
+
+	@Rule
+	public Timeout globalTimeout = Timeout.millis(2000);
+
+	private static Path tempDirectory() {
+		return Path.of(System.getProperty("java.io.tmpdir"));
+	}
+
+	@Test
+	public void emptyEntryRoundTrip() throws IOException {
+		try (final var store = new SpillStore(tempDirectory())) {
+			// Der leere Eintrag landet im Slot eines älteren Eintrags und muss dessen Header überschreiben
+			store.free(store.write(new byte[] { 4, 5 }, 2));
+			final var empty = store.write(new byte[0], 0);
+			final var full = store.write(new byte[] { 1, 2, 3 }, 3);
+			assertEquals(2, store.getRecords());
+			assertArrayEquals(new byte[0], store.take(empty));
+			assertArrayEquals(new byte[] { 1, 2, 3 }, store.take(full));
+			assertEquals(0, store.getRecords());
+		}
+	}
+
+	@Test
+	public void failedWriteKeepsSlotFree() throws IOException {
+		final var store = new SpillStore(tempDirectory());
+		store.free(store.write(new byte[10], 10));
+		final var size = store.getFileSize();
+		store.close();
+
+		// Wiederverwendeter Slot
+		try {
+			store.write(new byte[10], 10);
+			fail("Write on closed store");
+		} catch (IOException expected) {
+		}
+		// Neuer, größerer Slot
+		try {
+			store.write(new byte[100], 100);
+			fail("Write on closed store");
+		} catch (IOException expected) {
+		}
+		assertEquals(size, store.getFileSize());
+		assertEquals(0, store.getRecords());
+	}
+}